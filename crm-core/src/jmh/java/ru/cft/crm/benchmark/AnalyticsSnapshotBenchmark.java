@@ -0,0 +1,178 @@
+package ru.cft.crm.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.model.analitycs.BestPeriodsResponse;
+import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.analytics.handler.impl.BestTransactionPeriodHandlerImpl;
+import ru.cft.crm.service.analytics.handler.impl.BestTransactionPeriodSnapshotHandler;
+import ru.cft.crm.service.analytics.handler.impl.MostProductiveSellerHandlerImpl;
+import ru.cft.crm.service.analytics.handler.impl.MostProductiveSellerSnapshotHandler;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+import ru.cft.crm.service.analytics.snapshot.impl.AnalyticsSnapshotImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnalyticsSnapshotBenchmark {
+    private static final int SELLERS_COUNT = 100;
+
+    private static final LocalDate DATE = LocalDate.of(2022, 6, 15);
+
+    @Param({"100000", "1000000"})
+    private int transactionsCount;
+
+    @Param({"MONTH", "YEAR"})
+    private String period;
+
+    private HikariDataSource dataSource;
+
+    private AnnotationConfigApplicationContext context;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private MostProductiveSellerHandlerImpl databaseMostProductiveHandler;
+
+    private MostProductiveSellerSnapshotHandler snapshotMostProductiveHandler;
+
+    private BestTransactionPeriodHandlerImpl databaseBestPeriodHandler;
+
+    private BestTransactionPeriodSnapshotHandler snapshotBestPeriodHandler;
+
+    private Long sellerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setDriverClassName("org.postgresql.Driver");
+        dataSource.setJdbcUrl(System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/crm"));
+        dataSource.setUsername(System.getProperty("benchmark.datasource.username", "crm"));
+        dataSource.setPassword(System.getProperty("benchmark.datasource.password", "crm"));
+        Flyway.configure().dataSource(dataSource).locations("db.migration").load().migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO sellers (seller_name, contact_info, registration_date, updated_at, is_active)
+                SELECT 'Benchmark Seller ' || i, 'benchmark-' || i || '@test.com', now(), now(), true
+                FROM generate_series(1, ?) AS i
+                """, SELLERS_COUNT);
+        sellerId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM sellers WHERE contact_info LIKE 'benchmark-%'", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (seller_id, amount, payment_type, transaction_date, updated_at, is_active)
+                SELECT s.id,
+                       (i % 10000) / 100.0,
+                       (ARRAY['CASH', 'CARD', 'TRANSFER'])[i % 3 + 1],
+                       TIMESTAMP '2021-01-01' + (i::BIGINT * 7919 % 94608000) * INTERVAL '1 second',
+                       now(),
+                       true
+                FROM generate_series(1, ?) AS i
+                JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n
+                      FROM sellers
+                      WHERE contact_info LIKE 'benchmark-%') s ON s.n = i % ?
+                """, transactionsCount, SELLERS_COUNT);
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "analytics.snapshot.enabled", true,
+                "analytics.daily-stats.enabled", false,
+                "analytics.best-period.database-threshold", Long.MAX_VALUE)));
+        context.registerBean(HikariDataSource.class, () -> dataSource);
+        context.registerBean(JdbcTemplate.class, () -> jdbcTemplate);
+        context.registerBean(SimpleMeterRegistry.class);
+        context.registerBean("entityManagerFactory", LocalContainerEntityManagerFactoryBean.class,
+                this::entityManagerFactory);
+        context.registerBean("transactionManager", JpaTransactionManager.class);
+        context.register(RepositoriesConfig.class);
+        context.registerBean(MostProductiveSellerHandlerImpl.class);
+        context.registerBean(BestTransactionPeriodHandlerImpl.class);
+        context.registerBean(AnalyticsSnapshotImpl.class);
+        context.registerBean(MostProductiveSellerSnapshotHandler.class);
+        context.registerBean(BestTransactionPeriodSnapshotHandler.class);
+        context.refresh();
+
+        databaseMostProductiveHandler = context.getBean(MostProductiveSellerHandlerImpl.class);
+        snapshotMostProductiveHandler = context.getBean(MostProductiveSellerSnapshotHandler.class);
+        databaseBestPeriodHandler = context.getBean(BestTransactionPeriodHandlerImpl.class);
+        snapshotBestPeriodHandler = context.getBean(BestTransactionPeriodSnapshotHandler.class);
+
+        AnalyticsSnapshot analyticsSnapshot = context.getBean(AnalyticsSnapshot.class);
+        analyticsSnapshot.refresh();
+        TransactionSnapshot snapshot = analyticsSnapshot.current().orElseThrow();
+        System.out.printf("Снимок: %d транзакций, %d байт, %.1f байт на транзакцию%n",
+                snapshot.size(), snapshot.memoryBytes(), (double) snapshot.memoryBytes() / snapshot.size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("""
+                DELETE FROM transactions
+                WHERE seller_id IN (SELECT id FROM sellers WHERE contact_info LIKE 'benchmark-%')
+                """);
+        jdbcTemplate.update("DELETE FROM sellers WHERE contact_info LIKE 'benchmark-%'");
+        context.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<MostProductiveSellerResponse> mostProductiveDatabase() {
+        return databaseMostProductiveHandler.getMostProductiveSellers(DATE, period, true);
+    }
+
+    @Benchmark
+    public List<MostProductiveSellerResponse> mostProductiveSnapshot() {
+        return snapshotMostProductiveHandler.getMostProductiveSellers(DATE, period, true);
+    }
+
+    @Benchmark
+    public BestPeriodsResponse bestPeriodDatabase() {
+        return databaseBestPeriodHandler.getBestTransactionPeriod(sellerId);
+    }
+
+    @Benchmark
+    public BestPeriodsResponse bestPeriodSnapshot() {
+        return snapshotBestPeriodHandler.getBestTransactionPeriod(sellerId);
+    }
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(Transaction.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy()));
+        return factory;
+    }
+
+    @EnableJpaRepositories(basePackageClasses = TransactionRepository.class)
+    static class RepositoriesConfig {
+    }
+}
@@ -0,0 +1,127 @@
+package ru.cft.crm.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.model.analitycs.BestPeriodsResponse;
+import ru.cft.crm.model.utilis.BestPeriod;
+import ru.cft.crm.model.utilis.PeriodDefinition;
+import ru.cft.crm.service.analytics.handler.calculator.BestPeriodCalculator;
+import ru.cft.crm.type.TimePeriod;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BestTransactionPeriodBenchmark {
+    private static final List<PeriodDefinition> PERIODS = List.of(
+            new PeriodDefinition(Duration.ofDays(1), TimePeriod.DAY),
+            new PeriodDefinition(Duration.ofDays(7), TimePeriod.WEEK),
+            new PeriodDefinition(Duration.ofDays(30), TimePeriod.MONTH)
+    );
+
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    private static final long HISTORY_SECONDS = Duration.ofDays(3 * 365).getSeconds();
+
+    @Param({"10000", "1000000", "10000000"})
+    private int transactionsPerSeller;
+
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        transactions = new ArrayList<>(transactionsPerSeller);
+        for (int i = 0; i < transactionsPerSeller; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i);
+            transaction.setAmount(BigDecimal.TEN);
+            transaction.setTransactionDate(HISTORY_START.plusSeconds(random.nextLong(HISTORY_SECONDS)));
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    public List<BestPeriod> singleSortSweep() {
+        return BestPeriodCalculator.findBestPeriods(transactions, PERIODS);
+    }
+
+    @Benchmark
+    public BestPeriodsResponse perPeriodSortAndScan() {
+        return new BestPeriodsResponse(
+                legacyFindBestPeriod(transactions, PERIODS.get(0)),
+                legacyFindBestPeriod(transactions, PERIODS.get(1)),
+                legacyFindBestPeriod(transactions, PERIODS.get(2))
+        );
+    }
+
+    private static BestPeriod legacyFindBestPeriod(List<Transaction> transactions, PeriodDefinition period) {
+        List<Transaction> sortedTransactions = transactions.stream()
+                .sorted(Comparator.comparing(Transaction::getTransactionDate))
+                .toList();
+
+        LocalDateTime bestStartDate = null;
+        LocalDateTime bestEndDate = null;
+        long maxTransactionsCount = 0;
+
+        int windowStart = 0;
+
+        for (int windowEnd = 0; windowEnd < sortedTransactions.size(); windowEnd++) {
+            LocalDateTime windowStartDate = legacyStartOfPeriod(
+                    sortedTransactions.get(windowStart).getTransactionDate(), period);
+            LocalDateTime windowEndDate = legacyEndOfPeriod(windowStartDate, period);
+
+            while (windowEnd < sortedTransactions.size()
+                    && !sortedTransactions.get(windowEnd).getTransactionDate().isAfter(windowEndDate)) {
+                windowEnd++;
+            }
+
+            long transactionsCount = windowEnd - windowStart;
+
+            if (transactionsCount > maxTransactionsCount) {
+                maxTransactionsCount = transactionsCount;
+                bestStartDate = windowStartDate;
+                bestEndDate = windowEndDate;
+            }
+
+            windowStart++;
+        }
+
+        return new BestPeriod(bestStartDate, bestEndDate, period.timePeriod(), maxTransactionsCount);
+    }
+
+    private static LocalDateTime legacyStartOfPeriod(LocalDateTime dateTime, PeriodDefinition period) {
+        return switch (period.timePeriod()) {
+            case DAY -> dateTime.toLocalDate().atStartOfDay();
+            case WEEK -> dateTime.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .toLocalDate().atStartOfDay();
+            default -> dateTime.with(TemporalAdjusters.firstDayOfMonth()).toLocalDate().atStartOfDay();
+        };
+    }
+
+    private static LocalDateTime legacyEndOfPeriod(LocalDateTime startDate, PeriodDefinition period) {
+        return switch (period.timePeriod()) {
+            case DAY -> startDate.plusDays(1).minusSeconds(1);
+            case WEEK -> startDate.plusWeeks(1).minusSeconds(1);
+            default -> startDate.with(TemporalAdjusters.lastDayOfMonth()).plusDays(1).minusSeconds(1);
+        };
+    }
+}
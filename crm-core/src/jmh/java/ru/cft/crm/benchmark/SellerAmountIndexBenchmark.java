@@ -0,0 +1,56 @@
+package ru.cft.crm.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.cft.crm.service.analytics.snapshot.SellerAmountIndex;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+import ru.cft.crm.type.PaymentType;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SellerAmountIndexBenchmark {
+    private static final long SELLER_ID = 1L;
+
+    @Param({"1000", "100000", "10000000"})
+    private int transactionsPerSeller;
+
+    private SellerAmountIndex index;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new SellerAmountIndex();
+        TransactionSnapshot.Changes changes = new TransactionSnapshot.Changes(transactionsPerSeller);
+        for (int i = 0; i < transactionsPerSeller; i++) {
+            changes.add(i, SELLER_ID, i, 100, PaymentType.CARD);
+        }
+        index.apply(changes);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public void updateAmount() {
+        int row = random.nextInt(transactionsPerSeller);
+        TransactionSnapshot.Changes changes = new TransactionSnapshot.Changes(1);
+        changes.add(row, SELLER_ID, row, random.nextLong(1, 100_000), PaymentType.CARD);
+        index.apply(changes);
+    }
+
+    @Benchmark
+    public long sumRange() {
+        long from = random.nextInt(transactionsPerSeller);
+        return index.sumAmountCents(SELLER_ID, from, from + random.nextInt(transactionsPerSeller));
+    }
+}
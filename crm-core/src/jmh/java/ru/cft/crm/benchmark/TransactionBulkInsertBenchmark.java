@@ -0,0 +1,131 @@
+package ru.cft.crm.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.type.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransactionBulkInsertBenchmark {
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"1000"})
+    private int transactionsCount;
+
+    private HikariDataSource dataSource;
+
+    private AnnotationConfigApplicationContext context;
+
+    private TransactionRepository transactionRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Seller seller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setDriverClassName("org.postgresql.Driver");
+        dataSource.setJdbcUrl(System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/crm"));
+        dataSource.setUsername(System.getProperty("benchmark.datasource.username", "crm"));
+        dataSource.setPassword(System.getProperty("benchmark.datasource.password", "crm"));
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        Flyway.configure().dataSource(dataSource).locations("db.migration").load().migrate();
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(HikariDataSource.class, () -> dataSource);
+        context.registerBean("entityManagerFactory", LocalContainerEntityManagerFactoryBean.class,
+                this::entityManagerFactory);
+        context.registerBean("transactionManager", JpaTransactionManager.class);
+        context.register(RepositoriesConfig.class);
+        context.refresh();
+
+        transactionRepository = context.getBean(TransactionRepository.class);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Seller newSeller = new Seller();
+        newSeller.setSellerName("Benchmark Seller");
+        newSeller.setContactInfo("benchmark-" + System.nanoTime() + "@test.com");
+        newSeller.setRegistrationDate(LocalDateTime.now());
+        newSeller.setUpdatedAt(LocalDateTime.now());
+        newSeller.setIsActive(true);
+        seller = context.getBean(SellerRepository.class).save(newSeller);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTransactions() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE seller_id = ?", seller.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM sellers WHERE id = ?", seller.getId());
+        context.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Transaction> saveAll() {
+        List<Transaction> transactions = new ArrayList<>(transactionsCount);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < transactionsCount; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setSeller(seller);
+            transaction.setAmount(BigDecimal.valueOf(100));
+            transaction.setPaymentType(PaymentType.CARD);
+            transaction.setTransactionDate(now);
+            transaction.setUpdatedAt(now);
+            transaction.setIsActive(true);
+            transactions.add(transaction);
+        }
+        return transactionRepository.saveAll(transactions);
+    }
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(Transaction.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy(),
+                AvailableSettings.STATEMENT_BATCH_SIZE, jdbcBatchSize,
+                AvailableSettings.ORDER_INSERTS, true,
+                AvailableSettings.ORDER_UPDATES, true));
+        return factory;
+    }
+
+    @EnableJpaRepositories(basePackageClasses = TransactionRepository.class)
+    static class RepositoriesConfig {
+    }
+}
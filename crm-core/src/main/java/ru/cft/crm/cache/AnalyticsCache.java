@@ -0,0 +1,7 @@
+package ru.cft.crm.cache;
+
+import java.util.function.Supplier;
+
+public interface AnalyticsCache extends InvalidatableCache {
+    <T> T get(AnalyticsCacheKey key, Supplier<T> loader);
+}
@@ -0,0 +1,38 @@
+package ru.cft.crm.cache;
+
+import ru.cft.crm.type.ChangedEntity;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public record AnalyticsCacheKey(
+        String handler,
+        List<Object> arguments,
+        Long sellerId,
+        LocalDateTime start,
+        LocalDateTime end
+) {
+    public static AnalyticsCacheKey forSeller(String handler, Long sellerId) {
+        return new AnalyticsCacheKey(handler, List.of(sellerId), sellerId, null, null);
+    }
+
+    public static AnalyticsCacheKey forPeriod(
+            String handler,
+            LocalDateTime start,
+            LocalDateTime end,
+            Object... arguments) {
+        return new AnalyticsCacheKey(handler, Arrays.asList(arguments), null, start, end);
+    }
+
+    public boolean isAffectedBy(CacheInvalidationEvent event) {
+        if (sellerId != null && !event.affectsSeller(sellerId)) {
+            return false;
+        }
+        return event.entity() == ChangedEntity.SELLER || event.affectsPeriod(start, end);
+    }
+
+    public boolean isClosedAt(LocalDateTime now) {
+        return end != null && !end.isAfter(now);
+    }
+}
@@ -0,0 +1,5 @@
+package ru.cft.crm.cache;
+
+public interface CacheInvalidationBus {
+    void publish(CacheInvalidationEvent event);
+}
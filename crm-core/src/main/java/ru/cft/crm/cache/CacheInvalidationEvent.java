@@ -0,0 +1,29 @@
+package ru.cft.crm.cache;
+
+import ru.cft.crm.type.ChangedEntity;
+
+import java.time.LocalDateTime;
+
+public record CacheInvalidationEvent(
+        ChangedEntity entity,
+        Long sellerId,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+    public static CacheInvalidationEvent seller(Long sellerId) {
+        return new CacheInvalidationEvent(ChangedEntity.SELLER, sellerId, null, null);
+    }
+
+    public static CacheInvalidationEvent transactions(Long sellerId, LocalDateTime from, LocalDateTime to) {
+        return new CacheInvalidationEvent(ChangedEntity.TRANSACTION, sellerId, from, to);
+    }
+
+    public boolean affectsSeller(Long id) {
+        return sellerId == null || sellerId.equals(id);
+    }
+
+    public boolean affectsPeriod(LocalDateTime start, LocalDateTime end) {
+        return (from == null || end == null || !from.isAfter(end))
+                && (to == null || start == null || !to.isBefore(start));
+    }
+}
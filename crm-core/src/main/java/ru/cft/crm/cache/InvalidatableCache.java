@@ -0,0 +1,7 @@
+package ru.cft.crm.cache;
+
+public interface InvalidatableCache {
+    void invalidate(CacheInvalidationEvent event);
+
+    void invalidateAll();
+}
@@ -0,0 +1,13 @@
+package ru.cft.crm.cache;
+
+import ru.cft.crm.entity.Seller;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface SellerCache extends InvalidatableCache {
+    Optional<Seller> findActiveSeller(Long sellerId);
+
+    Map<Long, Seller> findActiveSellers(Collection<Long> sellerIds);
+}
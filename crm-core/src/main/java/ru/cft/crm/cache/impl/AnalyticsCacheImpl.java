@@ -0,0 +1,152 @@
+package ru.cft.crm.cache.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.cache.AnalyticsCache;
+import ru.cft.crm.cache.AnalyticsCacheKey;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class AnalyticsCacheImpl implements AnalyticsCache {
+    private final MeterRegistry meterRegistry;
+
+    private final Map<AnalyticsCacheKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${analytics.cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${analytics.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Map<AnalyticsCacheKey, CachedResult> results;
+
+    private long invalidations;
+
+    private Counter evictionCounter;
+
+    @PostConstruct
+    void init() {
+        results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AnalyticsCacheKey, CachedResult> eldest) {
+                if (size() > maxSize) {
+                    evictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        evictionCounter = meterRegistry.counter("analytics.cache.eviction");
+        meterRegistry.gauge("analytics.cache.size", this, AnalyticsCacheImpl::size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(AnalyticsCacheKey key, Supplier<T> loader) {
+        CachedResult cached = find(key);
+        if (cached != null) {
+            meterRegistry.counter("analytics.cache.hit", "handler", key.handler()).increment();
+            return (T) cached.value();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            meterRegistry.counter("analytics.cache.coalesced", "handler", key.handler()).increment();
+            return (T) await(existing);
+        }
+
+        meterRegistry.counter("analytics.cache.miss", "handler", key.handler()).increment();
+        try {
+            long generation = generation();
+            T value = loader.get();
+            put(key, value, generation);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(CacheInvalidationEvent event) {
+        invalidations++;
+        results.keySet().removeIf(key -> key.isAffectedBy(event));
+        inFlight.keySet().removeIf(key -> key.isAffectedBy(event));
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        invalidations++;
+        results.clear();
+        inFlight.clear();
+    }
+
+    private synchronized CachedResult find(AnalyticsCacheKey key) {
+        CachedResult cached = results.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (!cached.closed() && cached.expiresAt() - System.nanoTime() <= 0) {
+            results.remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized long generation() {
+        return invalidations;
+    }
+
+    private synchronized void put(AnalyticsCacheKey key, Object value, long generation) {
+        if (generation != invalidations) {
+            return;
+        }
+        results.put(key, new CachedResult(
+                value,
+                key.isClosedAt(LocalDateTime.now()),
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+    }
+
+    private synchronized int size() {
+        return results.size();
+    }
+
+    private record CachedResult(
+            Object value,
+            boolean closed,
+            long expiresAt
+    ) {
+    }
+}
@@ -0,0 +1,177 @@
+package ru.cft.crm.cache.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.cft.crm.cache.CacheInvalidationBus;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+import ru.cft.crm.cache.InvalidatableCache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PgNotifyCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    private final List<InvalidatableCache> caches;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cache.invalidation.channel:crm_cache_invalidation}")
+    private String channel;
+
+    @Value("${cache.invalidation.poll-timeout-ms:500}")
+    private int pollTimeoutMs;
+
+    @Value("${cache.invalidation.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private Thread listener;
+
+    private Counter publishedCounter;
+
+    private Counter receivedCounter;
+
+    private volatile boolean running;
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        invalidateLocal(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateLocal(event);
+                }
+            });
+        }
+
+        jdbcTemplate.query(NOTIFY, resultSet -> null, channel, writePayload(event));
+        publishedCounter.increment();
+    }
+
+    @Override
+    public void start() {
+        publishedCounter = meterRegistry.counter("cache.invalidation.published");
+        receivedCounter = meterRegistry.counter("cache.invalidation.received");
+
+        running = true;
+        listener = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            listener.join(pollTimeoutMs * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + channel + "\"");
+                }
+                invalidateAllLocal();
+                log.info("Подписка на канал инвалидации кэшей {}", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Соединение для инвалидации кэшей потеряно, переподключение через {} мс",
+                            reconnectDelayMs, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        receivedCounter.increment();
+        try {
+            invalidateLocal(objectMapper.readValue(payload, CacheInvalidationEvent.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Некорректное событие инвалидации: {}", payload, e);
+            invalidateAllLocal();
+        } catch (RuntimeException e) {
+            log.error("Не удалось обработать событие инвалидации: {}", payload, e);
+            invalidateAllLocal();
+        }
+    }
+
+    private void invalidateLocal(CacheInvalidationEvent event) {
+        caches.forEach(cache -> cache.invalidate(event));
+    }
+
+    private void invalidateAllLocal() {
+        for (InvalidatableCache cache : caches) {
+            try {
+                cache.invalidateAll();
+            } catch (RuntimeException e) {
+                log.error("Не удалось сбросить кэш {}", cache.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private String writePayload(CacheInvalidationEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие инвалидации", e);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
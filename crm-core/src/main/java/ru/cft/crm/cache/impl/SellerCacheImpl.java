@@ -0,0 +1,181 @@
+package ru.cft.crm.cache.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+import ru.cft.crm.cache.SellerCache;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.type.ChangedEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class SellerCacheImpl implements SellerCache {
+    private final SellerRepository sellerRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sellers.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${sellers.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Map<Long, CachedSeller> sellers;
+
+    private long invalidations;
+
+    private Counter hitCounter;
+
+    private Counter missCounter;
+
+    private Counter evictionCounter;
+
+    @PostConstruct
+    void init() {
+        sellers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSeller> eldest) {
+                if (size() > maxSize) {
+                    evictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        hitCounter = meterRegistry.counter("sellers.cache.hit");
+        missCounter = meterRegistry.counter("sellers.cache.miss");
+        evictionCounter = meterRegistry.counter("sellers.cache.eviction");
+        meterRegistry.gauge("sellers.cache.size", this, SellerCacheImpl::size);
+    }
+
+    @Override
+    public Optional<Seller> findActiveSeller(Long sellerId) {
+        CachedSeller cached = get(sellerId);
+        if (cached != null) {
+            hitCounter.increment();
+            return Optional.of(cached.toSeller());
+        }
+
+        missCounter.increment();
+        long generation = generation();
+        return sellerRepository.findByIdAndIsActiveTrue(sellerId)
+                .map(seller -> put(seller, generation))
+                .map(CachedSeller::toSeller);
+    }
+
+    @Override
+    public Map<Long, Seller> findActiveSellers(Collection<Long> sellerIds) {
+        Map<Long, Seller> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long sellerId : sellerIds) {
+            CachedSeller cached = get(sellerId);
+            if (cached != null) {
+                result.put(sellerId, cached.toSeller());
+            } else {
+                missing.add(sellerId);
+            }
+        }
+        hitCounter.increment(result.size());
+        missCounter.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            long generation = generation();
+            for (Seller seller : sellerRepository.findAllByIdInAndIsActiveTrue(missing)) {
+                result.put(seller.getId(), put(seller, generation).toSeller());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void invalidate(CacheInvalidationEvent event) {
+        if (event.entity() != ChangedEntity.SELLER) {
+            return;
+        }
+        if (event.sellerId() == null) {
+            invalidateAll();
+        } else {
+            remove(event.sellerId());
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        invalidations++;
+        sellers.clear();
+    }
+
+    private synchronized CachedSeller get(Long sellerId) {
+        CachedSeller cached = sellers.get(sellerId);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() - System.nanoTime() <= 0) {
+            sellers.remove(sellerId);
+            return null;
+        }
+        return cached;
+    }
+
+    private synchronized long generation() {
+        return invalidations;
+    }
+
+    private synchronized CachedSeller put(Seller seller, long generation) {
+        CachedSeller cached = new CachedSeller(
+                seller.getId(),
+                seller.getSellerName(),
+                seller.getContactInfo(),
+                seller.getRegistrationDate(),
+                seller.getUpdatedAt(),
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        if (generation == invalidations) {
+            sellers.put(seller.getId(), cached);
+        }
+        return cached;
+    }
+
+    private synchronized void remove(Long sellerId) {
+        invalidations++;
+        sellers.remove(sellerId);
+    }
+
+    private synchronized int size() {
+        return sellers.size();
+    }
+
+    private record CachedSeller(
+            Long id,
+            String sellerName,
+            String contactInfo,
+            LocalDateTime registrationDate,
+            LocalDateTime updatedAt,
+            long expiresAt
+    ) {
+        private Seller toSeller() {
+            Seller seller = new Seller();
+            seller.setId(id);
+            seller.setSellerName(sellerName);
+            seller.setContactInfo(contactInfo);
+            seller.setRegistrationDate(registrationDate);
+            seller.setUpdatedAt(updatedAt);
+            seller.setIsActive(true);
+            return seller;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.cft.crm.cli;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.model.imports.ImportJobResponse;
+import ru.cft.crm.service.imports.ImportService;
+import ru.cft.crm.type.ImportType;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "imports.file")
+public class ImportCommandLineRunner implements ApplicationRunner {
+    private final ImportService importService;
+
+    private final ConfigurableApplicationContext context;
+
+    @Value("${imports.file}")
+    private Path file;
+
+    @Value("${imports.type}")
+    private String type;
+
+    @Value("${imports.job-id:#{null}}")
+    private Long jobId;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = 0;
+        try (InputStream csv = Files.newInputStream(file)) {
+            ImportJobResponse job = importService.importCsv(ImportType.valueOf(type.toUpperCase()), csv, jobId);
+            log.info("Импорт #{} завершен: обработано строк {}, загружено {}, с ошибками {}",
+                    job.id(), job.processedRows(), job.importedRows(), job.failedRows());
+        } catch (RuntimeException e) {
+            log.error("Импорт {} прерван, его можно продолжить с --imports.job-id", file, e);
+            exitCode = 1;
+        }
+
+        int finalExitCode = exitCode;
+        System.exit(SpringApplication.exit(context, () -> finalExitCode));
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import ru.cft.crm.controller.api.AnalyticsApi;
 import ru.cft.crm.model.analitycs.BestPeriodsResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
 import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
 import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
 import ru.cft.crm.service.analytics.AnalyticsService;
@@ -51,4 +52,29 @@ public class AnalyticsController implements AnalyticsApi {
     public BestPeriodsResponse getBestTransactionPeriod(Long id) {
         return analyticsService.getBestTransactionPeriod(id);
     }
+
+    @Override
+    public LeaderboardResponse getLeaderboard(
+            String metric,
+            String period,
+            LocalDate date,
+            LocalDate start,
+            LocalDate end,
+            Integer limit,
+            Boolean active
+    ) {
+        return analyticsService.getLeaderboard(
+                metric,
+                period,
+                date,
+                start,
+                end,
+                limit,
+                active);
+    }
+
+    @Override
+    public LeaderboardResponse getLiveLeaderboard(String period, Integer limit) {
+        return analyticsService.getLiveLeaderboard(period, limit);
+    }
 }
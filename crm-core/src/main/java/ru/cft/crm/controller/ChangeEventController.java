@@ -0,0 +1,21 @@
+package ru.cft.crm.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.cft.crm.controller.api.ChangeEventApi;
+import ru.cft.crm.service.events.ChangeEventStream;
+
+@RestController
+@RequestMapping("api")
+@RequiredArgsConstructor
+public class ChangeEventController implements ChangeEventApi {
+
+    private final ChangeEventStream changeEventStream;
+
+    @Override
+    public SseEmitter streamChanges(Long sellerId, String paymentType, String lastEventId) {
+        return changeEventStream.subscribe(sellerId, paymentType, lastEventId);
+    }
+}
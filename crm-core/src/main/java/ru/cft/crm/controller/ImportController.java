@@ -0,0 +1,41 @@
+package ru.cft.crm.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.cft.crm.controller.api.ImportApi;
+import ru.cft.crm.model.imports.ImportErrorResponse;
+import ru.cft.crm.model.imports.ImportJobResponse;
+import ru.cft.crm.service.imports.ImportService;
+import ru.cft.crm.type.ImportType;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("api")
+@RequiredArgsConstructor
+public class ImportController implements ImportApi {
+
+    private final ImportService importService;
+
+    @Override
+    public ImportJobResponse importSellers(InputStream body, Long jobId) {
+        return importService.importCsv(ImportType.SELLERS, body, jobId);
+    }
+
+    @Override
+    public ImportJobResponse importTransactions(InputStream body, Long jobId) {
+        return importService.importCsv(ImportType.TRANSACTIONS, body, jobId);
+    }
+
+    @Override
+    public ImportJobResponse getImportJob(Long id) {
+        return importService.getJob(id);
+    }
+
+    @Override
+    public List<ImportErrorResponse> getImportErrors(Long id, Long afterLine, int limit) {
+        return importService.getJobErrors(id, afterLine, limit);
+    }
+}
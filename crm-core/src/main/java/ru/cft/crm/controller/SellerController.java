@@ -5,10 +5,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import ru.cft.crm.controller.api.SellerApi;
+import ru.cft.crm.model.page.ChangesResponse;
+import ru.cft.crm.model.page.CursorPageResponse;
 import ru.cft.crm.model.seller.SellerCreateRequest;
 import ru.cft.crm.model.seller.SellerResponse;
 import ru.cft.crm.model.seller.SellerUpdateRequest;
 import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.service.sync.ChangeSyncService;
 
 import java.util.List;
 
@@ -19,6 +22,8 @@ public class SellerController implements SellerApi {
 
     private final SellerService sellerService;
 
+    private final ChangeSyncService changeSyncService;
+
     @Override
     public SellerResponse createSeller(SellerCreateRequest body) {
         return sellerService.createSeller(body);
@@ -34,6 +39,21 @@ public class SellerController implements SellerApi {
         return sellerService.getAllSellers();
     }
 
+    @Override
+    public CursorPageResponse<SellerResponse> getActiveSellersPage(String after, int limit) {
+        return sellerService.getSellersPage(after, limit, true);
+    }
+
+    @Override
+    public CursorPageResponse<SellerResponse> getAllSellersPage(String after, int limit) {
+        return sellerService.getSellersPage(after, limit, false);
+    }
+
+    @Override
+    public ChangesResponse<SellerResponse> getSellerChanges(String after, int limit) {
+        return changeSyncService.getSellerChanges(after, limit);
+    }
+
     @Override
     public SellerResponse getSellerById(Long id) {
         return sellerService.getSeller(id);
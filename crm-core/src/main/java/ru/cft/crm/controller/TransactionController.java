@@ -1,14 +1,23 @@
 package ru.cft.crm.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.cft.crm.controller.api.TransactionApi;
+import ru.cft.crm.model.page.ChangesResponse;
+import ru.cft.crm.model.page.CursorPageResponse;
+import ru.cft.crm.model.transaction.TransactionBatchResponse;
 import ru.cft.crm.model.transaction.TransactionCreateRequest;
 import ru.cft.crm.model.transaction.TransactionResponse;
 import ru.cft.crm.model.transaction.TransactionUpdateRequest;
 import ru.cft.crm.service.crud.TransactionService;
+import ru.cft.crm.service.export.TransactionExportService;
+import ru.cft.crm.service.sync.ChangeSyncService;
+import ru.cft.crm.type.ExportFormat;
 
 import java.util.List;
 
@@ -19,11 +28,20 @@ public class TransactionController implements TransactionApi {
 
     private final TransactionService transactionService;
 
+    private final TransactionExportService transactionExportService;
+
+    private final ChangeSyncService changeSyncService;
+
     @Override
     public TransactionResponse createTransaction(TransactionCreateRequest body) {
         return transactionService.createTransaction(body);
     }
 
+    @Override
+    public TransactionBatchResponse createTransactions(List<TransactionCreateRequest> body) {
+        return transactionService.createTransactions(body);
+    }
+
     @Override
     public TransactionResponse getTransaction(Long transactionId) {
         return transactionService.getTransaction(transactionId);
@@ -44,6 +62,37 @@ public class TransactionController implements TransactionApi {
         return transactionService.getAllTransactions();
     }
 
+    @Override
+    public CursorPageResponse<TransactionResponse> getSellersTransactionsPage(Long sellerId, String after, int limit) {
+        return transactionService.getSellersTransactionsPage(sellerId, after, limit);
+    }
+
+    @Override
+    public CursorPageResponse<TransactionResponse> getActiveTransactionsPage(String after, int limit) {
+        return transactionService.getTransactionsPage(after, limit, true);
+    }
+
+    @Override
+    public CursorPageResponse<TransactionResponse> getAllTransactionsPage(String after, int limit) {
+        return transactionService.getTransactionsPage(after, limit, false);
+    }
+
+    @Override
+    public ChangesResponse<TransactionResponse> getTransactionChanges(String after, int limit) {
+        return changeSyncService.getTransactionChanges(after, limit);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTransactions(String format, boolean active) {
+        ExportFormat exportFormat = ExportFormat.getExportFormat(format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=transactions." + exportFormat.getExtension())
+                .body(out -> transactionExportService.exportTransactions(exportFormat, active, out));
+    }
+
     @Override
     public TransactionResponse updateTransaction(Long transactionId, TransactionUpdateRequest body) {
         return transactionService.updateTransaction(transactionId, body);
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.cft.crm.model.analitycs.BestPeriodsResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
 import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
 import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
 import ru.cft.crm.model.error.ErrorResponse;
@@ -87,4 +88,65 @@ public interface AnalyticsApi {
             @Parameter(description = "ID продавца", required = true, example = "1")
             @PathVariable Long id
     );
+
+    @Operation(
+            summary = "Получить рейтинг продавцов",
+            description = "Возвращает первых продавцов по сумме или количеству транзакций за период "
+                    + "с плотным рангом и долей от итога по всем продавцам. Период задается либо типом "
+                    + "и базовой датой, либо начальной и конечной датами включительно",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверные параметры запроса",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Данные не найдены",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping("/leaderboard")
+    LeaderboardResponse getLeaderboard(
+            @Parameter(description = "Метрика рейтинга: amount - сумма, count - количество транзакций",
+                    schema = @Schema(allowableValues = {"amount", "count"}))
+            @RequestParam(defaultValue = "amount") String metric,
+
+            @Parameter(description = "Тип периода: day, week, month, quarter, year",
+                    schema = @Schema(allowableValues = {"day", "week", "month", "quarter", "year"}))
+            @RequestParam(required = false) String period,
+
+            @Parameter(description = "Базовая дата для расчета периода, по умолчанию текущая", example = "2023-12-01")
+            @RequestParam(required = false) LocalDate date,
+
+            @Parameter(description = "Дата начала периода, если тип периода не указан", example = "2023-12-01")
+            @RequestParam(required = false) LocalDate start,
+
+            @Parameter(description = "Дата окончания периода, если тип периода не указан", example = "2023-12-31")
+            @RequestParam(required = false) LocalDate end,
+
+            @Parameter(description = "Количество продавцов в рейтинге, от 1 до 100", example = "10")
+            @RequestParam(defaultValue = "10") Integer limit,
+
+            @Parameter(description = "Фильтр по активности продавца")
+            @RequestParam Boolean active
+    );
+
+    @Operation(
+            summary = "Получить рейтинг продавцов за текущий период в реальном времени",
+            description = "Возвращает первых продавцов по сумме активных транзакций за текущий день или месяц. "
+                    + "Рейтинг хранится в памяти и обновляется при каждой записи транзакции",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверные параметры запроса",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Данные не найдены",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping("/leaderboard/live")
+    LeaderboardResponse getLiveLeaderboard(
+            @Parameter(description = "Тип периода из analytics.live-leaderboard.periods, по умолчанию day, month",
+                    required = true, example = "day")
+            @RequestParam String period,
+
+            @Parameter(description = "Количество продавцов в рейтинге, от 1 до 100", example = "10")
+            @RequestParam(defaultValue = "10") Integer limit
+    );
 }
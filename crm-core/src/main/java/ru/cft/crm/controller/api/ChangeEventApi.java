@@ -0,0 +1,46 @@
+package ru.cft.crm.controller.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.cft.crm.model.error.ErrorResponse;
+import ru.cft.crm.model.event.ChangeEventResponse;
+
+@Tag(name = "Events", description = "API для получения изменений продавцов и транзакций")
+public interface ChangeEventApi {
+
+    @Operation(
+            summary = "Подписаться на изменения продавцов и транзакций",
+            description = "Server-Sent Events: события transaction и seller отправляются после коммита изменений. "
+                    + "При переподключении с заголовком Last-Event-ID пропущенные события повторяются, "
+                    + "если они еще в окне повтора, иначе приходит событие resync. "
+                    + "Событие dropped сообщает, сколько событий пропущено из-за медленного чтения",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Поток событий",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = ChangeEventResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Неверные параметры запроса",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamChanges(
+            @Parameter(description = "Только изменения продавца и его транзакций", example = "1")
+            @RequestParam(required = false) Long sellerId,
+
+            @Parameter(description = "Только транзакции с указанным типом оплаты",
+                    schema = @Schema(allowableValues = {"CASH", "CARD", "TRANSFER"}))
+            @RequestParam(required = false) String paymentType,
+
+            @Parameter(description = "Id последнего полученного события")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    );
+}
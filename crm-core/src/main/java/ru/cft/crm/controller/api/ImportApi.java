@@ -0,0 +1,105 @@
+package ru.cft.crm.controller.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import ru.cft.crm.model.error.ErrorResponse;
+import ru.cft.crm.model.imports.ImportErrorResponse;
+import ru.cft.crm.model.imports.ImportJobResponse;
+
+import java.io.InputStream;
+import java.util.List;
+
+@Tag(name = "Imports", description = "API для массовой загрузки продавцов и транзакций из CSV")
+public interface ImportApi {
+
+    @Operation(
+            summary = "Импортировать продавцов из CSV",
+            description = "Потоково загружает CSV с колонками seller_name, contact_info и необязательной "
+                    + "registration_date. Строки с ошибками не прерывают импорт. Требуется роль ADMIN",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Импорт завершен"),
+                    @ApiResponse(responseCode = "400", description = "Некорректный файл или задание",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Задание импорта не найдено",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/imports/sellers", consumes = "text/csv")
+    ImportJobResponse importSellers(
+            InputStream body,
+
+            @Parameter(description = "ID прерванного задания, импорт продолжится с места остановки")
+            @RequestParam(required = false) Long jobId
+    );
+
+    @Operation(
+            summary = "Импортировать транзакции из CSV",
+            description = "Потоково загружает CSV с колонками seller_id, amount, payment_type и необязательной "
+                    + "transaction_date. Строки с ошибками не прерывают импорт. Требуется роль ADMIN",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Импорт завершен"),
+                    @ApiResponse(responseCode = "400", description = "Некорректный файл или задание",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Задание импорта не найдено",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/imports/transactions", consumes = "text/csv")
+    ImportJobResponse importTransactions(
+            InputStream body,
+
+            @Parameter(description = "ID прерванного задания, импорт продолжится с места остановки")
+            @RequestParam(required = false) Long jobId
+    );
+
+    @Operation(
+            summary = "Получить состояние задания импорта",
+            description = "Возвращает прогресс задания, в том числе во время выполнения импорта",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "404", description = "Задание импорта не найдено",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/imports/{id}")
+    ImportJobResponse getImportJob(
+            @Parameter(description = "ID задания импорта", required = true)
+            @PathVariable Long id
+    );
+
+    @Operation(
+            summary = "Получить ошибки задания импорта",
+            description = "Возвращает ошибки по строкам файла после указанной строки",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверные параметры запроса",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Задание импорта не найдено",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/imports/{id}/errors")
+    List<ImportErrorResponse> getImportErrors(
+            @Parameter(description = "ID задания импорта", required = true)
+            @PathVariable Long id,
+
+            @Parameter(description = "Вернуть ошибки строк после указанной")
+            @RequestParam(defaultValue = "0") Long afterLine,
+
+            @Parameter(description = "Максимальное количество ошибок")
+            @RequestParam(defaultValue = "1000") int limit
+    );
+}
@@ -16,9 +16,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.cft.crm.model.error.ErrorResponse;
 import ru.cft.crm.model.error.ValidationErrorResponse;
+import ru.cft.crm.model.page.ChangesResponse;
+import ru.cft.crm.model.page.CursorPageResponse;
 import ru.cft.crm.model.seller.SellerCreateRequest;
 import ru.cft.crm.model.seller.SellerResponse;
 import ru.cft.crm.model.seller.SellerUpdateRequest;
@@ -73,6 +76,71 @@ public interface SellerApi {
     @GetMapping("/sellers/all")
     List<SellerResponse> getAllSellers();
 
+    @Operation(
+            summary = "Получить страницу активных продавцов",
+            description = "Возвращает активных продавцов по возрастанию id. Требуется авторизация",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверный курсор или размер страницы",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Не авторизован",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/sellers/page")
+    CursorPageResponse<SellerResponse> getActiveSellersPage(
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы, от 1 до 1000")
+            @RequestParam(defaultValue = "50") int limit
+    );
+
+    @Operation(
+            summary = "Получить страницу всех продавцов",
+            description = "Возвращает всех продавцов (включая неактивных) по возрастанию id. Требуется авторизация",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверный курсор или размер страницы",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Не авторизован",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/sellers/all/page")
+    CursorPageResponse<SellerResponse> getAllSellersPage(
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы, от 1 до 1000")
+            @RequestParam(defaultValue = "50") int limit
+    );
+
+    @Operation(
+            summary = "Получить изменения продавцов",
+            description = "Возвращает продавцов, измененных после отметки watermark, в порядке (updatedAt, id). "
+                    + "Удаленные продавцы возвращаются в deletedIds. Изменения последней минуты "
+                    + "попадают в следующий запрос. Требуется авторизация",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверная отметка или размер страницы",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Не авторизован",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/sellers/changes")
+    ChangesResponse<SellerResponse> getSellerChanges(
+            @Parameter(description = "Отметка watermark из предыдущего ответа, без нее изменения выдаются с начала")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы, от 1 до 1000")
+            @RequestParam(defaultValue = "1000") int limit
+    );
+
     @Operation(
             summary = "Получить продавца по ID",
             description = "Возвращает информацию о продавце по его идентификатору. Требуется авторизация",
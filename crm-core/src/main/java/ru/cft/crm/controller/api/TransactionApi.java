@@ -15,9 +15,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.cft.crm.model.error.ErrorResponse;
 import ru.cft.crm.model.error.ValidationErrorResponse;
+import ru.cft.crm.model.page.ChangesResponse;
+import ru.cft.crm.model.page.CursorPageResponse;
+import ru.cft.crm.model.transaction.TransactionBatchResponse;
 import ru.cft.crm.model.transaction.TransactionCreateRequest;
 import ru.cft.crm.model.transaction.TransactionResponse;
 import ru.cft.crm.model.transaction.TransactionUpdateRequest;
@@ -41,6 +46,19 @@ public interface TransactionApi {
     @PostMapping("/transactions")
     TransactionResponse createTransaction(@RequestBody @Valid TransactionCreateRequest body);
 
+    @Operation(
+            summary = "Создать транзакции пакетом",
+            description = "Создает переданные транзакции одним пакетом. Транзакции с ошибками валидации "
+                    + "не прерывают обработку остальных, результат возвращается для каждой транзакции",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Пакет обработан"),
+                    @ApiResponse(responseCode = "400", description = "Пустой или слишком большой пакет",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @PostMapping("/transactions/batch")
+    TransactionBatchResponse createTransactions(@RequestBody List<TransactionCreateRequest> body);
+
     @Operation(
             summary = "Получить транзакцию по ID",
             description = "Возвращает информацию о транзакции по идентификатору",
@@ -89,6 +107,99 @@ public interface TransactionApi {
     @GetMapping("/transactions/all")
     List<TransactionResponse> getAllTransactions();
 
+    @Operation(
+            summary = "Получить страницу транзакций продавца",
+            description = "Возвращает активные транзакции продавца, начиная с самых новых",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверный курсор или размер страницы",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Продавец не найден",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping("/transactions/seller/{sellerId}/page")
+    CursorPageResponse<TransactionResponse> getSellersTransactionsPage(
+            @Parameter(description = "ID продавца", required = true, example = "1")
+            @PathVariable Long sellerId,
+
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы, от 1 до 1000")
+            @RequestParam(defaultValue = "50") int limit);
+
+    @Operation(
+            summary = "Получить страницу активных транзакций",
+            description = "Возвращает активные транзакции, начиная с самых новых",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверный курсор или размер страницы",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping("/transactions/page")
+    CursorPageResponse<TransactionResponse> getActiveTransactionsPage(
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы, от 1 до 1000")
+            @RequestParam(defaultValue = "50") int limit);
+
+    @Operation(
+            summary = "Получить страницу всех транзакций",
+            description = "Возвращает все транзакции (включая неактивные), начиная с самых новых",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверный курсор или размер страницы",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping("/transactions/all/page")
+    CursorPageResponse<TransactionResponse> getAllTransactionsPage(
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы, от 1 до 1000")
+            @RequestParam(defaultValue = "50") int limit);
+
+    @Operation(
+            summary = "Получить изменения транзакций",
+            description = "Возвращает транзакции, измененные после отметки watermark, в порядке (updatedAt, id). "
+                    + "Удаленные транзакции возвращаются в deletedIds. Изменения последней минуты "
+                    + "попадают в следующий запрос",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Успешный запрос"),
+                    @ApiResponse(responseCode = "400", description = "Неверная отметка или размер страницы",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping("/transactions/changes")
+    ChangesResponse<TransactionResponse> getTransactionChanges(
+            @Parameter(description = "Отметка watermark из предыдущего ответа, без нее изменения выдаются с начала")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы, от 1 до 1000")
+            @RequestParam(defaultValue = "1000") int limit);
+
+    @Operation(
+            summary = "Выгрузить транзакции",
+            description = "Потоково выгружает транзакции в формате NDJSON или CSV без загрузки всей таблицы в память",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Выгрузка начата"),
+                    @ApiResponse(responseCode = "400", description = "Неверный формат выгрузки",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping("/transactions/export")
+    ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(description = "Формат выгрузки: ndjson, csv",
+                    schema = @Schema(allowableValues = {"ndjson", "csv"}))
+            @RequestParam(defaultValue = "ndjson") String format,
+
+            @Parameter(description = "Выгружать только активные транзакции")
+            @RequestParam(defaultValue = "true") boolean active);
+
     @Operation(
             summary = "Обновить транзакцию",
             description = "Обновляет информацию о транзакции",
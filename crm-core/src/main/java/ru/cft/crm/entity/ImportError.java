@@ -0,0 +1,27 @@
+package ru.cft.crm.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "import_errors")
+public class ImportError {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_errors_id_seq")
+    @SequenceGenerator(name = "import_errors_id_seq", sequenceName = "import_errors_id_seq", allocationSize = 50)
+    private Long id;
+
+    private Long jobId;
+
+    private Long lineNumber;
+
+    private String errorMessage;
+}
@@ -0,0 +1,43 @@
+package ru.cft.crm.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import ru.cft.crm.type.ImportStatus;
+import ru.cft.crm.type.ImportType;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_jobs_id_seq")
+    @SequenceGenerator(name = "import_jobs_id_seq", sequenceName = "import_jobs_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private ImportType importType;
+
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status;
+
+    private Long processedRows;
+
+    private Long importedRows;
+
+    private Long failedRows;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "sellers")
 public class Seller {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sellers_id_seq")
+    @SequenceGenerator(name = "sellers_id_seq", sequenceName = "sellers_id_seq", allocationSize = 50)
     private Long id;
 
     private String sellerName;
@@ -0,0 +1,49 @@
+package ru.cft.crm.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "seller_daily_stats")
+@IdClass(SellerDailyStats.Key.class)
+public class SellerDailyStats {
+    @Id
+    private Long sellerId;
+
+    @Id
+    private LocalDate day;
+
+    private Integer txCount;
+
+    private BigDecimal amountSum;
+
+    private Integer cashCount;
+
+    private Integer cardCount;
+
+    private Integer transferCount;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long sellerId;
+
+        private LocalDate day;
+    }
+}
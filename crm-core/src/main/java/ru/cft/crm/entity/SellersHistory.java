@@ -6,6 +6,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,7 +20,8 @@ import java.time.LocalDateTime;
 @Table(name = "sellers_history")
 public class SellersHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sellers_history_id_seq")
+    @SequenceGenerator(name = "sellers_history_id_seq", sequenceName = "sellers_history_id_seq", allocationSize = 50)
     private Long id;
 
     private Long sellerId;
@@ -6,6 +6,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,7 +22,8 @@ import java.time.LocalDateTime;
 @Table(name = "transactions_history")
 public class TransactionsHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_history_id_seq")
+    @SequenceGenerator(name = "transactions_history_id_seq", sequenceName = "transactions_history_id_seq", allocationSize = 50)
     private Long id;
 
     private Long transactionId;
@@ -0,0 +1,7 @@
+package ru.cft.crm.exception;
+
+public class ImportJobConflictException extends RuntimeException {
+    public ImportJobConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.cft.crm.exception;
+
+public class InvalidBatchSizeException extends RuntimeException {
+    public InvalidBatchSizeException(String message) {
+        super(message);
+    }
+}
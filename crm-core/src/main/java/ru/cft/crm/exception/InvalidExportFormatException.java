@@ -0,0 +1,7 @@
+package ru.cft.crm.exception;
+
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.cft.crm.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.cft.crm.exception;
+
+public class InvalidLeaderboardRequestException extends RuntimeException {
+    public InvalidLeaderboardRequestException(String message) {
+        super(message);
+    }
+}
@@ -11,6 +11,13 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import ru.cft.crm.model.error.ErrorResponse;
 import ru.cft.crm.model.error.FieldError;
 import ru.cft.crm.model.error.ValidationErrorResponse;
+import ru.cft.crm.exception.ImportJobNotFoundException;
+import ru.cft.crm.exception.ImportJobConflictException;
+import ru.cft.crm.exception.InvalidBatchSizeException;
+import ru.cft.crm.exception.InvalidExportFormatException;
+import ru.cft.crm.exception.InvalidImportException;
+import ru.cft.crm.exception.InvalidLeaderboardRequestException;
+import ru.cft.crm.exception.InvalidPageRequestException;
 import ru.cft.crm.exception.InvalidPaymentTypeException;
 import ru.cft.crm.exception.InvalidStartDateException;
 import ru.cft.crm.exception.InvalidTimePeriodException;
@@ -72,6 +79,39 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidBatchSizeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBatchSizeException(
+            InvalidBatchSizeException exception) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidExportFormatException(
+            InvalidExportFormatException exception) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPageRequestException(
+            InvalidPageRequestException exception) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(InvalidTimePeriodException.class)
     public ResponseEntity<ErrorResponse> handleInvalidTimePeriodException(
             InvalidTimePeriodException exception) {
@@ -83,6 +123,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidLeaderboardRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidLeaderboardRequestException(
+            InvalidLeaderboardRequestException exception) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(SellerNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleSellerNotFoundException(
             SellerNotFoundException exception) {
@@ -105,6 +156,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobNotFoundException(
+            ImportJobNotFoundException exception) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidImportException(
+            InvalidImportException exception) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ImportJobConflictException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobConflictException(
+            ImportJobConflictException exception) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                exception.getMessage(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorResponse> handleTypeMismatch(
             MethodArgumentTypeMismatchException exception) {
@@ -8,4 +8,6 @@ public interface HistorySaver {
     void saveSellerHistory(Seller seller, ChangeType changeType);
 
     void saveTransactionHistory(Transaction transaction, ChangeType changeType);
+
+    void saveSellerTransactionsHistory(Long sellerId, ChangeType changeType);
 }
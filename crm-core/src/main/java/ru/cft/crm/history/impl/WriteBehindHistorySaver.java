@@ -0,0 +1,302 @@
+package ru.cft.crm.history.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.SellersHistory;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.entity.TransactionsHistory;
+import ru.cft.crm.history.HistorySaver;
+import ru.cft.crm.mapper.HistoryMapper;
+import ru.cft.crm.repository.TransactionsHistoryRepository;
+import ru.cft.crm.type.ChangeType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "history.mode", havingValue = "write-behind")
+public class WriteBehindHistorySaver implements HistorySaver, SmartLifecycle {
+    private static final String INSERT_SELLERS_HISTORY = """
+            INSERT INTO sellers_history (seller_id, seller_name, contact_info, registration_date,
+                                         updated_at, change_timestamp, change_type)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_TRANSACTIONS_HISTORY = """
+            INSERT INTO transactions_history (transaction_id, seller_id, amount, payment_type, transaction_date,
+                                              updated_at, change_timestamp, change_type)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionsHistoryRepository transactionsHistoryRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer flushTimer;
+
+    private final Counter overflowCounter;
+
+    private final Counter spilledCounter;
+
+    @Value("${history.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${history.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${history.write-behind.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${history.write-behind.spill-file:history-spill.ndjson}")
+    private Path spillFile;
+
+    private BlockingQueue<PendingHistory> queue;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    public WriteBehindHistorySaver(
+            JdbcTemplate jdbcTemplate,
+            TransactionsHistoryRepository transactionsHistoryRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionsHistoryRepository = transactionsHistoryRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushTimer = meterRegistry.timer("history.write_behind.flush");
+        this.overflowCounter = meterRegistry.counter("history.write_behind.overflow");
+        this.spilledCounter = meterRegistry.counter("history.write_behind.spilled");
+    }
+
+    @Override
+    public void saveSellerHistory(Seller seller, ChangeType changeType) {
+        enqueue(new PendingHistory(HistoryMapper.mapToSellersHistory(seller, changeType), null));
+    }
+
+    @Override
+    public void saveTransactionHistory(Transaction transaction, ChangeType changeType) {
+        enqueue(new PendingHistory(null, HistoryMapper.mapToTransactionsHistory(transaction, changeType)));
+    }
+
+    @Override
+    public void saveSellerTransactionsHistory(Long sellerId, ChangeType changeType) {
+        transactionsHistoryRepository.saveActiveTransactionsHistoryBySellerId(
+                sellerId, changeType.name(), LocalDateTime.now());
+    }
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gauge("history.write_behind.queue.size", queue, BlockingQueue::size);
+
+        replaySpillFile();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "history-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<PendingHistory> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void enqueue(PendingHistory history) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(history);
+                }
+            });
+        } else {
+            offer(history);
+        }
+    }
+
+    private void offer(PendingHistory history) {
+        if (!running || !queue.offer(history)) {
+            overflowCounter.increment();
+            flush(List.of(history));
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingHistory> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Ошибка в потоке записи истории", e);
+            } finally {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<PendingHistory> batch) throws InterruptedException {
+        PendingHistory first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            PendingHistory next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingHistory> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> write(batch)));
+        } catch (RuntimeException e) {
+            log.warn("Не удалось сохранить {} записей истории, они будут записаны в {}", batch.size(), spillFile, e);
+            spill(batch);
+        }
+    }
+
+    private void write(List<PendingHistory> batch) {
+        List<SellersHistory> sellersHistory = batch.stream()
+                .map(PendingHistory::sellerHistory)
+                .filter(Objects::nonNull)
+                .toList();
+        List<TransactionsHistory> transactionsHistory = batch.stream()
+                .map(PendingHistory::transactionHistory)
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (!sellersHistory.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SELLERS_HISTORY, sellersHistory, batchSize, (ps, history) -> {
+                ps.setObject(1, history.getSellerId());
+                ps.setString(2, history.getSellerName());
+                ps.setString(3, history.getContactInfo());
+                ps.setObject(4, history.getRegistrationDate());
+                ps.setObject(5, history.getUpdatedAt());
+                ps.setObject(6, history.getChangeTimestamp());
+                ps.setString(7, history.getChangeType().name());
+            });
+        }
+
+        if (!transactionsHistory.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTIONS_HISTORY, transactionsHistory, batchSize, (ps, history) -> {
+                ps.setObject(1, history.getTransactionId());
+                ps.setObject(2, history.getSellerId());
+                ps.setBigDecimal(3, history.getAmount());
+                ps.setString(4, history.getPaymentType() == null ? null : history.getPaymentType().name());
+                ps.setObject(5, history.getTransactionDate());
+                ps.setObject(6, history.getUpdatedAt());
+                ps.setObject(7, history.getChangeTimestamp());
+                ps.setString(8, history.getChangeType().name());
+            });
+        }
+    }
+
+    private synchronized void spill(List<PendingHistory> batch) {
+        try {
+            List<String> lines = new ArrayList<>(batch.size());
+            for (PendingHistory history : batch) {
+                lines.add(objectMapper.writeValueAsString(history));
+            }
+            Files.write(spillFile, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            spilledCounter.increment(batch.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("Не удалось записать {} записей истории в {}, они потеряны", batch.size(), spillFile, e);
+        }
+    }
+
+    private synchronized void replaySpillFile() {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+
+        try {
+            List<PendingHistory> spilled = new ArrayList<>();
+            for (String line : Files.readAllLines(spillFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    spilled.add(objectMapper.readValue(line, PendingHistory.class));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> write(spilled));
+            Files.delete(spillFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось восстановить историю из {}, повторная попытка при следующем запуске", spillFile, e);
+        }
+    }
+
+    record PendingHistory(SellersHistory sellerHistory, TransactionsHistory transactionHistory) {
+    }
+}
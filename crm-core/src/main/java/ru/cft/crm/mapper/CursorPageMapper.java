@@ -0,0 +1,149 @@
+package ru.cft.crm.mapper;
+
+import lombok.experimental.UtilityClass;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.exception.InvalidPageRequestException;
+import ru.cft.crm.model.page.ChangeWatermark;
+import ru.cft.crm.model.page.ChangesResponse;
+import ru.cft.crm.model.page.CursorPageResponse;
+import ru.cft.crm.model.page.TransactionCursor;
+import ru.cft.crm.model.transaction.TransactionResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static ru.cft.crm.model.utilis.Constants.MAX_PAGE_LIMIT;
+
+@UtilityClass
+public class CursorPageMapper {
+    private static final String SEPARATOR = "|";
+
+    private static final TransactionCursor FIRST_TRANSACTION_CURSOR =
+            new TransactionCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final ChangeWatermark FIRST_CHANGE_WATERMARK =
+            new ChangeWatermark(LocalDateTime.of(1, 1, 1, 0, 0), 0L);
+
+    public static <T, R> CursorPageResponse<R> mapToPage(
+            List<T> rows,
+            int limit,
+            Function<T, R> mapper,
+            Function<T, String> cursor
+    ) {
+        List<T> items = rows.size() > limit ? rows.subList(0, limit) : rows;
+        String nextCursor = rows.size() > limit ? cursor.apply(items.get(items.size() - 1)) : null;
+
+        return new CursorPageResponse<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public static <T, R> ChangesResponse<R> mapToChanges(
+            List<T> rows,
+            int limit,
+            String after,
+            Function<T, R> mapper,
+            Predicate<T> isActive,
+            Function<T, Long> id,
+            Function<T, ChangeWatermark> watermark
+    ) {
+        List<T> changes = rows.size() > limit ? rows.subList(0, limit) : rows;
+        List<R> items = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (T change : changes) {
+            if (isActive.test(change)) {
+                items.add(mapper.apply(change));
+            } else {
+                deletedIds.add(id.apply(change));
+            }
+        }
+        String nextWatermark = changes.isEmpty()
+                ? after
+                : encodeChangeWatermark(watermark.apply(changes.get(changes.size() - 1)));
+
+        return new ChangesResponse<>(items, deletedIds, nextWatermark, rows.size() > limit);
+    }
+
+    public static String encodeSellerCursor(Seller seller) {
+        return encode(String.valueOf(seller.getId()));
+    }
+
+    public static long decodeSellerCursor(String cursor) {
+        if (cursor == null) {
+            return 0L;
+        }
+
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    public static String encodeTransactionCursor(TransactionResponse transaction) {
+        return encode(transaction.transactionDate() + SEPARATOR + transaction.id());
+    }
+
+    public static TransactionCursor decodeTransactionCursor(String cursor) {
+        if (cursor == null) {
+            return FIRST_TRANSACTION_CURSOR;
+        }
+
+        return decodeDateAndId(cursor, TransactionCursor::new);
+    }
+
+    public static String encodeChangeWatermark(ChangeWatermark watermark) {
+        return encode(watermark.updatedAt() + SEPARATOR + watermark.id());
+    }
+
+    public static ChangeWatermark decodeChangeWatermark(String watermark) {
+        if (watermark == null) {
+            return FIRST_CHANGE_WATERMARK;
+        }
+
+        return decodeDateAndId(watermark, ChangeWatermark::new);
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new InvalidPageRequestException("Размер страницы должен быть от 1 до " + MAX_PAGE_LIMIT);
+        }
+    }
+
+    private static <C> C decodeDateAndId(String cursor, BiFunction<LocalDateTime, Long, C> factory) {
+        String value = decode(cursor);
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalidCursor(cursor);
+        }
+
+        try {
+            return factory.apply(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    private static InvalidPageRequestException invalidCursor(String cursor) {
+        return new InvalidPageRequestException("Некорректный курсор страницы: " + cursor);
+    }
+}
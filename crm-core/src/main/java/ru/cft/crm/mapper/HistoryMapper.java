@@ -0,0 +1,42 @@
+package ru.cft.crm.mapper;
+
+import lombok.experimental.UtilityClass;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.SellersHistory;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.entity.TransactionsHistory;
+import ru.cft.crm.type.ChangeType;
+
+import java.time.LocalDateTime;
+
+@UtilityClass
+public class HistoryMapper {
+    public static SellersHistory mapToSellersHistory(Seller seller, ChangeType changeType) {
+        SellersHistory history = new SellersHistory();
+
+        history.setSellerId(seller.getId());
+        history.setSellerName(seller.getSellerName());
+        history.setContactInfo(seller.getContactInfo());
+        history.setRegistrationDate(seller.getRegistrationDate());
+        history.setUpdatedAt(seller.getUpdatedAt());
+        history.setChangeTimestamp(LocalDateTime.now());
+        history.setChangeType(changeType);
+
+        return history;
+    }
+
+    public static TransactionsHistory mapToTransactionsHistory(Transaction transaction, ChangeType changeType) {
+        TransactionsHistory history = new TransactionsHistory();
+
+        history.setTransactionId(transaction.getId());
+        history.setSellerId(transaction.getSeller().getId());
+        history.setAmount(transaction.getAmount());
+        history.setPaymentType(transaction.getPaymentType());
+        history.setTransactionDate(transaction.getTransactionDate());
+        history.setUpdatedAt(transaction.getUpdatedAt());
+        history.setChangeTimestamp(LocalDateTime.now());
+        history.setChangeType(changeType);
+
+        return history;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.cft.crm.mapper;
+
+import lombok.experimental.UtilityClass;
+import ru.cft.crm.entity.ImportError;
+import ru.cft.crm.entity.ImportJob;
+import ru.cft.crm.model.imports.ImportErrorResponse;
+import ru.cft.crm.model.imports.ImportJobResponse;
+
+import java.util.List;
+
+@UtilityClass
+public class ImportMapper {
+    public static ImportJobResponse mapJobToResponse(ImportJob job) {
+        return new ImportJobResponse(
+                job.getId(),
+                job.getImportType(),
+                job.getStatus(),
+                job.getProcessedRows(),
+                job.getImportedRows(),
+                job.getFailedRows(),
+                job.getCreatedAt(),
+                job.getUpdatedAt()
+        );
+    }
+
+    public static List<ImportErrorResponse> mapErrorsToResponses(List<ImportError> errors) {
+        return errors.stream()
+                .map(error -> new ImportErrorResponse(error.getLineNumber(), error.getErrorMessage()))
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package ru.cft.crm.mapper;
+
+import lombok.experimental.UtilityClass;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.model.analitycs.LeaderboardEntryResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.repository.projection.LeaderboardProjection;
+import ru.cft.crm.type.LeaderboardMetric;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+@UtilityClass
+public class LeaderboardMapper {
+    private static final int SHARE_SCALE = 4;
+
+    public static LeaderboardResponse mapToLeaderboardResponse(
+            LeaderboardMetric metric,
+            DateRange dateRange,
+            List<LeaderboardProjection> leaders) {
+        LeaderboardProjection first = leaders.get(0);
+        BigDecimal totalAmount = first.getTotalAmount();
+        long totalTransactionCount = first.getTotalTransactionCount();
+
+        List<LeaderboardEntryResponse> entries = leaders.stream()
+                .map(leader -> new LeaderboardEntryResponse(
+                        leader.getRank(),
+                        leader.getId(),
+                        leader.getSellerName(),
+                        leader.getContactInfo(),
+                        leader.getAmount(),
+                        leader.getTransactionCount(),
+                        share(metric, leader.getAmount(), leader.getTransactionCount(),
+                                totalAmount, totalTransactionCount),
+                        leader.getRegistrationDate()))
+                .toList();
+        return new LeaderboardResponse(metric, dateRange.start(), dateRange.end(),
+                totalAmount, totalTransactionCount, entries);
+    }
+
+    public static LeaderboardEntryResponse mapToLeaderboardEntry(
+            long rank,
+            Seller seller,
+            BigDecimal amount,
+            long transactionCount,
+            BigDecimal share) {
+        return new LeaderboardEntryResponse(
+                rank,
+                seller.getId(),
+                seller.getSellerName(),
+                seller.getContactInfo(),
+                amount,
+                transactionCount,
+                share,
+                seller.getRegistrationDate());
+    }
+
+    public static BigDecimal share(
+            LeaderboardMetric metric,
+            BigDecimal amount,
+            long transactionCount,
+            BigDecimal totalAmount,
+            long totalTransactionCount) {
+        BigDecimal value = metric == LeaderboardMetric.COUNT ? BigDecimal.valueOf(transactionCount) : amount;
+        BigDecimal total = metric == LeaderboardMetric.COUNT ? BigDecimal.valueOf(totalTransactionCount) : totalAmount;
+        if (total.signum() == 0) {
+            return BigDecimal.ZERO.setScale(SHARE_SCALE);
+        }
+        return value.divide(total, SHARE_SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -6,6 +6,8 @@ import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
 import ru.cft.crm.model.seller.SellerCreateRequest;
 import ru.cft.crm.model.seller.SellerResponse;
 import ru.cft.crm.entity.Seller;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
+import ru.cft.crm.repository.projection.SellerTransactionAmount;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -49,6 +51,19 @@ public class SellerMapper {
         );
     }
 
+    public static SellerWithTransactionsResponse mapSellerWithTransactions(
+            SellerAmountProjection sellerAmount) {
+        return new SellerWithTransactionsResponse(
+                sellerAmount.getId(),
+                sellerAmount.getSellerName(),
+                sellerAmount.getContactInfo(),
+                sellerAmount.getAmount(),
+                sellerAmount.getRegistrationDate(),
+                sellerAmount.getUpdatedAt(),
+                sellerAmount.getIsActive()
+        );
+    }
+
     public static List<SellerResponse> mapSellersToResponses(List<Seller> sellers) {
         return sellers.stream()
                 .map(SellerMapper::mapSellerToDto)
@@ -66,4 +81,26 @@ public class SellerMapper {
                 seller.getRegistrationDate()
         );
     }
+
+    public static MostProductiveSellerResponse mapToMostProductiveSellerResponse(
+            SellerTransactionAmount sellerAmount
+    ) {
+        return new MostProductiveSellerResponse(sellerAmount.sellerId(),
+                sellerAmount.sellerName(),
+                sellerAmount.contactInfo(),
+                sellerAmount.amount(),
+                sellerAmount.registrationDate()
+        );
+    }
+
+    public static MostProductiveSellerResponse mapToMostProductiveSellerResponse(
+            SellerAmountProjection sellerAmount
+    ) {
+        return new MostProductiveSellerResponse(sellerAmount.getId(),
+                sellerAmount.getSellerName(),
+                sellerAmount.getContactInfo(),
+                sellerAmount.getAmount(),
+                sellerAmount.getRegistrationDate()
+        );
+    }
 }
@@ -5,6 +5,7 @@ import ru.cft.crm.model.transaction.TransactionCreateRequest;
 import ru.cft.crm.model.transaction.TransactionResponse;
 import ru.cft.crm.entity.Seller;
 import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.repository.projection.DeactivatedTransactionProjection;
 import ru.cft.crm.type.PaymentType;
 
 import java.time.LocalDateTime;
@@ -33,6 +34,7 @@ public class TransactionMapper {
         return new TransactionResponse(
                 transaction.getId(),
                 transaction.getSeller().getId(),
+                transaction.getSeller().getSellerName(),
                 transaction.getAmount(),
                 transaction.getPaymentType(),
                 transaction.getTransactionDate(),
@@ -41,6 +43,21 @@ public class TransactionMapper {
         );
     }
 
+    public static TransactionResponse mapDeactivatedToResponse(
+            Seller seller,
+            DeactivatedTransactionProjection transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                seller.getId(),
+                seller.getSellerName(),
+                transaction.getAmount(),
+                PaymentType.valueOf(transaction.getPaymentType()),
+                transaction.getTransactionDate(),
+                seller.getUpdatedAt(),
+                false
+        );
+    }
+
     public static List<TransactionResponse> mapTransactionsToResponses(
             List<Transaction> transactions) {
         return transactions.stream()
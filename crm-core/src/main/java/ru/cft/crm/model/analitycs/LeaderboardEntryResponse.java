@@ -0,0 +1,16 @@
+package ru.cft.crm.model.analitycs;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record LeaderboardEntryResponse(
+        Long rank,
+        Long id,
+        String sellerName,
+        String contactInfo,
+        BigDecimal amount,
+        Long transactionCount,
+        BigDecimal share,
+        LocalDateTime registrationDate
+) {
+}
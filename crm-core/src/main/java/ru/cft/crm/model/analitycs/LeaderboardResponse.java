@@ -0,0 +1,17 @@
+package ru.cft.crm.model.analitycs;
+
+import ru.cft.crm.type.LeaderboardMetric;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record LeaderboardResponse(
+        LeaderboardMetric metric,
+        LocalDateTime start,
+        LocalDateTime end,
+        BigDecimal totalAmount,
+        Long totalTransactionCount,
+        List<LeaderboardEntryResponse> entries
+) {
+}
@@ -0,0 +1,18 @@
+package ru.cft.crm.model.event;
+
+import ru.cft.crm.model.seller.SellerResponse;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.type.ChangeType;
+import ru.cft.crm.type.ChangedEntity;
+
+import java.time.LocalDateTime;
+
+public record ChangeEventResponse(
+        String id,
+        ChangedEntity entity,
+        ChangeType type,
+        LocalDateTime occurredAt,
+        TransactionResponse transaction,
+        SellerResponse seller
+) {
+}
@@ -0,0 +1,7 @@
+package ru.cft.crm.model.imports;
+
+public record ImportChunkResult(
+        long importedRows,
+        long failedRows
+) {
+}
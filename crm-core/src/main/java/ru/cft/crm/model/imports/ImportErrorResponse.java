@@ -0,0 +1,13 @@
+package ru.cft.crm.model.imports;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Ошибка в строке файла импорта")
+public record ImportErrorResponse(
+        @Schema(description = "Номер строки файла, заголовок считается первой строкой", example = "42")
+        Long lineNumber,
+
+        @Schema(description = "Описание ошибки", example = "Продавец с id: 7 не найден")
+        String errorMessage
+) {
+}
@@ -0,0 +1,33 @@
+package ru.cft.crm.model.imports;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.cft.crm.type.ImportStatus;
+import ru.cft.crm.type.ImportType;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Состояние задания импорта")
+public record ImportJobResponse(
+        @Schema(description = "ID задания, используется для продолжения импорта", example = "1")
+        Long id,
+
+        @Schema(description = "Тип импортируемых данных", example = "TRANSACTIONS")
+        ImportType importType,
+
+        @Schema(description = "Статус задания", example = "COMPLETED")
+        ImportStatus status,
+
+        @Schema(description = "Количество обработанных строк файла", example = "1000000")
+        Long processedRows,
+
+        @Schema(description = "Количество загруженных строк", example = "999990")
+        Long importedRows,
+
+        @Schema(description = "Количество строк с ошибками", example = "10")
+        Long failedRows,
+
+        LocalDateTime createdAt,
+
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,9 @@
+package ru.cft.crm.model.page;
+
+import java.time.LocalDateTime;
+
+public record ChangeWatermark(
+        LocalDateTime updatedAt,
+        Long id
+) {
+}
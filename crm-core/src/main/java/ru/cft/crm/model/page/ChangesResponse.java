@@ -0,0 +1,22 @@
+package ru.cft.crm.model.page;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Изменения после отметки синхронизации в порядке (updatedAt, id)")
+public record ChangesResponse<T>(
+        @Schema(description = "Созданные и измененные записи")
+        List<T> items,
+
+        @Schema(description = "ID удаленных записей")
+        List<Long> deletedIds,
+
+        @Schema(description = "Отметка для следующего запроса изменений",
+                example = "MjAyNC0wMS0xNVQxMDowMHw0Mg")
+        String watermark,
+
+        @Schema(description = "Есть ли еще изменения после этой отметки")
+        boolean hasMore
+) {
+}
@@ -0,0 +1,16 @@
+package ru.cft.crm.model.page;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница списка с курсором для перехода к следующей странице")
+public record CursorPageResponse<T>(
+        @Schema(description = "Элементы страницы")
+        List<T> items,
+
+        @Schema(description = "Курсор следующей страницы, отсутствует на последней странице",
+                example = "MjAyNC0wMS0xNVQxMDowMHw0Mg")
+        String nextCursor
+) {
+}
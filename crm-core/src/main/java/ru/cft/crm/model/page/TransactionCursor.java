@@ -0,0 +1,9 @@
+package ru.cft.crm.model.page;
+
+import java.time.LocalDateTime;
+
+public record TransactionCursor(
+        LocalDateTime transactionDate,
+        Long id
+) {
+}
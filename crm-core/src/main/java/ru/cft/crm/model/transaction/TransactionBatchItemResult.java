@@ -0,0 +1,19 @@
+package ru.cft.crm.model.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.cft.crm.model.error.FieldError;
+
+import java.util.List;
+
+@Schema(description = "Результат обработки одной транзакции из пакета")
+public record TransactionBatchItemResult(
+        @Schema(description = "Порядковый номер транзакции в запросе", example = "0")
+        int index,
+
+        @Schema(description = "Созданная транзакция, если ошибок нет")
+        TransactionResponse transaction,
+
+        @Schema(description = "Ошибки валидации транзакции")
+        List<FieldError> errors
+) {
+}
@@ -0,0 +1,18 @@
+package ru.cft.crm.model.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Результат пакетного создания транзакций")
+public record TransactionBatchResponse(
+        @Schema(description = "Количество созданных транзакций", example = "998")
+        int createdCount,
+
+        @Schema(description = "Количество отклоненных транзакций", example = "2")
+        int failedCount,
+
+        @Schema(description = "Результаты в порядке транзакций в запросе")
+        List<TransactionBatchItemResult> results
+) {
+}
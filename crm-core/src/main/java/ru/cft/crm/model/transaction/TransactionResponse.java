@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 public record TransactionResponse(
         Long id,
         Long sellerId,
+        String sellerName,
         BigDecimal amount,
         PaymentType paymentType,
         LocalDateTime transactionDate,
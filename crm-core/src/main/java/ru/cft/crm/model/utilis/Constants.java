@@ -5,4 +5,6 @@ public class Constants {
     public static final int MONTHS_IN_QUARTER = 3;
     public static final int LAST_DAY_OFFSET = 1;
     public static final int ONE_YEAR = 1;
+    public static final int MAX_PAGE_LIMIT = 1000;
+    public static final int MAX_LEADERBOARD_LIMIT = 100;
 }
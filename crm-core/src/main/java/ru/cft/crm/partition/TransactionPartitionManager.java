@@ -0,0 +1,9 @@
+package ru.cft.crm.partition;
+
+import java.time.YearMonth;
+
+public interface TransactionPartitionManager {
+    void createUpcomingPartitions();
+
+    boolean createPartition(YearMonth month);
+}
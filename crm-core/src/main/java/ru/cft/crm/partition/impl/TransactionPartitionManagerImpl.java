@@ -0,0 +1,40 @@
+package ru.cft.crm.partition.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.partition.TransactionPartitionManager;
+
+import java.time.YearMonth;
+
+@Component
+@RequiredArgsConstructor
+public class TransactionPartitionManagerImpl implements TransactionPartitionManager {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${transactions.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transactions.partitions.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(currentMonth.plusMonths(i));
+        }
+    }
+
+    @Override
+    public boolean createPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT create_transactions_partition(?)",
+                Boolean.class,
+                month.atDay(1)));
+    }
+}
@@ -0,0 +1,16 @@
+package ru.cft.crm.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ru.cft.crm.entity.ImportError;
+
+import java.util.List;
+
+@Repository
+public interface ImportErrorRepository extends JpaRepository<ImportError, Long> {
+    List<ImportError> findByJobIdAndLineNumberGreaterThanOrderByLineNumber(
+            Long jobId,
+            Long lineNumber,
+            Limit limit);
+}
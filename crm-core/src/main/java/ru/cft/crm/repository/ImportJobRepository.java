@@ -0,0 +1,45 @@
+package ru.cft.crm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.cft.crm.entity.ImportJob;
+import ru.cft.crm.type.ImportStatus;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j
+            SET j.processedRows = j.processedRows + :processedRows,
+                j.importedRows = j.importedRows + :importedRows,
+                j.failedRows = j.failedRows + :failedRows,
+                j.status = ru.cft.crm.type.ImportStatus.IN_PROGRESS,
+                j.updatedAt = :updatedAt
+            WHERE j.id = :id
+              AND j.processedRows = :expectedProcessedRows
+            """)
+    int incrementProgress(
+            @Param("id") Long id,
+            @Param("expectedProcessedRows") long expectedProcessedRows,
+            @Param("processedRows") long processedRows,
+            @Param("importedRows") long importedRows,
+            @Param("failedRows") long failedRows,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j
+            SET j.status = :status,
+                j.updatedAt = :updatedAt
+            WHERE j.id = :id
+            """)
+    int updateStatus(
+            @Param("id") Long id,
+            @Param("status") ImportStatus status,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,147 @@
+package ru.cft.crm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.cft.crm.entity.SellerDailyStats;
+import ru.cft.crm.repository.projection.LeaderboardProjection;
+import ru.cft.crm.repository.projection.PeriodCountProjection;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SellerDailyStatsRepository extends JpaRepository<SellerDailyStats, SellerDailyStats.Key> {
+    @Modifying
+    @Query(value = """
+            INSERT INTO seller_daily_stats AS d
+                (seller_id, day, tx_count, amount_sum, cash_count, card_count, transfer_count)
+            VALUES (:sellerId, :day, :txCount, :amount, :cashCount, :cardCount, :transferCount)
+            ON CONFLICT (seller_id, day) DO UPDATE
+            SET tx_count = d.tx_count + excluded.tx_count,
+                amount_sum = d.amount_sum + excluded.amount_sum,
+                cash_count = d.cash_count + excluded.cash_count,
+                card_count = d.card_count + excluded.card_count,
+                transfer_count = d.transfer_count + excluded.transfer_count
+            """, nativeQuery = true)
+    int addStats(
+            @Param("sellerId") Long sellerId,
+            @Param("day") LocalDate day,
+            @Param("txCount") int txCount,
+            @Param("amount") BigDecimal amount,
+            @Param("cashCount") int cashCount,
+            @Param("cardCount") int cardCount,
+            @Param("transferCount") int transferCount);
+
+    @Query(value = """
+            WITH sums AS (
+                SELECT d.seller_id,
+                       SUM(d.amount_sum) AS amount
+                FROM seller_daily_stats d
+                JOIN sellers s ON s.id = d.seller_id
+                WHERE d.day >= :startDay
+                  AND d.day < :endDay
+                  AND s.is_active = :active
+                GROUP BY d.seller_id
+            )
+            SELECT s.id AS "id",
+                   s.seller_name AS "sellerName",
+                   s.contact_info AS "contactInfo",
+                   s.registration_date AS "registrationDate",
+                   s.updated_at AS "updatedAt",
+                   s.is_active AS "isActive",
+                   sums.amount AS "amount"
+            FROM sums
+            JOIN sellers s ON s.id = sums.seller_id
+            WHERE sums.amount = (SELECT MAX(amount) FROM sums)
+            """, nativeQuery = true)
+    List<SellerAmountProjection> findTopSellersByAmountBetween(
+            @Param("startDay") LocalDate startDay,
+            @Param("endDay") LocalDate endDay,
+            @Param("active") boolean active);
+
+    @Query(value = """
+            SELECT s.id AS "id",
+                   s.seller_name AS "sellerName",
+                   s.contact_info AS "contactInfo",
+                   s.registration_date AS "registrationDate",
+                   s.updated_at AS "updatedAt",
+                   s.is_active AS "isActive",
+                   COALESCE(SUM(d.amount_sum), 0) AS "amount"
+            FROM sellers s
+            LEFT JOIN seller_daily_stats d
+                   ON d.seller_id = s.id
+                  AND d.day >= :startDay
+                  AND d.day < :endDay
+            WHERE s.is_active = :active
+            GROUP BY s.id
+            HAVING COALESCE(SUM(d.amount_sum), 0) < :maxAmount
+            """, nativeQuery = true)
+    List<SellerAmountProjection> findSellersWithAmountLessThan(
+            @Param("maxAmount") BigDecimal maxAmount,
+            @Param("startDay") LocalDate startDay,
+            @Param("endDay") LocalDate endDay,
+            @Param("active") boolean active);
+
+    @Query(value = """
+            WITH sums AS (
+                SELECT d.seller_id,
+                       SUM(d.amount_sum) AS amount,
+                       SUM(d.tx_count) AS tx_count
+                FROM seller_daily_stats d
+                JOIN sellers s ON s.id = d.seller_id
+                WHERE d.day >= :startDay
+                  AND d.day < :endDay
+                  AND s.is_active = :active
+                GROUP BY d.seller_id
+                HAVING SUM(d.tx_count) > 0
+            ),
+            top AS (
+                SELECT sums.seller_id,
+                       sums.amount,
+                       sums.tx_count,
+                       CASE WHEN :metric = 'COUNT' THEN sums.tx_count ELSE sums.amount END AS score
+                FROM sums
+                ORDER BY score DESC, sums.seller_id
+                LIMIT :limit
+            )
+            SELECT DENSE_RANK() OVER (ORDER BY top.score DESC) AS "rank",
+                   s.id AS "id",
+                   s.seller_name AS "sellerName",
+                   s.contact_info AS "contactInfo",
+                   s.registration_date AS "registrationDate",
+                   top.amount AS "amount",
+                   top.tx_count AS "transactionCount",
+                   totals.amount AS "totalAmount",
+                   totals.tx_count AS "totalTransactionCount"
+            FROM top
+            JOIN sellers s ON s.id = top.seller_id
+            CROSS JOIN (SELECT SUM(amount) AS amount, SUM(tx_count) AS tx_count FROM sums) totals
+            ORDER BY top.score DESC, s.id
+            """, nativeQuery = true)
+    List<LeaderboardProjection> findLeaderboard(
+            @Param("startDay") LocalDate startDay,
+            @Param("endDay") LocalDate endDay,
+            @Param("metric") String metric,
+            @Param("limit") int limit,
+            @Param("active") boolean active);
+
+    @Query(value = """
+            SELECT date_trunc(:unit, CAST(d.day AS TIMESTAMP)) AS "startDate",
+                   SUM(d.tx_count) AS "transactionCount",
+                   CAST(SUM(SUM(d.tx_count)) OVER () AS BIGINT) AS "totalCount"
+            FROM seller_daily_stats d
+            WHERE d.seller_id = :sellerId
+            GROUP BY 1
+            ORDER BY 2 DESC, 1
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<PeriodCountProjection> findBusiestPeriodBySellerId(
+            @Param("sellerId") Long sellerId,
+            @Param("unit") String unit);
+}
@@ -1,9 +1,16 @@
 package ru.cft.crm.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.cft.crm.entity.Seller;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +18,50 @@ import java.util.Optional;
 public interface SellerRepository extends JpaRepository<Seller, Long> {
     List<Seller> findByIsActiveTrue();
 
+    List<Seller> findByIdGreaterThanOrderById(Long id, Limit limit);
+
+    List<Seller> findByIsActiveTrueAndIdGreaterThanOrderById(Long id, Limit limit);
+
     Optional<Seller> findByIdAndIsActiveTrue(Long id);
 
+    List<Seller> findAllByIdInAndIsActiveTrue(Collection<Long> ids);
+
+    List<Seller> findAllByUpdatedAtGreaterThanEqual(LocalDateTime updatedAt);
+
+    @Query("""
+            SELECT s
+            FROM Seller s
+            WHERE (s.updatedAt, s.id) > (:updatedAt, :id)
+              AND s.updatedAt < :before
+            ORDER BY s.updatedAt, s.id
+            """)
+    List<Seller> findChangedAfter(
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            @Param("before") LocalDateTime before,
+            Limit limit);
+
     Boolean existsByContactInfo(String contactInfo);
+
+    @Query("""
+            SELECT s.id AS id,
+                   s.sellerName AS sellerName,
+                   s.contactInfo AS contactInfo,
+                   s.registrationDate AS registrationDate,
+                   s.updatedAt AS updatedAt,
+                   s.isActive AS isActive,
+                   COALESCE(SUM(t.amount), 0) AS amount
+            FROM Seller s
+            LEFT JOIN Transaction t
+                   ON t.seller = s
+                  AND t.transactionDate BETWEEN :start AND :end
+            WHERE s.isActive = :active
+            GROUP BY s.id
+            HAVING COALESCE(SUM(t.amount), 0) < :maxAmount
+            """)
+    List<SellerAmountProjection> findSellersWithTransactionsAmountLessThan(
+            @Param("maxAmount") BigDecimal maxAmount,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("active") boolean active);
 }
@@ -1,20 +1,112 @@
 package ru.cft.crm.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.cft.crm.entity.Seller;
 import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.repository.projection.DeactivatedTransactionProjection;
+import ru.cft.crm.repository.projection.LeaderboardProjection;
+import ru.cft.crm.repository.projection.PeriodCountProjection;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
+import ru.cft.crm.repository.projection.SellerTransactionAmount;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    String SELECT_RESPONSE = """
+            SELECT new ru.cft.crm.model.transaction.TransactionResponse(
+                       t.id, s.id, s.sellerName, t.amount, t.paymentType, t.transactionDate, t.updatedAt, t.isActive)
+            FROM Transaction t
+            JOIN t.seller s
+            """;
+
     List<Transaction> findByIsActiveTrue();
 
+    @Query(SELECT_RESPONSE + """
+            WHERE t.id = :id
+              AND t.isActive = true
+            """)
+    Optional<TransactionResponse> findActiveResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE)
+    List<TransactionResponse> findAllResponses();
+
+    @Query(SELECT_RESPONSE + """
+            WHERE t.isActive = true
+            """)
+    List<TransactionResponse> findActiveResponses();
+
+    @Query(SELECT_RESPONSE + """
+            WHERE s.id = :sellerId
+              AND t.isActive = true
+            """)
+    List<TransactionResponse> findActiveResponsesBySellerId(@Param("sellerId") Long sellerId);
+
+    @Query(SELECT_RESPONSE + """
+            WHERE (t.transactionDate, t.id) < (:transactionDate, :id)
+            ORDER BY t.transactionDate DESC, t.id DESC
+            """)
+    List<TransactionResponse> findPageBefore(
+            @Param("transactionDate") LocalDateTime transactionDate,
+            @Param("id") Long id,
+            Limit limit);
+
+    @Query(SELECT_RESPONSE + """
+            WHERE t.isActive = true
+              AND (t.transactionDate, t.id) < (:transactionDate, :id)
+            ORDER BY t.transactionDate DESC, t.id DESC
+            """)
+    List<TransactionResponse> findActivePageBefore(
+            @Param("transactionDate") LocalDateTime transactionDate,
+            @Param("id") Long id,
+            Limit limit);
+
+    @Query(SELECT_RESPONSE + """
+            WHERE s.id = :sellerId
+              AND t.isActive = true
+              AND (t.transactionDate, t.id) < (:transactionDate, :id)
+            ORDER BY t.transactionDate DESC, t.id DESC
+            """)
+    List<TransactionResponse> findActivePageBySellerIdBefore(
+            @Param("sellerId") Long sellerId,
+            @Param("transactionDate") LocalDateTime transactionDate,
+            @Param("id") Long id,
+            Limit limit);
+
+    @Query(SELECT_RESPONSE + """
+            WHERE (t.updatedAt, t.id) > (:updatedAt, :id)
+              AND t.updatedAt < :before
+            ORDER BY t.updatedAt, t.id
+            """)
+    List<TransactionResponse> findChangedAfter(
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            @Param("before") LocalDateTime before,
+            Limit limit);
+
     List<Transaction> findAllBySellerId(Long sellerId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE + """
+            WHERE t.isActive = true
+               OR :activeOnly = false
+            """)
+    Stream<TransactionResponse> streamForExport(@Param("activeOnly") boolean activeOnly);
+
     Optional<Transaction> findByIdAndIsActive(Long id, Boolean isActive);
 
     List<Transaction> findBySellerAndIsActiveTrue(Seller seller);
@@ -27,5 +119,113 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             LocalDateTime start,
             LocalDateTime end);
 
-}
+    @Query("""
+            SELECT new ru.cft.crm.repository.projection.SellerTransactionAmount(
+                       s.id, s.sellerName, s.contactInfo, s.registrationDate, t.amount)
+            FROM Transaction t
+            JOIN t.seller s
+            WHERE t.transactionDate BETWEEN :start AND :end
+              AND s.isActive = :active
+            """)
+    List<SellerTransactionAmount> findSellerTransactionAmountsBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("active") boolean active);
+
+    @Query(value = """
+            UPDATE transactions
+            SET is_active = false,
+                updated_at = :updatedAt
+            WHERE seller_id = :sellerId
+              AND is_active = true
+            RETURNING id AS "id",
+                      amount AS "amount",
+                      payment_type AS "paymentType",
+                      transaction_date AS "transactionDate"
+            """, nativeQuery = true)
+    List<DeactivatedTransactionProjection> deactivateAllBySellerId(
+            @Param("sellerId") Long sellerId,
+            @Param("updatedAt") LocalDateTime updatedAt);
 
+    @Query("""
+            SELECT s.id AS id,
+                   s.sellerName AS sellerName,
+                   s.contactInfo AS contactInfo,
+                   s.registrationDate AS registrationDate,
+                   s.updatedAt AS updatedAt,
+                   s.isActive AS isActive,
+                   SUM(t.amount) AS amount
+            FROM Transaction t
+            JOIN t.seller s
+            WHERE t.transactionDate BETWEEN :start AND :end
+              AND s.isActive = :active
+            GROUP BY s.id
+            HAVING SUM(t.amount) >= ALL (
+                SELECT SUM(other.amount)
+                FROM Transaction other
+                WHERE other.transactionDate BETWEEN :start AND :end
+                  AND other.seller.isActive = :active
+                GROUP BY other.seller.id
+            )
+            """)
+    List<SellerAmountProjection> findTopSellersByAmountBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("active") boolean active);
+
+    @Query(value = """
+            WITH sums AS (
+                SELECT t.seller_id,
+                       SUM(t.amount) AS amount,
+                       COUNT(*) AS tx_count
+                FROM transactions t
+                JOIN sellers s ON s.id = t.seller_id
+                WHERE t.transaction_date >= :start
+                  AND t.transaction_date < :end
+                  AND s.is_active = :active
+                GROUP BY t.seller_id
+            ),
+            top AS (
+                SELECT sums.seller_id,
+                       sums.amount,
+                       sums.tx_count,
+                       CASE WHEN :metric = 'COUNT' THEN sums.tx_count ELSE sums.amount END AS score
+                FROM sums
+                ORDER BY score DESC, sums.seller_id
+                LIMIT :limit
+            )
+            SELECT DENSE_RANK() OVER (ORDER BY top.score DESC) AS "rank",
+                   s.id AS "id",
+                   s.seller_name AS "sellerName",
+                   s.contact_info AS "contactInfo",
+                   s.registration_date AS "registrationDate",
+                   top.amount AS "amount",
+                   top.tx_count AS "transactionCount",
+                   totals.amount AS "totalAmount",
+                   totals.tx_count AS "totalTransactionCount"
+            FROM top
+            JOIN sellers s ON s.id = top.seller_id
+            CROSS JOIN (SELECT SUM(amount) AS amount, SUM(tx_count) AS tx_count FROM sums) totals
+            ORDER BY top.score DESC, s.id
+            """, nativeQuery = true)
+    List<LeaderboardProjection> findLeaderboard(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("metric") String metric,
+            @Param("limit") int limit,
+            @Param("active") boolean active);
+
+    @Query(value = """
+            SELECT date_trunc(:unit, t.transaction_date) AS "startDate",
+                   COUNT(*) AS "transactionCount",
+                   CAST(SUM(COUNT(*)) OVER () AS BIGINT) AS "totalCount"
+            FROM transactions t
+            WHERE t.seller_id = :sellerId
+            GROUP BY 1
+            ORDER BY 2 DESC, 1
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<PeriodCountProjection> findBusiestPeriodBySellerId(
+            @Param("sellerId") Long sellerId,
+            @Param("unit") String unit);
+}
@@ -1,9 +1,28 @@
 package ru.cft.crm.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.cft.crm.entity.TransactionsHistory;
 
+import java.time.LocalDateTime;
+
 @Repository
 public interface TransactionsHistoryRepository extends JpaRepository<TransactionsHistory, Long> {
+    @Modifying
+    @Query(value = """
+            INSERT INTO transactions_history (transaction_id, seller_id, amount, payment_type,
+                                              transaction_date, updated_at, change_timestamp, change_type)
+            SELECT t.id, t.seller_id, t.amount, t.payment_type,
+                   t.transaction_date, t.updated_at, :changeTimestamp, :changeType
+            FROM transactions t
+            WHERE t.seller_id = :sellerId
+              AND t.is_active
+            """, nativeQuery = true)
+    int saveActiveTransactionsHistoryBySellerId(
+            @Param("sellerId") Long sellerId,
+            @Param("changeType") String changeType,
+            @Param("changeTimestamp") LocalDateTime changeTimestamp);
 }
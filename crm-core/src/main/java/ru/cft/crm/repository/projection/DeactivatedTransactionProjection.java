@@ -0,0 +1,14 @@
+package ru.cft.crm.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface DeactivatedTransactionProjection {
+    Long getId();
+
+    BigDecimal getAmount();
+
+    String getPaymentType();
+
+    LocalDateTime getTransactionDate();
+}
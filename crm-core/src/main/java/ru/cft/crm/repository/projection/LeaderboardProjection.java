@@ -0,0 +1,24 @@
+package ru.cft.crm.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface LeaderboardProjection {
+    Long getRank();
+
+    Long getId();
+
+    String getSellerName();
+
+    String getContactInfo();
+
+    LocalDateTime getRegistrationDate();
+
+    BigDecimal getAmount();
+
+    Long getTransactionCount();
+
+    BigDecimal getTotalAmount();
+
+    Long getTotalTransactionCount();
+}
@@ -0,0 +1,11 @@
+package ru.cft.crm.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface PeriodCountProjection {
+    LocalDateTime getStartDate();
+
+    Long getTransactionCount();
+
+    Long getTotalCount();
+}
@@ -0,0 +1,20 @@
+package ru.cft.crm.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SellerAmountProjection {
+    Long getId();
+
+    String getSellerName();
+
+    String getContactInfo();
+
+    LocalDateTime getRegistrationDate();
+
+    LocalDateTime getUpdatedAt();
+
+    Boolean getIsActive();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,13 @@
+package ru.cft.crm.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record SellerTransactionAmount(
+        Long sellerId,
+        String sellerName,
+        String contactInfo,
+        LocalDateTime registrationDate,
+        BigDecimal amount
+) {
+}
@@ -1,6 +1,7 @@
 package ru.cft.crm.service.analytics;
 
 import ru.cft.crm.model.analitycs.BestPeriodsResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
 import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
 import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
 
@@ -21,4 +22,15 @@ public interface AnalyticsService {
             LocalDate start,
             LocalDate end,
             boolean active);
+
+    LeaderboardResponse getLeaderboard(
+            String metric,
+            String period,
+            LocalDate date,
+            LocalDate start,
+            LocalDate end,
+            int limit,
+            boolean active);
+
+    LeaderboardResponse getLiveLeaderboard(String period, int limit);
 }
@@ -1,7 +1,13 @@
 package ru.cft.crm.service.analytics.handler;
 
 import ru.cft.crm.model.analitycs.BestPeriodsResponse;
+import ru.cft.crm.model.utilis.BestPeriod;
+import ru.cft.crm.model.utilis.PeriodDefinition;
+
+import java.util.List;
 
 public interface BestTransactionPeriodHandler {
     BestPeriodsResponse getBestTransactionPeriod(Long sellerId);
+
+    List<BestPeriod> getBestTransactionPeriods(Long sellerId, List<PeriodDefinition> periods);
 }
@@ -0,0 +1,17 @@
+package ru.cft.crm.service.analytics.handler;
+
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.type.LeaderboardMetric;
+
+import java.time.LocalDate;
+
+public interface LeaderboardHandler {
+    LeaderboardResponse getLeaderboard(
+            DateRange dateRange,
+            LeaderboardMetric metric,
+            int limit,
+            boolean active);
+
+    DateRange getDateRange(LocalDate date, String period, LocalDate start, LocalDate end);
+}
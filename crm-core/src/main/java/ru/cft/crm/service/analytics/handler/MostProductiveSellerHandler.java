@@ -1,6 +1,7 @@
 package ru.cft.crm.service.analytics.handler;
 
 import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
+import ru.cft.crm.model.utilis.DateRange;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -10,4 +11,6 @@ public interface MostProductiveSellerHandler {
             LocalDate date,
             String period,
             boolean active);
+
+    DateRange getDateRange(LocalDate date, String period);
 }
@@ -0,0 +1,135 @@
+package ru.cft.crm.service.analytics.handler.calculator;
+
+import lombok.experimental.UtilityClass;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.exception.InvalidTimePeriodException;
+import ru.cft.crm.model.utilis.BestPeriod;
+import ru.cft.crm.model.utilis.PeriodDefinition;
+import ru.cft.crm.type.TimePeriod;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@UtilityClass
+public class BestPeriodCalculator {
+    private static final long SECONDS_IN_DAY = 86_400L;
+
+    private static final long FIRST_MONDAY_EPOCH_SECOND = 4 * SECONDS_IN_DAY;
+
+    public static List<BestPeriod> findBestPeriods(
+            List<Transaction> transactions,
+            List<PeriodDefinition> periods) {
+        return findBestPeriods(toSortedEpochSeconds(transactions), periods);
+    }
+
+    public static long[] toSortedEpochSeconds(List<Transaction> transactions) {
+        long[] epochSeconds = new long[transactions.size()];
+        int index = 0;
+        for (Transaction transaction : transactions) {
+            epochSeconds[index++] = toEpochSecond(transaction.getTransactionDate());
+        }
+        Arrays.sort(epochSeconds);
+        return epochSeconds;
+    }
+
+    public static List<BestPeriod> findBestPeriods(
+            long[] sortedEpochSeconds,
+            List<PeriodDefinition> periods) {
+        int periodsCount = periods.size();
+        boolean[] calendarMonth = new boolean[periodsCount];
+        long[] durations = new long[periodsCount];
+        for (int i = 0; i < periodsCount; i++) {
+            PeriodDefinition period = periods.get(i);
+            calendarMonth[i] = period.timePeriod() == TimePeriod.MONTH;
+            durations[i] = validateDuration(period);
+        }
+
+        long[] windowStart = new long[periodsCount];
+        long[] windowEnd = new long[periodsCount];
+        long[] windowCount = new long[periodsCount];
+        long[] bestStart = new long[periodsCount];
+        long[] bestEnd = new long[periodsCount];
+        long[] bestCount = new long[periodsCount];
+        Arrays.fill(windowEnd, Long.MIN_VALUE);
+
+        for (long epochSecond : sortedEpochSeconds) {
+            for (int i = 0; i < periodsCount; i++) {
+                if (epochSecond >= windowEnd[i]) {
+                    if (windowCount[i] > bestCount[i]) {
+                        bestCount[i] = windowCount[i];
+                        bestStart[i] = windowStart[i];
+                        bestEnd[i] = windowEnd[i];
+                    }
+                    if (calendarMonth[i]) {
+                        windowStart[i] = startOfMonth(epochSecond);
+                        windowEnd[i] = startOfNextMonth(windowStart[i]);
+                    } else {
+                        windowStart[i] = Math.floorDiv(epochSecond - FIRST_MONDAY_EPOCH_SECOND, durations[i])
+                                * durations[i] + FIRST_MONDAY_EPOCH_SECOND;
+                        windowEnd[i] = windowStart[i] + durations[i];
+                    }
+                    windowCount[i] = 0;
+                }
+                windowCount[i]++;
+            }
+        }
+
+        List<BestPeriod> bestPeriods = new ArrayList<>(periodsCount);
+        for (int i = 0; i < periodsCount; i++) {
+            if (windowCount[i] > bestCount[i]) {
+                bestCount[i] = windowCount[i];
+                bestStart[i] = windowStart[i];
+                bestEnd[i] = windowEnd[i];
+            }
+            bestPeriods.add(toBestPeriod(bestStart[i], bestEnd[i], bestCount[i], periods.get(i)));
+        }
+        return bestPeriods;
+    }
+
+    private static long validateDuration(PeriodDefinition period) {
+        if (period.timePeriod() == null) {
+            throw new InvalidTimePeriodException("Некорректный временной промежуток");
+        }
+        if (period.timePeriod() == TimePeriod.MONTH) {
+            return 0;
+        }
+        if (period.duration() == null || period.duration().getSeconds() <= 0) {
+            throw new InvalidTimePeriodException("Некорректный временной промежуток: " + period.duration());
+        }
+        return period.duration().getSeconds();
+    }
+
+    private static BestPeriod toBestPeriod(long start, long end, long count, PeriodDefinition period) {
+        if (count == 0) {
+            return new BestPeriod(null, null, period.timePeriod(), 0L);
+        }
+        return new BestPeriod(
+                toLocalDateTime(start),
+                toLocalDateTime(end - 1),
+                period.timePeriod(),
+                count
+        );
+    }
+
+    private static long startOfMonth(long epochSecond) {
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_IN_DAY));
+        return date.withDayOfMonth(1).toEpochDay() * SECONDS_IN_DAY;
+    }
+
+    private static long startOfNextMonth(long startOfMonth) {
+        LocalDate date = LocalDate.ofEpochDay(startOfMonth / SECONDS_IN_DAY);
+        return date.plusMonths(1).toEpochDay() * SECONDS_IN_DAY;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.cft.crm.service.analytics.handler.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.exception.TransactionNotFoundException;
+import ru.cft.crm.model.analitycs.BestPeriodsResponse;
+import ru.cft.crm.model.utilis.BestPeriod;
+import ru.cft.crm.model.utilis.PeriodDefinition;
+import ru.cft.crm.service.analytics.handler.BestTransactionPeriodHandler;
+import ru.cft.crm.service.analytics.handler.calculator.BestPeriodCalculator;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
+
+import java.util.List;
+
+@Primary
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analytics.snapshot.enabled", havingValue = "true")
+public class BestTransactionPeriodSnapshotHandler implements BestTransactionPeriodHandler {
+
+    private final BestTransactionPeriodHandlerImpl databaseHandler;
+
+    private final AnalyticsSnapshot analyticsSnapshot;
+
+    @Override
+    public BestPeriodsResponse getBestTransactionPeriod(Long sellerId) {
+        if (analyticsSnapshot.current().isEmpty()) {
+            return databaseHandler.getBestTransactionPeriod(sellerId);
+        }
+
+        List<BestPeriod> bestPeriods = findBestPeriods(sellerId, BestTransactionPeriodHandlerImpl.DEFAULT_PERIODS);
+        return new BestPeriodsResponse(bestPeriods.get(0), bestPeriods.get(1), bestPeriods.get(2));
+    }
+
+    @Override
+    public List<BestPeriod> getBestTransactionPeriods(Long sellerId, List<PeriodDefinition> periods) {
+        if (analyticsSnapshot.current().isEmpty()) {
+            return databaseHandler.getBestTransactionPeriods(sellerId, periods);
+        }
+
+        return findBestPeriods(sellerId, periods);
+    }
+
+    private List<BestPeriod> findBestPeriods(Long sellerId, List<PeriodDefinition> periods) {
+        long[] epochSeconds = analyticsSnapshot.amountIndex().epochSeconds(sellerId);
+        if (epochSeconds.length == 0) {
+            throw new TransactionNotFoundException("У продавца нет транзакций");
+        }
+
+        return BestPeriodCalculator.findBestPeriods(epochSeconds, periods);
+    }
+}
@@ -0,0 +1,112 @@
+package ru.cft.crm.service.analytics.handler.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.cft.crm.exception.InvalidLeaderboardRequestException;
+import ru.cft.crm.exception.InvalidStartDateException;
+import ru.cft.crm.exception.SellerNotFoundException;
+import ru.cft.crm.mapper.LeaderboardMapper;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.projection.LeaderboardProjection;
+import ru.cft.crm.service.analytics.handler.LeaderboardHandler;
+import ru.cft.crm.type.LeaderboardMetric;
+import ru.cft.crm.type.TimePeriod;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static ru.cft.crm.model.utilis.Constants.MAX_LEADERBOARD_LIMIT;
+import static ru.cft.crm.model.utilis.Constants.MONTHS_IN_QUARTER;
+import static ru.cft.crm.model.utilis.Constants.ONE_DAY;
+
+@Component
+@RequiredArgsConstructor
+public class LeaderboardHandlerImpl implements LeaderboardHandler {
+
+    private final TransactionRepository transactionRepository;
+
+    private final SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @Value("${analytics.daily-stats.enabled:true}")
+    private boolean dailyStats;
+
+    @Override
+    @Transactional(readOnly = true)
+    public LeaderboardResponse getLeaderboard(
+            DateRange dateRange,
+            LeaderboardMetric metric,
+            int limit,
+            boolean active) {
+        validateLimit(limit);
+
+        List<LeaderboardProjection> leaders = dailyStats
+                ? sellerDailyStatsRepository.findLeaderboard(
+                        dateRange.start().toLocalDate(), dateRange.end().toLocalDate(), metric.name(), limit, active)
+                : transactionRepository.findLeaderboard(
+                        dateRange.start(), dateRange.end(), metric.name(), limit, active);
+        if (leaders.isEmpty()) {
+            throw new SellerNotFoundException("Ни одного продавца не найдено");
+        }
+
+        return LeaderboardMapper.mapToLeaderboardResponse(metric, dateRange, leaders);
+    }
+
+    @Override
+    public DateRange getDateRange(LocalDate date, String period, LocalDate start, LocalDate end) {
+        if (period == null) {
+            if (start == null || end == null) {
+                throw new InvalidLeaderboardRequestException(
+                        "Укажите период или начальную и конечную даты");
+            }
+            if (start.isAfter(end)) {
+                throw new InvalidStartDateException(
+                        "Введенная начальная дата не должна быть позже конечной даты");
+            }
+            return getDateRange(start, end.plusDays(ONE_DAY));
+        }
+        if (start != null || end != null) {
+            throw new InvalidLeaderboardRequestException(
+                    "Период и начальная и конечная даты не могут быть указаны одновременно");
+        }
+
+        LocalDate baseDate = date == null ? LocalDate.now() : date;
+        return switch (TimePeriod.getTimePeriod(period)) {
+            case DAY -> getDateRange(baseDate, baseDate.plusDays(ONE_DAY));
+            case WEEK -> {
+                LocalDate startOfWeek = baseDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                yield getDateRange(startOfWeek, startOfWeek.plusWeeks(1));
+            }
+            case MONTH -> {
+                LocalDate startOfMonth = baseDate.with(TemporalAdjusters.firstDayOfMonth());
+                yield getDateRange(startOfMonth, startOfMonth.plusMonths(1));
+            }
+            case QUARTER -> {
+                int firstMonth = (baseDate.getMonthValue() - 1) / MONTHS_IN_QUARTER * MONTHS_IN_QUARTER + 1;
+                LocalDate startOfQuarter = LocalDate.of(baseDate.getYear(), firstMonth, 1);
+                yield getDateRange(startOfQuarter, startOfQuarter.plusMonths(MONTHS_IN_QUARTER));
+            }
+            case YEAR -> {
+                LocalDate startOfYear = baseDate.with(TemporalAdjusters.firstDayOfYear());
+                yield getDateRange(startOfYear, startOfYear.plusYears(1));
+            }
+        };
+    }
+
+    private DateRange getDateRange(LocalDate start, LocalDate end) {
+        return new DateRange(start.atStartOfDay(), end.atStartOfDay());
+    }
+
+    void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LEADERBOARD_LIMIT) {
+            throw new InvalidLeaderboardRequestException(
+                    "Размер рейтинга должен быть от 1 до " + MAX_LEADERBOARD_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ru.cft.crm.service.analytics.handler.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.exception.SellerNotFoundException;
+import ru.cft.crm.mapper.LeaderboardMapper;
+import ru.cft.crm.model.analitycs.LeaderboardEntryResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.service.analytics.handler.LeaderboardHandler;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
+import ru.cft.crm.service.analytics.snapshot.SellerAmountIndex;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+import ru.cft.crm.type.LeaderboardMetric;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+@Primary
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analytics.snapshot.enabled", havingValue = "true")
+public class LeaderboardSnapshotHandler implements LeaderboardHandler {
+
+    private static final Comparator<Candidate> WORST_FIRST = Comparator
+            .comparingLong(Candidate::score)
+            .thenComparing(Candidate::sellerId, Comparator.reverseOrder());
+
+    private final LeaderboardHandlerImpl databaseHandler;
+
+    private final AnalyticsSnapshot analyticsSnapshot;
+
+    @Override
+    public LeaderboardResponse getLeaderboard(
+            DateRange dateRange,
+            LeaderboardMetric metric,
+            int limit,
+            boolean active) {
+        databaseHandler.validateLimit(limit);
+        Optional<TransactionSnapshot> snapshot = analyticsSnapshot.current();
+        if (snapshot.isEmpty()) {
+            return databaseHandler.getLeaderboard(dateRange, metric, limit, active);
+        }
+
+        return getLeaderboard(snapshot.get(), dateRange, metric, limit, active);
+    }
+
+    @Override
+    public DateRange getDateRange(LocalDate date, String period, LocalDate start, LocalDate end) {
+        return databaseHandler.getDateRange(date, period, start, end);
+    }
+
+    private LeaderboardResponse getLeaderboard(
+            TransactionSnapshot snapshot,
+            DateRange dateRange,
+            LeaderboardMetric metric,
+            int limit,
+            boolean active) {
+        SellerAmountIndex amountIndex = analyticsSnapshot.amountIndex();
+        long start = dateRange.start().toEpochSecond(ZoneOffset.UTC);
+        long end = dateRange.end().toEpochSecond(ZoneOffset.UTC);
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit, WORST_FIRST);
+        long totalAmountCents = 0;
+        long totalTransactionCount = 0;
+        for (int seller = 0; seller < snapshot.sellersCount(); seller++) {
+            Long sellerId = snapshot.seller(seller).getId();
+            if (snapshot.seller(seller).getIsActive() != active) {
+                continue;
+            }
+            int count = amountIndex.count(sellerId, start, end);
+            if (count == 0) {
+                continue;
+            }
+            long amountCents = amountIndex.sumAmountCents(sellerId, start, end);
+            totalAmountCents += amountCents;
+            totalTransactionCount += count;
+
+            Candidate candidate = new Candidate(seller, sellerId, amountCents, count,
+                    metric == LeaderboardMetric.COUNT ? count : amountCents);
+            if (top.size() < limit) {
+                top.add(candidate);
+            } else if (WORST_FIRST.compare(candidate, top.peek()) > 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+
+        if (top.isEmpty()) {
+            throw new SellerNotFoundException("Ни одного продавца не найдено");
+        }
+
+        List<Candidate> leaders = new ArrayList<>(top);
+        leaders.sort(WORST_FIRST.reversed());
+        BigDecimal totalAmount = BigDecimal.valueOf(totalAmountCents, 2);
+        List<LeaderboardEntryResponse> entries = new ArrayList<>(leaders.size());
+        long rank = 0;
+        long previousScore = 0;
+        for (Candidate leader : leaders) {
+            if (rank == 0 || leader.score() != previousScore) {
+                rank++;
+                previousScore = leader.score();
+            }
+            BigDecimal amount = BigDecimal.valueOf(leader.amountCents(), 2);
+            entries.add(LeaderboardMapper.mapToLeaderboardEntry(rank, snapshot.seller(leader.seller()), amount,
+                    leader.count(), LeaderboardMapper.share(metric, amount, leader.count(),
+                            totalAmount, totalTransactionCount)));
+        }
+        return new LeaderboardResponse(metric, dateRange.start(), dateRange.end(),
+                totalAmount, totalTransactionCount, List.copyOf(entries));
+    }
+
+    private record Candidate(int seller, Long sellerId, long amountCents, long count, long score) {
+    }
+}
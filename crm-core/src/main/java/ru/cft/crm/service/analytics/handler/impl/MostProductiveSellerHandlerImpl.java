@@ -1,16 +1,18 @@
 package ru.cft.crm.service.analytics.handler.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
 import ru.cft.crm.model.utilis.DateRange;
-import ru.cft.crm.entity.Seller;
-import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.InvalidTimePeriodException;
 import ru.cft.crm.exception.SellerNotFoundException;
 import ru.cft.crm.mapper.SellerMapper;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
 import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
+import ru.cft.crm.repository.projection.SellerTransactionAmount;
 import ru.cft.crm.service.analytics.handler.MostProductiveSellerHandler;
 import ru.cft.crm.type.TimePeriod;
 
@@ -21,6 +23,7 @@ import java.time.temporal.TemporalAdjusters;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.cft.crm.model.utilis.Constants.LAST_DAY_OFFSET;
@@ -34,6 +37,14 @@ public class MostProductiveSellerHandlerImpl implements MostProductiveSellerHand
 
     private final TransactionRepository transactionRepository;
 
+    private final SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @Value("${analytics.daily-stats.enabled:true}")
+    private boolean dailyStats;
+
+    @Value("${analytics.most-productive.sql-aggregation:true}")
+    private boolean sqlAggregation;
+
     @Override
     @Transactional(readOnly = true)
     public List<MostProductiveSellerResponse> getMostProductiveSellers(
@@ -41,11 +52,15 @@ public class MostProductiveSellerHandlerImpl implements MostProductiveSellerHand
             String period,
             boolean active
     ) {
-        TimePeriod periodEnum = TimePeriod.getTimePeriod(period);
-        DateRange dateRange = getDateRangeForPeriod(date, periodEnum);
+        DateRange dateRange = getDateRange(date, period);
         return getMostProductiveSellers(dateRange.start(), dateRange.end(), active);
     }
 
+    @Override
+    public DateRange getDateRange(LocalDate date, String period) {
+        return getDateRangeForPeriod(date, TimePeriod.getTimePeriod(period));
+    }
+
     private DateRange getDateRangeForPeriod(LocalDate date, TimePeriod period) {
         return switch (period) {
             case DAY -> getDateRangeForDay(date);
@@ -90,48 +105,81 @@ public class MostProductiveSellerHandlerImpl implements MostProductiveSellerHand
             LocalDateTime start,
             LocalDateTime end,
             boolean active) {
-        List<Transaction> transactions = getValidatedTransactions(start, end, active);
-        Map<Seller, BigDecimal> sellerSums = compareSellersAndTransactions(transactions);
+        if (dailyStats) {
+            return getMostProductiveSellersFromDailyStats(start, end, active);
+        }
+        if (sqlAggregation) {
+            return getMostProductiveSellersFromDatabase(start, end, active);
+        }
+
+        List<SellerTransactionAmount> transactions = getValidatedTransactions(start, end, active);
+        Map<Long, SellerTransactionAmount> sellerSums = compareSellersAndTransactions(transactions);
 
         BigDecimal maxSum = sellerSums.values().stream()
+                .map(SellerTransactionAmount::amount)
                 .max(Comparator.naturalOrder())
                 .orElseThrow(() -> new SellerNotFoundException("Ни одного продавца не найдено"));
 
-        return sellerSums.entrySet().stream()
-                .filter(entry -> entry.getValue().compareTo(maxSum) == 0)
-                .map(entry -> SellerMapper.mapToMostProductiveSellerResponse(
-                        entry.getKey(), entry.getValue()))
+        return sellerSums.values().stream()
+                .filter(sellerSum -> sellerSum.amount().compareTo(maxSum) == 0)
+                .map(SellerMapper::mapToMostProductiveSellerResponse)
                 .collect(Collectors.toList());
     }
 
-    private List<Transaction> getValidatedTransactions(LocalDateTime start, LocalDateTime end, boolean active) {
-        List<Transaction> transactions = getTransactionsBetweenDates(start, end, active);
-        if (transactions.isEmpty()) {
+    private List<MostProductiveSellerResponse> getMostProductiveSellersFromDailyStats(
+            LocalDateTime start,
+            LocalDateTime end,
+            boolean active) {
+        List<SellerAmountProjection> topSellers = sellerDailyStatsRepository
+                .findTopSellersByAmountBetween(start.toLocalDate(), end.toLocalDate(), active);
+        if (topSellers.isEmpty()) {
             throw new SellerNotFoundException("Ни одного продавца не найдено");
         }
-        return transactions;
+
+        return topSellers.stream()
+                .map(SellerMapper::mapToMostProductiveSellerResponse)
+                .collect(Collectors.toList());
+    }
+
+    private List<MostProductiveSellerResponse> getMostProductiveSellersFromDatabase(
+            LocalDateTime start,
+            LocalDateTime end,
+            boolean active) {
+        List<SellerAmountProjection> topSellers = transactionRepository
+                .findTopSellersByAmountBetween(start, end, active);
+        if (topSellers.isEmpty()) {
+            throw new SellerNotFoundException("Ни одного продавца не найдено");
+        }
+
+        return topSellers.stream()
+                .map(SellerMapper::mapToMostProductiveSellerResponse)
+                .collect(Collectors.toList());
     }
 
-    private List<Transaction> getTransactionsBetweenDates(
+    private List<SellerTransactionAmount> getValidatedTransactions(
             LocalDateTime start,
             LocalDateTime end,
             boolean active) {
-        if (active) {
-            return transactionRepository
-                    .findAllByTransactionDateBetweenAndSellerIsActiveTrue(start, end);
-        } else {
-            return transactionRepository
-                    .findAllByTransactionDateBetweenAndSellerIsActiveFalse(start, end);
+        List<SellerTransactionAmount> transactions = transactionRepository
+                .findSellerTransactionAmountsBetween(start, end, active);
+        if (transactions.isEmpty()) {
+            throw new SellerNotFoundException("Ни одного продавца не найдено");
         }
+        return transactions;
     }
 
-    private Map<Seller, BigDecimal> compareSellersAndTransactions(List<Transaction> transactions) {
+    private Map<Long, SellerTransactionAmount> compareSellersAndTransactions(
+            List<SellerTransactionAmount> transactions) {
         return transactions.stream()
-                .collect(Collectors.groupingBy(
-                                Transaction::getSeller,
-                                Collectors.mapping(
-                                        Transaction::getAmount,
-                                        Collectors.reducing(BigDecimal.ZERO, BigDecimal::add)
+                .collect(Collectors.toMap(
+                                SellerTransactionAmount::sellerId,
+                                Function.identity(),
+                                (sum, transaction) -> new SellerTransactionAmount(
+                                        sum.sellerId(),
+                                        sum.sellerName(),
+                                        sum.contactInfo(),
+                                        sum.registrationDate(),
+                                        sum.amount().add(transaction.amount())
                                 )
                         )
                 );
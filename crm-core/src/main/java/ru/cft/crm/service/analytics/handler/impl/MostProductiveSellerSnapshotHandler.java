@@ -0,0 +1,86 @@
+package ru.cft.crm.service.analytics.handler.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.exception.SellerNotFoundException;
+import ru.cft.crm.mapper.SellerMapper;
+import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.service.analytics.handler.MostProductiveSellerHandler;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
+import ru.cft.crm.service.analytics.snapshot.SellerAmountIndex;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Primary
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analytics.snapshot.enabled", havingValue = "true")
+public class MostProductiveSellerSnapshotHandler implements MostProductiveSellerHandler {
+
+    private final MostProductiveSellerHandlerImpl databaseHandler;
+
+    private final AnalyticsSnapshot analyticsSnapshot;
+
+    @Override
+    public List<MostProductiveSellerResponse> getMostProductiveSellers(
+            LocalDate date,
+            String period,
+            boolean active) {
+        DateRange dateRange = getDateRange(date, period);
+        Optional<TransactionSnapshot> snapshot = analyticsSnapshot.current();
+        if (snapshot.isEmpty()) {
+            return databaseHandler.getMostProductiveSellers(date, period, active);
+        }
+
+        return getMostProductiveSellers(snapshot.get(), dateRange, active);
+    }
+
+    @Override
+    public DateRange getDateRange(LocalDate date, String period) {
+        return databaseHandler.getDateRange(date, period);
+    }
+
+    private List<MostProductiveSellerResponse> getMostProductiveSellers(
+            TransactionSnapshot snapshot,
+            DateRange dateRange,
+            boolean active) {
+        SellerAmountIndex amountIndex = analyticsSnapshot.amountIndex();
+        long start = dateRange.start().toEpochSecond(ZoneOffset.UTC);
+        long end = dateRange.end().toEpochSecond(ZoneOffset.UTC);
+
+        List<Integer> topSellers = new ArrayList<>();
+        long maxSum = Long.MIN_VALUE;
+        for (int seller = 0; seller < snapshot.sellersCount(); seller++) {
+            Long sellerId = snapshot.seller(seller).getId();
+            if (snapshot.seller(seller).getIsActive() != active || amountIndex.count(sellerId, start, end) == 0) {
+                continue;
+            }
+            long sum = amountIndex.sumAmountCents(sellerId, start, end);
+            if (sum > maxSum) {
+                maxSum = sum;
+                topSellers.clear();
+            }
+            if (sum == maxSum) {
+                topSellers.add(seller);
+            }
+        }
+
+        if (topSellers.isEmpty()) {
+            throw new SellerNotFoundException("Ни одного продавца не найдено");
+        }
+
+        BigDecimal amount = BigDecimal.valueOf(maxSum, 2);
+        return topSellers.stream()
+                .map(seller -> SellerMapper.mapToMostProductiveSellerResponse(snapshot.seller(seller), amount))
+                .toList();
+    }
+}
@@ -1,23 +1,21 @@
 package ru.cft.crm.service.analytics.handler.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
-import ru.cft.crm.entity.Seller;
-import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.InvalidStartDateException;
 import ru.cft.crm.exception.SellerNotFoundException;
 import ru.cft.crm.mapper.SellerMapper;
-import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
 import ru.cft.crm.service.analytics.handler.TransactionsLessThenHandler;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import static ru.cft.crm.model.utilis.Constants.ONE_DAY;
 
@@ -25,7 +23,12 @@ import static ru.cft.crm.model.utilis.Constants.ONE_DAY;
 @RequiredArgsConstructor
 public class TransactionsLessThenHandlerImpl implements TransactionsLessThenHandler {
 
-    private final TransactionRepository transactionRepository;
+    private final SellerRepository sellerRepository;
+
+    private final SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @Value("${analytics.daily-stats.enabled:true}")
+    private boolean dailyStats;
 
     @Override
     @Transactional(readOnly = true)
@@ -36,65 +39,20 @@ public class TransactionsLessThenHandlerImpl implements TransactionsLessThenHand
             boolean active) {
         validateDate(start, end);
 
-        LocalDateTime startTime = start.atStartOfDay();
-        LocalDateTime endTime = end.plusDays(ONE_DAY).atStartOfDay();
-
-        List<Transaction> transactions = getValidatedTransactions(startTime, endTime, active);
+        List<SellerAmountProjection> sellersSums = dailyStats
+                ? sellerDailyStatsRepository.findSellersWithAmountLessThan(
+                        maxAmount, start, end.plusDays(ONE_DAY), active)
+                : sellerRepository.findSellersWithTransactionsAmountLessThan(
+                        maxAmount, start.atStartOfDay(), end.plusDays(ONE_DAY).atStartOfDay(), active);
 
-        Map<Seller, BigDecimal> sellersSums = compareSellersAndTransactions(transactions);
-
-        List<SellerWithTransactionsResponse> response = sellersSums.entrySet().stream()
-                .filter(entry -> entry.getValue().compareTo(maxAmount) < 0)
-                .map(entry -> SellerMapper.mapSellerWithTransactions(
-                                entry.getKey(),
-                                entry.getValue()
-                        )
-                )
-                .toList();
-        if (response.isEmpty()) {
+        if (sellersSums.isEmpty()) {
             throw new SellerNotFoundException(
                     "По данным параметрам ни одного пользователя не найдено");
         }
 
-        return response;
-    }
-
-    private List<Transaction> getValidatedTransactions(
-            LocalDateTime start,
-            LocalDateTime end,
-            boolean active) {
-        List<Transaction> transactions = getTransactionsBetweenDates(start, end, active);
-
-        if (transactions.isEmpty()) {
-            throw new SellerNotFoundException("Ни одного продавца не найдено");
-        }
-        return transactions;
-    }
-
-    private List<Transaction> getTransactionsBetweenDates(
-            LocalDateTime start,
-            LocalDateTime end,
-            boolean active) {
-        if (active) {
-            return transactionRepository
-                    .findAllByTransactionDateBetweenAndSellerIsActiveTrue(start, end);
-        } else {
-            return transactionRepository
-                    .findAllByTransactionDateBetweenAndSellerIsActiveFalse(start, end);
-        }
-    }
-
-    private Map<Seller, BigDecimal> compareSellersAndTransactions(
-            List<Transaction> transactions) {
-        return transactions.stream()
-                .collect(Collectors.groupingBy(
-                                Transaction::getSeller,
-                                Collectors.mapping(
-                                        Transaction::getAmount,
-                                        Collectors.reducing(BigDecimal.ZERO, BigDecimal::add)
-                                )
-                        )
-                );
+        return sellersSums.stream()
+                .map(SellerMapper::mapSellerWithTransactions)
+                .toList();
     }
 
     private void validateDate(LocalDate start, LocalDate end) {
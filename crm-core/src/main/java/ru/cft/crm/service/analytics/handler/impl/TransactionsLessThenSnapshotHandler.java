@@ -0,0 +1,87 @@
+package ru.cft.crm.service.analytics.handler.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import ru.cft.crm.exception.InvalidStartDateException;
+import ru.cft.crm.exception.SellerNotFoundException;
+import ru.cft.crm.mapper.SellerMapper;
+import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
+import ru.cft.crm.service.analytics.handler.TransactionsLessThenHandler;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
+import ru.cft.crm.service.analytics.snapshot.SellerAmountIndex;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static ru.cft.crm.model.utilis.Constants.ONE_DAY;
+
+@Primary
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analytics.snapshot.enabled", havingValue = "true")
+public class TransactionsLessThenSnapshotHandler implements TransactionsLessThenHandler {
+
+    private final TransactionsLessThenHandlerImpl databaseHandler;
+
+    private final AnalyticsSnapshot analyticsSnapshot;
+
+    @Override
+    public List<SellerWithTransactionsResponse> getSellersWithTransactionsLessThan(
+            BigDecimal maxAmount,
+            LocalDate start,
+            LocalDate end,
+            boolean active) {
+        validateDate(start, end);
+        Optional<TransactionSnapshot> snapshot = analyticsSnapshot.current();
+        if (snapshot.isEmpty()) {
+            return databaseHandler.getSellersWithTransactionsLessThan(maxAmount, start, end, active);
+        }
+
+        List<SellerWithTransactionsResponse> sellers = getSellersWithTransactionsLessThan(
+                snapshot.get(), maxAmount, start, end, active);
+        if (sellers.isEmpty()) {
+            throw new SellerNotFoundException(
+                    "По данным параметрам ни одного пользователя не найдено");
+        }
+
+        return sellers;
+    }
+
+    private List<SellerWithTransactionsResponse> getSellersWithTransactionsLessThan(
+            TransactionSnapshot snapshot,
+            BigDecimal maxAmount,
+            LocalDate start,
+            LocalDate end,
+            boolean active) {
+        SellerAmountIndex amountIndex = analyticsSnapshot.amountIndex();
+        long startEpochSecond = start.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long endEpochSecond = end.plusDays(ONE_DAY).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+        List<SellerWithTransactionsResponse> sellers = new ArrayList<>();
+        for (int seller = 0; seller < snapshot.sellersCount(); seller++) {
+            if (snapshot.seller(seller).getIsActive() != active) {
+                continue;
+            }
+            BigDecimal amount = BigDecimal.valueOf(amountIndex.sumAmountCents(
+                    snapshot.seller(seller).getId(), startEpochSecond, endEpochSecond), 2);
+            if (amount.compareTo(maxAmount) < 0) {
+                sellers.add(SellerMapper.mapSellerWithTransactions(snapshot.seller(seller), amount));
+            }
+        }
+        return sellers;
+    }
+
+    private void validateDate(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new InvalidStartDateException(
+                    "Введенная начальная дата не должна быть позже конечной даты");
+        }
+    }
+}
@@ -2,21 +2,34 @@ package ru.cft.crm.service.analytics.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.cft.crm.cache.AnalyticsCache;
+import ru.cft.crm.cache.AnalyticsCacheKey;
 import ru.cft.crm.model.analitycs.BestPeriodsResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
 import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
 import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
+import ru.cft.crm.model.utilis.DateRange;
 import ru.cft.crm.service.analytics.AnalyticsService;
 import ru.cft.crm.service.analytics.handler.BestTransactionPeriodHandler;
+import ru.cft.crm.service.analytics.handler.LeaderboardHandler;
 import ru.cft.crm.service.analytics.handler.MostProductiveSellerHandler;
 import ru.cft.crm.service.analytics.handler.TransactionsLessThenHandler;
+import ru.cft.crm.service.analytics.leaderboard.LiveLeaderboard;
+import ru.cft.crm.type.LeaderboardMetric;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import static ru.cft.crm.model.utilis.Constants.ONE_DAY;
+
 @Service
 @RequiredArgsConstructor
 public class AnalyticsServiceImpl implements AnalyticsService {
+    private static final String BEST_PERIOD = "best-period";
+    private static final String MOST_PRODUCTIVE = "most-productive";
+    private static final String LESS_THAN = "less-than";
+    private static final String LEADERBOARD = "leaderboard";
 
     private final BestTransactionPeriodHandler bestTransactionPeriodHandler;
 
@@ -24,9 +37,17 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     private final TransactionsLessThenHandler transactionsLessThenHandler;
 
+    private final LeaderboardHandler leaderboardHandler;
+
+    private final LiveLeaderboard liveLeaderboard;
+
+    private final AnalyticsCache analyticsCache;
+
     @Override
     public BestPeriodsResponse getBestTransactionPeriod(Long sellerId) {
-        return bestTransactionPeriodHandler.getBestTransactionPeriod(sellerId);
+        return analyticsCache.get(
+                AnalyticsCacheKey.forSeller(BEST_PERIOD, sellerId),
+                () -> bestTransactionPeriodHandler.getBestTransactionPeriod(sellerId));
     }
 
     @Override
@@ -34,7 +55,10 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             LocalDate date,
             String period,
             boolean active) {
-        return mostProductiveSellerHandler.getMostProductiveSellers(date, period, active);
+        DateRange dateRange = mostProductiveSellerHandler.getDateRange(date, period);
+        return analyticsCache.get(
+                AnalyticsCacheKey.forPeriod(MOST_PRODUCTIVE, dateRange.start(), dateRange.end(), active),
+                () -> List.copyOf(mostProductiveSellerHandler.getMostProductiveSellers(date, period, active)));
     }
 
     @Override
@@ -43,10 +67,44 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             LocalDate start,
             LocalDate end,
             boolean active) {
-        return transactionsLessThenHandler.getSellersWithTransactionsLessThan(
-                maxAmount,
-                start,
-                end,
-                active);
+        return analyticsCache.get(
+                AnalyticsCacheKey.forPeriod(
+                        LESS_THAN,
+                        start.atStartOfDay(),
+                        end.plusDays(ONE_DAY).atStartOfDay(),
+                        maxAmount.stripTrailingZeros(),
+                        active),
+                () -> List.copyOf(transactionsLessThenHandler.getSellersWithTransactionsLessThan(
+                        maxAmount,
+                        start,
+                        end,
+                        active)));
+    }
+
+    @Override
+    public LeaderboardResponse getLeaderboard(
+            String metric,
+            String period,
+            LocalDate date,
+            LocalDate start,
+            LocalDate end,
+            int limit,
+            boolean active) {
+        LeaderboardMetric leaderboardMetric = LeaderboardMetric.getMetric(metric);
+        DateRange dateRange = leaderboardHandler.getDateRange(date, period, start, end);
+        return analyticsCache.get(
+                AnalyticsCacheKey.forPeriod(
+                        LEADERBOARD,
+                        dateRange.start(),
+                        dateRange.end(),
+                        leaderboardMetric,
+                        limit,
+                        active),
+                () -> leaderboardHandler.getLeaderboard(dateRange, leaderboardMetric, limit, active));
+    }
+
+    @Override
+    public LeaderboardResponse getLiveLeaderboard(String period, int limit) {
+        return liveLeaderboard.getLeaders(period, limit);
     }
 }
@@ -0,0 +1,19 @@
+package ru.cft.crm.service.analytics.leaderboard;
+
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface LiveLeaderboard {
+    void transactionsCreated(List<Transaction> transactions);
+
+    void transactionUpdated(Transaction transaction, BigDecimal previousAmount);
+
+    void sellerDeleted(Long sellerId);
+
+    LeaderboardResponse getLeaders(String period, int limit);
+
+    void rebuild();
+}
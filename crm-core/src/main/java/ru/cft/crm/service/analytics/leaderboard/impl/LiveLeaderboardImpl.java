@@ -0,0 +1,363 @@
+package ru.cft.crm.service.analytics.leaderboard.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.cft.crm.cache.SellerCache;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.exception.InvalidLeaderboardRequestException;
+import ru.cft.crm.exception.InvalidTimePeriodException;
+import ru.cft.crm.exception.SellerNotFoundException;
+import ru.cft.crm.mapper.LeaderboardMapper;
+import ru.cft.crm.model.analitycs.LeaderboardEntryResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.service.analytics.handler.LeaderboardHandler;
+import ru.cft.crm.service.analytics.leaderboard.LiveLeaderboard;
+import ru.cft.crm.type.LeaderboardMetric;
+import ru.cft.crm.type.TimePeriod;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static ru.cft.crm.model.utilis.Constants.MAX_LEADERBOARD_LIMIT;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveLeaderboardImpl implements LiveLeaderboard {
+    private static final String SELECT_SCORES = """
+            SELECT t.seller_id,
+                   COUNT(*) AS tx_count,
+                   SUM(t.amount) AS amount
+            FROM transactions t
+            JOIN sellers s ON s.id = t.seller_id
+            WHERE t.transaction_date >= ?
+              AND t.transaction_date < ?
+              AND s.is_active = true
+            GROUP BY t.seller_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LeaderboardHandler leaderboardHandler;
+
+    private final SellerCache sellerCache;
+
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.live-leaderboard.periods:DAY,MONTH}")
+    private Set<TimePeriod> periods;
+
+    private final Map<TimePeriod, Board> boards = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    private volatile Queue<Update> pending;
+
+    private TransactionTemplate snapshotTemplate;
+
+    @PostConstruct
+    void init() {
+        snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void transactionsCreated(List<Transaction> transactions) {
+        List<Update> changes = transactions.stream()
+                .map(transaction -> new Change(
+                        transaction.getSeller().getId(),
+                        transaction.getTransactionDate(),
+                        toCents(transaction.getAmount()),
+                        1))
+                .map(Update.class::cast)
+                .toList();
+        publish(changes);
+    }
+
+    @Override
+    public void transactionUpdated(Transaction transaction, BigDecimal previousAmount) {
+        Change change = new Change(
+                transaction.getSeller().getId(),
+                transaction.getTransactionDate(),
+                toCents(transaction.getAmount()) - toCents(previousAmount),
+                0);
+        publish(List.of(change));
+    }
+
+    @Override
+    public void sellerDeleted(Long sellerId) {
+        publish(List.of(new SellerRemoval(sellerId)));
+    }
+
+    @Override
+    public LeaderboardResponse getLeaders(String period, int limit) {
+        if (limit < 1 || limit > MAX_LEADERBOARD_LIMIT) {
+            throw new InvalidLeaderboardRequestException(
+                    "Размер рейтинга должен быть от 1 до " + MAX_LEADERBOARD_LIMIT);
+        }
+        TimePeriod timePeriod = TimePeriod.getTimePeriod(period);
+        if (!periods.contains(timePeriod)) {
+            throw new InvalidTimePeriodException("Рейтинг в реальном времени не ведется за период: "
+                    + period + ". Доступные временные периоды: " + periods);
+        }
+
+        return getLeaders(board(timePeriod, LocalDateTime.now()), limit);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${analytics.live-leaderboard.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<TimePeriod, Board> rebuilt = new EnumMap<>(TimePeriod.class);
+        try {
+            snapshotTemplate.executeWithoutResult(status -> {
+                startRecording();
+                for (TimePeriod period : periods) {
+                    DateRange range = leaderboardHandler.getDateRange(now.toLocalDate(), period.name(), null, null);
+                    rebuilt.put(period, scan(range));
+                }
+            });
+
+            commitLock.writeLock().lock();
+            try {
+                pending.forEach(update -> rebuilt.values().forEach(update::applyTo));
+                boards.putAll(rebuilt);
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+        } finally {
+            pending = null;
+        }
+        log.debug("Рейтинг в реальном времени пересчитан за периоды {}", periods);
+    }
+
+    private void startRecording() {
+        commitLock.writeLock().lock();
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            pending = new ConcurrentLinkedQueue<>();
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    private Board scan(DateRange range) {
+        Board board = new Board(range);
+        RowCallbackHandler handler = resultSet -> board.add(
+                resultSet.getLong("seller_id"),
+                toCents(resultSet.getBigDecimal("amount")),
+                resultSet.getLong("tx_count"));
+        jdbcTemplate.query(SELECT_SCORES, handler,
+                Timestamp.valueOf(range.start()), Timestamp.valueOf(range.end()));
+        return board;
+    }
+
+    private void apply(List<Update> updates) {
+        LocalDateTime now = LocalDateTime.now();
+        for (TimePeriod period : periods) {
+            Board board = board(period, now);
+            updates.forEach(update -> update.applyTo(board));
+        }
+        Queue<Update> recorded = pending;
+        if (recorded != null) {
+            recorded.addAll(updates);
+        }
+    }
+
+    private Board board(TimePeriod period, LocalDateTime now) {
+        Board board = boards.get(period);
+        if (board != null && board.contains(now)) {
+            return board;
+        }
+        return boards.compute(period, (key, current) -> current != null && current.contains(now)
+                ? current
+                : new Board(leaderboardHandler.getDateRange(now.toLocalDate(), key.name(), null, null)));
+    }
+
+    private LeaderboardResponse getLeaders(Board board, int limit) {
+        Map<Long, Score> leaders = new LinkedHashMap<>();
+        for (Score score : board.ranking.values()) {
+            if (leaders.size() == limit) {
+                break;
+            }
+            leaders.putIfAbsent(score.sellerId(), score);
+        }
+        Map<Long, Seller> sellers = sellerCache.findActiveSellers(leaders.keySet());
+        if (sellers.isEmpty()) {
+            throw new SellerNotFoundException("Ни одного продавца не найдено");
+        }
+
+        BigDecimal totalAmount = BigDecimal.valueOf(board.totalAmountCents.sum(), 2);
+        long totalTransactionCount = board.totalCount.sum();
+        List<LeaderboardEntryResponse> entries = new ArrayList<>(leaders.size());
+        long rank = 0;
+        long previousAmountCents = 0;
+        for (Score score : leaders.values()) {
+            Seller seller = sellers.get(score.sellerId());
+            if (seller == null) {
+                continue;
+            }
+            if (rank == 0 || score.amountCents() != previousAmountCents) {
+                rank++;
+                previousAmountCents = score.amountCents();
+            }
+            BigDecimal amount = BigDecimal.valueOf(score.amountCents(), 2);
+            entries.add(LeaderboardMapper.mapToLeaderboardEntry(rank, seller, amount, score.count(),
+                    LeaderboardMapper.share(LeaderboardMetric.AMOUNT, amount, score.count(),
+                            totalAmount, totalTransactionCount)));
+        }
+        return new LeaderboardResponse(LeaderboardMetric.AMOUNT, board.range.start(), board.range.end(),
+                totalAmount, totalTransactionCount, List.copyOf(entries));
+    }
+
+    private void publish(List<Update> updates) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitLock.readLock().lock();
+            try {
+                apply(updates);
+            } finally {
+                commitLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(updates);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    locked = false;
+                    commitLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private interface Update {
+        void applyTo(Board board);
+    }
+
+    private record Change(Long sellerId, LocalDateTime transactionDate, long amountCents, long count)
+            implements Update {
+        @Override
+        public void applyTo(Board board) {
+            if (board.contains(transactionDate)) {
+                board.add(sellerId, amountCents, count);
+            }
+        }
+    }
+
+    private record SellerRemoval(Long sellerId) implements Update {
+        @Override
+        public void applyTo(Board board) {
+            board.remove(sellerId);
+        }
+    }
+
+    private static final class Board {
+        private final DateRange range;
+
+        private final Map<Long, Score> scores = new ConcurrentHashMap<>();
+
+        private final ConcurrentSkipListMap<RankKey, Score> ranking = new ConcurrentSkipListMap<>();
+
+        private final LongAdder totalAmountCents = new LongAdder();
+
+        private final LongAdder totalCount = new LongAdder();
+
+        private Board(DateRange range) {
+            this.range = range;
+        }
+
+        private boolean contains(LocalDateTime dateTime) {
+            return !dateTime.isBefore(range.start()) && dateTime.isBefore(range.end());
+        }
+
+        private void add(long sellerId, long amountCents, long count) {
+            scores.compute(sellerId, (id, previous) -> {
+                Score next = previous == null
+                        ? new Score(id, amountCents, count)
+                        : new Score(id, previous.amountCents() + amountCents, previous.count() + count);
+                if (next.count() <= 0) {
+                    if (previous != null) {
+                        ranking.remove(previous.rankKey());
+                    }
+                    return null;
+                }
+                ranking.put(next.rankKey(), next);
+                if (previous != null && !previous.rankKey().equals(next.rankKey())) {
+                    ranking.remove(previous.rankKey());
+                }
+                return next;
+            });
+            totalAmountCents.add(amountCents);
+            totalCount.add(count);
+        }
+
+        private void remove(Long sellerId) {
+            Score previous = scores.remove(sellerId);
+            if (previous != null) {
+                ranking.remove(previous.rankKey());
+                totalAmountCents.add(-previous.amountCents());
+                totalCount.add(-previous.count());
+            }
+        }
+    }
+
+    private record Score(long sellerId, long amountCents, long count) {
+        private RankKey rankKey() {
+            return new RankKey(amountCents, sellerId);
+        }
+    }
+
+    private record RankKey(long amountCents, long sellerId) implements Comparable<RankKey> {
+        @Override
+        public int compareTo(RankKey other) {
+            int result = Long.compare(other.amountCents, amountCents);
+            return result != 0 ? result : Long.compare(sellerId, other.sellerId);
+        }
+    }
+}
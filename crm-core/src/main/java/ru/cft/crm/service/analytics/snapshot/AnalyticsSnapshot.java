@@ -0,0 +1,18 @@
+package ru.cft.crm.service.analytics.snapshot;
+
+import ru.cft.crm.entity.Transaction;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AnalyticsSnapshot {
+    Optional<TransactionSnapshot> current();
+
+    SellerAmountIndex amountIndex();
+
+    void transactionsChanged(List<Transaction> transactions);
+
+    void refresh();
+
+    void rebuild();
+}
@@ -0,0 +1,273 @@
+package ru.cft.crm.service.analytics.snapshot;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+public final class SellerAmountIndex {
+    public static final int BYTES_PER_TRANSACTION = 4 * Long.BYTES;
+
+    private final Map<Long, Series> series = new ConcurrentHashMap<>();
+
+    public long sumAmountCents(Long sellerId, long fromEpochSecond, long toEpochSecond) {
+        Series sellerSeries = series.get(sellerId);
+        return sellerSeries == null ? 0 : sellerSeries.sum(fromEpochSecond, toEpochSecond);
+    }
+
+    public int count(Long sellerId, long fromEpochSecond, long toEpochSecond) {
+        Series sellerSeries = series.get(sellerId);
+        return sellerSeries == null ? 0 : sellerSeries.count(fromEpochSecond, toEpochSecond);
+    }
+
+    public long[] epochSeconds(Long sellerId) {
+        Series sellerSeries = series.get(sellerId);
+        return sellerSeries == null ? new long[0] : sellerSeries.epochSeconds();
+    }
+
+    public void apply(TransactionSnapshot.Changes changes) {
+        Map<Long, Rows> rowsBySeller = new LinkedHashMap<>();
+        for (int i = 0; i < changes.size(); i++) {
+            rowsBySeller.computeIfAbsent(changes.sellerId(i), sellerId -> new Rows()).add(i);
+        }
+
+        rowsBySeller.forEach((sellerId, rows) -> {
+            Series sellerSeries = series.computeIfAbsent(sellerId, id -> new Series());
+            synchronized (sellerSeries) {
+                sellerSeries.putAll(changes, rows);
+            }
+        });
+    }
+
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Series sellerSeries : series.values()) {
+            bytes += sellerSeries.memoryBytes();
+        }
+        return bytes;
+    }
+
+    private static final class Rows {
+        private int[] rows = new int[8];
+
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+
+    private static final class Series {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final StampedLock lock = new StampedLock();
+
+        private long[] epochSeconds = new long[0];
+
+        private long[] ids = new long[0];
+
+        private long[] amountCents = new long[0];
+
+        private long[] tree = new long[1];
+
+        private int size;
+
+        long sum(long fromEpochSecond, long toEpochSecond) {
+            return read((epochSecondsView, treeView, sizeView) ->
+                    prefix(treeView, lowerBound(epochSecondsView, sizeView, toEpochSecond))
+                            - prefix(treeView, lowerBound(epochSecondsView, sizeView, fromEpochSecond)));
+        }
+
+        int count(long fromEpochSecond, long toEpochSecond) {
+            return (int) read((epochSecondsView, treeView, sizeView) ->
+                    lowerBound(epochSecondsView, sizeView, toEpochSecond)
+                            - lowerBound(epochSecondsView, sizeView, fromEpochSecond));
+        }
+
+        long[] epochSeconds() {
+            long stamp = lock.tryOptimisticRead();
+            long[] epochSecondsView = epochSeconds;
+            int sizeView = size;
+            long[] result = Arrays.copyOf(epochSecondsView, sizeView);
+            if (lock.validate(stamp)) {
+                return result;
+            }
+
+            stamp = lock.readLock();
+            try {
+                return Arrays.copyOf(epochSeconds, size);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        long memoryBytes() {
+            return (long) ids.length * BYTES_PER_TRANSACTION;
+        }
+
+        void putAll(TransactionSnapshot.Changes changes, Rows rows) {
+            Rows lateRows = new Rows();
+            for (int i = 0; i < rows.size; i++) {
+                int row = rows.rows[i];
+                if (!put(changes.id(row), changes.epochSecond(row), changes.amountCents(row))) {
+                    lateRows.add(row);
+                }
+            }
+            if (lateRows.size > 0) {
+                insertAll(changes, lateRows);
+            }
+        }
+
+        private long read(Query query) {
+            long stamp = lock.tryOptimisticRead();
+            long[] epochSecondsView = epochSeconds;
+            long[] treeView = tree;
+            int sizeView = size;
+            if (lock.validate(stamp)) {
+                long result = query.apply(epochSecondsView, treeView, sizeView);
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            }
+
+            stamp = lock.readLock();
+            try {
+                return query.apply(epochSeconds, tree, size);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private boolean put(long id, long epochSecond, long amount) {
+            int first = lowerBound(epochSeconds, size, epochSecond);
+            for (int i = first; i < size && epochSeconds[i] == epochSecond; i++) {
+                if (ids[i] == id) {
+                    if (amountCents[i] != amount) {
+                        long stamp = lock.writeLock();
+                        try {
+                            add(i + 1, amount - amountCents[i]);
+                            amountCents[i] = amount;
+                        } finally {
+                            lock.unlockWrite(stamp);
+                        }
+                    }
+                    return true;
+                }
+            }
+            if (size > 0 && compare(epochSecond, id, epochSeconds[size - 1], ids[size - 1]) < 0) {
+                return false;
+            }
+
+            long stamp = lock.writeLock();
+            try {
+                ensureCapacity(size + 1);
+                epochSeconds[size] = epochSecond;
+                ids[size] = id;
+                amountCents[size] = amount;
+                int node = size + 1;
+                tree[node] = amount + prefix(tree, node - 1) - prefix(tree, node - Integer.lowestOneBit(node));
+                size++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            return true;
+        }
+
+        private void insertAll(TransactionSnapshot.Changes changes, Rows rows) {
+            int nextSize = size + rows.size;
+            int capacity = Math.max(nextSize, ids.length);
+            long[] nextEpochSeconds = new long[capacity];
+            long[] nextIds = new long[capacity];
+            long[] nextAmountCents = new long[capacity];
+            int existing = 0;
+            int inserted = 0;
+            for (int position = 0; position < nextSize; position++) {
+                int row = inserted < rows.size ? rows.rows[inserted] : -1;
+                if (row < 0 || existing < size && compare(
+                        epochSeconds[existing], ids[existing], changes.epochSecond(row), changes.id(row)) < 0) {
+                    nextEpochSeconds[position] = epochSeconds[existing];
+                    nextIds[position] = ids[existing];
+                    nextAmountCents[position] = amountCents[existing];
+                    existing++;
+                } else {
+                    nextEpochSeconds[position] = changes.epochSecond(row);
+                    nextIds[position] = changes.id(row);
+                    nextAmountCents[position] = changes.amountCents(row);
+                    inserted++;
+                }
+            }
+
+            long[] nextTree = new long[capacity + 1];
+            for (int node = 1; node <= nextSize; node++) {
+                nextTree[node] += nextAmountCents[node - 1];
+                int parent = node + Integer.lowestOneBit(node);
+                if (parent <= nextSize) {
+                    nextTree[parent] += nextTree[node];
+                }
+            }
+
+            long stamp = lock.writeLock();
+            try {
+                epochSeconds = nextEpochSeconds;
+                ids = nextIds;
+                amountCents = nextAmountCents;
+                tree = nextTree;
+                size = nextSize;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void add(int node, long delta) {
+            for (; node <= size; node += Integer.lowestOneBit(node)) {
+                tree[node] += delta;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= ids.length) {
+                return;
+            }
+            int nextCapacity = Math.max(capacity, Math.max(INITIAL_CAPACITY, ids.length + (ids.length >> 1)));
+            epochSeconds = Arrays.copyOf(epochSeconds, nextCapacity);
+            ids = Arrays.copyOf(ids, nextCapacity);
+            amountCents = Arrays.copyOf(amountCents, nextCapacity);
+            tree = Arrays.copyOf(tree, nextCapacity + 1);
+        }
+
+        private static int lowerBound(long[] epochSeconds, int size, long epochSecond) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (epochSeconds[middle] < epochSecond) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static long prefix(long[] tree, int count) {
+            long sum = 0;
+            for (int node = count; node > 0; node -= Integer.lowestOneBit(node)) {
+                sum += tree[node];
+            }
+            return sum;
+        }
+
+        private static int compare(long epochSecond, long id, long otherEpochSecond, long otherId) {
+            int result = Long.compare(epochSecond, otherEpochSecond);
+            return result != 0 ? result : Long.compare(id, otherId);
+        }
+    }
+
+    private interface Query {
+        long apply(long[] epochSeconds, long[] tree, int size);
+    }
+}
@@ -0,0 +1,293 @@
+package ru.cft.crm.service.analytics.snapshot;
+
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.type.PaymentType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class TransactionSnapshot {
+    public static final int BYTES_PER_TRANSACTION = 3 * Long.BYTES + Integer.BYTES + Byte.BYTES;
+
+    private static final TransactionSnapshot EMPTY = new TransactionSnapshot(
+            new long[0], new long[0], new long[0], new int[0], new byte[0], 0, List.of(), Map.of());
+
+    private final long[] ids;
+
+    private final long[] epochSeconds;
+
+    private final long[] amountCents;
+
+    private final int[] sellerIdx;
+
+    private final byte[] paymentType;
+
+    private final int size;
+
+    private final List<Seller> sellers;
+
+    private final Map<Long, Integer> sellerIndexes;
+
+    private TransactionSnapshot(
+            long[] ids,
+            long[] epochSeconds,
+            long[] amountCents,
+            int[] sellerIdx,
+            byte[] paymentType,
+            int size,
+            List<Seller> sellers,
+            Map<Long, Integer> sellerIndexes) {
+        this.ids = ids;
+        this.epochSeconds = epochSeconds;
+        this.amountCents = amountCents;
+        this.sellerIdx = sellerIdx;
+        this.paymentType = paymentType;
+        this.size = size;
+        this.sellers = sellers;
+        this.sellerIndexes = sellerIndexes;
+    }
+
+    public static TransactionSnapshot empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long memoryBytes() {
+        return (long) ids.length * BYTES_PER_TRANSACTION;
+    }
+
+    public int sellersCount() {
+        return sellers.size();
+    }
+
+    public Seller seller(int index) {
+        return sellers.get(index);
+    }
+
+    public int lowerBound(long epochSecond) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (epochSeconds[middle] < epochSecond) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public void sumBySeller(long fromEpochSecond, long toEpochSecond, long[] sums, int[] counts) {
+        int end = lowerBound(toEpochSecond);
+        for (int i = lowerBound(fromEpochSecond); i < end; i++) {
+            int seller = sellerIdx[i];
+            sums[seller] += amountCents[i];
+            counts[seller]++;
+        }
+    }
+
+    public boolean containsSeller(Long sellerId) {
+        return sellerIndexes.containsKey(sellerId);
+    }
+
+    public TransactionSnapshot withChanges(List<Seller> changedSellers, Changes changes) {
+        List<Seller> nextSellers = sellers;
+        Map<Long, Integer> nextSellerIndexes = sellerIndexes;
+        if (!changedSellers.isEmpty()) {
+            List<Seller> mergedSellers = new ArrayList<>(sellers);
+            nextSellerIndexes = new HashMap<>(sellerIndexes);
+            for (Seller seller : changedSellers) {
+                Integer index = nextSellerIndexes.putIfAbsent(seller.getId(), mergedSellers.size());
+                if (index == null) {
+                    mergedSellers.add(seller);
+                } else {
+                    mergedSellers.set(index, seller);
+                }
+            }
+            nextSellers = Collections.unmodifiableList(mergedSellers);
+            nextSellerIndexes = Collections.unmodifiableMap(nextSellerIndexes);
+        }
+
+        long[] nextAmountCents = amountCents;
+        byte[] nextPaymentType = paymentType;
+        int[] inserts = new int[changes.size];
+        int insertsCount = 0;
+        for (int i = 0; i < changes.size; i++) {
+            int position = indexOf(changes.ids[i], changes.epochSeconds[i]);
+            if (position < 0) {
+                inserts[insertsCount++] = i;
+            } else if (amountCents[position] != changes.amountCents[i]
+                    || paymentType[position] != changes.paymentType[i]) {
+                if (nextAmountCents == amountCents) {
+                    nextAmountCents = amountCents.clone();
+                    nextPaymentType = paymentType.clone();
+                }
+                nextAmountCents[position] = changes.amountCents[i];
+                nextPaymentType[position] = changes.paymentType[i];
+            }
+        }
+
+        if (insertsCount == 0) {
+            return new TransactionSnapshot(ids, epochSeconds, nextAmountCents, sellerIdx, nextPaymentType,
+                    size, nextSellers, nextSellerIndexes);
+        }
+
+        int nextSize = size + insertsCount;
+        int first = inserts[0];
+        boolean append = size == 0
+                || compare(changes.epochSeconds[first], changes.ids[first], epochSeconds[size - 1], ids[size - 1]) > 0;
+        if (append) {
+            long[] nextIds = ids;
+            long[] nextEpochSeconds = epochSeconds;
+            int[] nextSellerIdx = sellerIdx;
+            if (nextSize > ids.length) {
+                int capacity = Math.max(nextSize, ids.length + (ids.length >> 1));
+                nextIds = Arrays.copyOf(ids, capacity);
+                nextEpochSeconds = Arrays.copyOf(epochSeconds, capacity);
+                nextSellerIdx = Arrays.copyOf(sellerIdx, capacity);
+                nextAmountCents = Arrays.copyOf(nextAmountCents, capacity);
+                nextPaymentType = Arrays.copyOf(nextPaymentType, capacity);
+            }
+            for (int i = 0; i < insertsCount; i++) {
+                int change = inserts[i];
+                int position = size + i;
+                nextIds[position] = changes.ids[change];
+                nextEpochSeconds[position] = changes.epochSeconds[change];
+                nextAmountCents[position] = changes.amountCents[change];
+                nextSellerIdx[position] = sellerIndex(nextSellerIndexes, changes.sellerIds[change]);
+                nextPaymentType[position] = changes.paymentType[change];
+            }
+            return new TransactionSnapshot(nextIds, nextEpochSeconds, nextAmountCents, nextSellerIdx,
+                    nextPaymentType, nextSize, nextSellers, nextSellerIndexes);
+        }
+
+        int capacity = Math.max(nextSize, ids.length);
+        long[] nextIds = new long[capacity];
+        long[] nextEpochSeconds = new long[capacity];
+        long[] mergedAmountCents = new long[capacity];
+        int[] nextSellerIdx = new int[capacity];
+        byte[] mergedPaymentType = new byte[capacity];
+        int existing = 0;
+        int inserted = 0;
+        for (int position = 0; position < nextSize; position++) {
+            int change = inserted < insertsCount ? inserts[inserted] : -1;
+            if (change < 0 || existing < size && compare(
+                    epochSeconds[existing], ids[existing], changes.epochSeconds[change], changes.ids[change]) < 0) {
+                nextIds[position] = ids[existing];
+                nextEpochSeconds[position] = epochSeconds[existing];
+                mergedAmountCents[position] = nextAmountCents[existing];
+                nextSellerIdx[position] = sellerIdx[existing];
+                mergedPaymentType[position] = nextPaymentType[existing];
+                existing++;
+            } else {
+                nextIds[position] = changes.ids[change];
+                nextEpochSeconds[position] = changes.epochSeconds[change];
+                mergedAmountCents[position] = changes.amountCents[change];
+                nextSellerIdx[position] = sellerIndex(nextSellerIndexes, changes.sellerIds[change]);
+                mergedPaymentType[position] = changes.paymentType[change];
+                inserted++;
+            }
+        }
+        return new TransactionSnapshot(nextIds, nextEpochSeconds, mergedAmountCents, nextSellerIdx,
+                mergedPaymentType, nextSize, nextSellers, nextSellerIndexes);
+    }
+
+    private int indexOf(long id, long epochSecond) {
+        for (int i = lowerBound(epochSecond); i < size && epochSeconds[i] == epochSecond; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int sellerIndex(Map<Long, Integer> sellerIndexes, long sellerId) {
+        Integer index = sellerIndexes.get(sellerId);
+        if (index == null) {
+            throw new IllegalArgumentException("Продавец " + sellerId + " отсутствует в снимке");
+        }
+        return index;
+    }
+
+    private static int compare(long epochSecond, long id, long otherEpochSecond, long otherId) {
+        int result = Long.compare(epochSecond, otherEpochSecond);
+        return result != 0 ? result : Long.compare(id, otherId);
+    }
+
+    public static final class Changes {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] ids;
+
+        private long[] epochSeconds;
+
+        private long[] amountCents;
+
+        private long[] sellerIds;
+
+        private byte[] paymentType;
+
+        private int size;
+
+        public Changes() {
+            this(INITIAL_CAPACITY);
+        }
+
+        public Changes(int capacity) {
+            int initialCapacity = Math.max(capacity, 1);
+            ids = new long[initialCapacity];
+            epochSeconds = new long[initialCapacity];
+            amountCents = new long[initialCapacity];
+            sellerIds = new long[initialCapacity];
+            paymentType = new byte[initialCapacity];
+        }
+
+        public void add(long id, long sellerId, long epochSecond, long amountCents, PaymentType paymentType) {
+            if (size > 0 && compare(epochSecond, id, epochSeconds[size - 1], ids[size - 1]) <= 0) {
+                throw new IllegalArgumentException("Изменения должны быть упорядочены по времени и id");
+            }
+            if (size == ids.length) {
+                int capacity = size + Math.max(size >> 1, 1);
+                ids = Arrays.copyOf(ids, capacity);
+                epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+                this.amountCents = Arrays.copyOf(this.amountCents, capacity);
+                sellerIds = Arrays.copyOf(sellerIds, capacity);
+                this.paymentType = Arrays.copyOf(this.paymentType, capacity);
+            }
+            ids[size] = id;
+            epochSeconds[size] = epochSecond;
+            this.amountCents[size] = amountCents;
+            sellerIds[size] = sellerId;
+            this.paymentType[size] = (byte) paymentType.ordinal();
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long id(int index) {
+            return ids[index];
+        }
+
+        public long sellerId(int index) {
+            return sellerIds[index];
+        }
+
+        public long epochSecond(int index) {
+            return epochSeconds[index];
+        }
+
+        public long amountCents(int index) {
+            return amountCents[index];
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package ru.cft.crm.service.analytics.snapshot.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+import ru.cft.crm.cache.InvalidatableCache;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
+import ru.cft.crm.service.analytics.snapshot.SellerAmountIndex;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+import ru.cft.crm.type.PaymentType;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analytics.snapshot.enabled", havingValue = "true")
+public class AnalyticsSnapshotImpl implements AnalyticsSnapshot, InvalidatableCache {
+    private static final String SELECT_TRANSACTIONS = """
+            SELECT id,
+                   seller_id,
+                   FLOOR(EXTRACT(EPOCH FROM transaction_date))::BIGINT AS epoch_second,
+                   (amount * 100)::BIGINT AS amount_cents,
+                   payment_type
+            FROM transactions
+            """;
+
+    private static final String ORDER_BY_TIME = """
+            ORDER BY epoch_second, id
+            """;
+
+    private static final String CHANGED_SINCE = """
+            WHERE updated_at >= ?
+            """;
+
+    private static final String SELECT_OLDEST_WRITE_START = """
+            SELECT CAST(LEAST(statement_timestamp(), MIN(xact_start)) AS TIMESTAMP)
+            FROM pg_stat_activity
+            WHERE backend_xid IS NOT NULL
+              AND datname = current_database()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SellerRepository sellerRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${analytics.snapshot.refresh-overlap-seconds:60}")
+    private long refreshOverlapSeconds;
+
+    @Value("${analytics.snapshot.fetch-size:10000}")
+    private int fetchSize;
+
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    private volatile TransactionSnapshot snapshot;
+
+    private volatile SellerAmountIndex amountIndex = new SellerAmountIndex();
+
+    private LocalDateTime refreshedAt;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Timer refreshTimer;
+
+    private ExecutorService refresher;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        refreshTimer = meterRegistry.timer("analytics.snapshot.refresh");
+        meterRegistry.gauge("analytics.snapshot.transactions", this, AnalyticsSnapshotImpl::size);
+        meterRegistry.gauge("analytics.snapshot.memory.bytes", this, AnalyticsSnapshotImpl::memoryBytes);
+        meterRegistry.gauge("analytics.snapshot.bytes.per.transaction", this,
+                AnalyticsSnapshotImpl::bytesPerTransaction);
+        refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analytics-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public Optional<TransactionSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @Override
+    public SellerAmountIndex amountIndex() {
+        return amountIndex;
+    }
+
+    @Override
+    public void transactionsChanged(List<Transaction> transactions) {
+        if (snapshot == null || transactions.isEmpty()) {
+            return;
+        }
+
+        TransactionSnapshot.Changes changes = toChanges(transactions);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            amountIndex.apply(changes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                amountIndex.apply(changes);
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${analytics.snapshot.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        refreshTimer.record(() -> load(false));
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${analytics.snapshot.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${analytics.snapshot.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        refreshTimer.record(() -> load(true));
+    }
+
+    @Override
+    public void invalidate(CacheInvalidationEvent event) {
+        requestRefresh();
+    }
+
+    @Override
+    public void invalidateAll() {
+        requestRefresh();
+    }
+
+    private void requestRefresh() {
+        if (snapshot != null && refreshQueued.compareAndSet(false, true)) {
+            refresher.execute(this::refreshInBackground);
+        }
+    }
+
+    private void refreshInBackground() {
+        refreshQueued.set(false);
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Не удалось обновить снимок аналитики после инвалидации", e);
+        }
+    }
+
+    private void load(boolean full) {
+        LocalDateTime startedAt = jdbcTemplate.queryForObject(SELECT_OLDEST_WRITE_START, LocalDateTime.class);
+        LocalDateTime since = full || refreshedAt == null ? null : refreshedAt.minusSeconds(refreshOverlapSeconds);
+        TransactionSnapshot current = since == null || snapshot == null ? TransactionSnapshot.empty() : snapshot;
+
+        List<Seller> changedSellers = new ArrayList<>(since == null
+                ? sellerRepository.findAll()
+                : sellerRepository.findAllByUpdatedAtGreaterThanEqual(since));
+        TransactionSnapshot.Changes changes = transactionTemplate.execute(status -> loadTransactions(since));
+        changedSellers.addAll(findUnknownSellers(current, changedSellers, changes));
+
+        SellerAmountIndex nextAmountIndex = since == null ? new SellerAmountIndex() : amountIndex;
+        nextAmountIndex.apply(changes);
+        amountIndex = nextAmountIndex;
+        snapshot = current.withChanges(changedSellers, changes);
+        refreshedAt = startedAt;
+
+        if (since == null) {
+            log.info("Снимок аналитики загружен: {} транзакций, {} байт на транзакцию",
+                    snapshot.size(), Math.round(bytesPerTransaction()));
+        }
+    }
+
+    private TransactionSnapshot.Changes loadTransactions(LocalDateTime since) {
+        TransactionSnapshot.Changes changes = new TransactionSnapshot.Changes();
+        RowCallbackHandler handler = resultSet -> changes.add(
+                resultSet.getLong("id"),
+                resultSet.getLong("seller_id"),
+                resultSet.getLong("epoch_second"),
+                resultSet.getLong("amount_cents"),
+                PaymentType.valueOf(resultSet.getString("payment_type")));
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(since == null
+                    ? SELECT_TRANSACTIONS + ORDER_BY_TIME
+                    : SELECT_TRANSACTIONS + CHANGED_SINCE + ORDER_BY_TIME);
+            statement.setFetchSize(fetchSize);
+            if (since != null) {
+                statement.setTimestamp(1, Timestamp.valueOf(since));
+            }
+            return statement;
+        }, handler);
+        return changes;
+    }
+
+    private TransactionSnapshot.Changes toChanges(List<Transaction> transactions) {
+        TransactionSnapshot.Changes changes = new TransactionSnapshot.Changes(transactions.size());
+        transactions.stream()
+                .sorted(Comparator.comparing(Transaction::getTransactionDate).thenComparing(Transaction::getId))
+                .forEach(transaction -> changes.add(
+                        transaction.getId(),
+                        transaction.getSeller().getId(),
+                        transaction.getTransactionDate().toEpochSecond(ZoneOffset.UTC),
+                        transaction.getAmount().movePointRight(2).longValueExact(),
+                        transaction.getPaymentType()));
+        return changes;
+    }
+
+    private List<Seller> findUnknownSellers(
+            TransactionSnapshot current,
+            List<Seller> changedSellers,
+            TransactionSnapshot.Changes changes) {
+        Set<Long> unknownSellerIds = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            unknownSellerIds.add(changes.sellerId(i));
+        }
+        unknownSellerIds.removeIf(current::containsSeller);
+        changedSellers.forEach(seller -> unknownSellerIds.remove(seller.getId()));
+
+        return unknownSellerIds.isEmpty() ? List.of() : sellerRepository.findAllById(unknownSellerIds);
+    }
+
+    private double size() {
+        TransactionSnapshot current = snapshot;
+        return current == null ? 0 : current.size();
+    }
+
+    private double memoryBytes() {
+        TransactionSnapshot current = snapshot;
+        return current == null ? 0 : current.memoryBytes() + amountIndex.memoryBytes();
+    }
+
+    private double bytesPerTransaction() {
+        TransactionSnapshot current = snapshot;
+        return current == null || current.size() == 0 ? 0 : memoryBytes() / current.size();
+    }
+}
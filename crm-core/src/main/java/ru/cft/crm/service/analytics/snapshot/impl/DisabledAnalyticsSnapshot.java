@@ -0,0 +1,39 @@
+package ru.cft.crm.service.analytics.snapshot.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
+import ru.cft.crm.service.analytics.snapshot.SellerAmountIndex;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "analytics.snapshot.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledAnalyticsSnapshot implements AnalyticsSnapshot {
+    private final SellerAmountIndex amountIndex = new SellerAmountIndex();
+
+    @Override
+    public Optional<TransactionSnapshot> current() {
+        return Optional.empty();
+    }
+
+    @Override
+    public SellerAmountIndex amountIndex() {
+        return amountIndex;
+    }
+
+    @Override
+    public void transactionsChanged(List<Transaction> transactions) {
+    }
+
+    @Override
+    public void refresh() {
+    }
+
+    @Override
+    public void rebuild() {
+    }
+}
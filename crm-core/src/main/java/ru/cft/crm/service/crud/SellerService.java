@@ -1,5 +1,6 @@
 package ru.cft.crm.service.crud;
 
+import ru.cft.crm.model.page.CursorPageResponse;
 import ru.cft.crm.model.seller.SellerCreateRequest;
 import ru.cft.crm.model.seller.SellerResponse;
 import ru.cft.crm.model.seller.SellerUpdateRequest;
@@ -15,6 +16,8 @@ public interface SellerService {
 
     List<SellerResponse> getAllSellers();
 
+    CursorPageResponse<SellerResponse> getSellersPage(String after, int limit, boolean activeOnly);
+
     SellerResponse updateSeller(Long sellerId, SellerUpdateRequest body);
 
     void deleteSeller(Long sellerId);
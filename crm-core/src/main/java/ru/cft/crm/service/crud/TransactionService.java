@@ -1,5 +1,7 @@
 package ru.cft.crm.service.crud;
 
+import ru.cft.crm.model.page.CursorPageResponse;
+import ru.cft.crm.model.transaction.TransactionBatchResponse;
 import ru.cft.crm.model.transaction.TransactionCreateRequest;
 import ru.cft.crm.model.transaction.TransactionResponse;
 import ru.cft.crm.model.transaction.TransactionUpdateRequest;
@@ -9,6 +11,8 @@ import java.util.List;
 public interface TransactionService {
     TransactionResponse createTransaction(TransactionCreateRequest body);
 
+    TransactionBatchResponse createTransactions(List<TransactionCreateRequest> body);
+
     TransactionResponse getTransaction(Long transactionId);
 
     List<TransactionResponse> getAllSellersTransactions(Long sellerId);
@@ -17,6 +21,10 @@ public interface TransactionService {
 
     List<TransactionResponse> getAllTransactions();
 
+    CursorPageResponse<TransactionResponse> getSellersTransactionsPage(Long sellerId, String after, int limit);
+
+    CursorPageResponse<TransactionResponse> getTransactionsPage(String after, int limit, boolean activeOnly);
+
     void deleteTransaction(Long transactionId);
 
     TransactionResponse updateTransaction(Long transactionId, TransactionUpdateRequest body);
@@ -1,21 +1,30 @@
 package ru.cft.crm.service.crud.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.cft.crm.cache.CacheInvalidationBus;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+import ru.cft.crm.cache.SellerCache;
+import ru.cft.crm.model.page.CursorPageResponse;
 import ru.cft.crm.model.seller.SellerCreateRequest;
 import ru.cft.crm.model.seller.SellerResponse;
 import ru.cft.crm.model.seller.SellerUpdateRequest;
+import ru.cft.crm.model.transaction.TransactionResponse;
 import ru.cft.crm.entity.Seller;
-import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.EntityUpdateException;
 import ru.cft.crm.exception.SellerAlreadyExistsException;
 import ru.cft.crm.exception.SellerNotFoundException;
 import ru.cft.crm.history.HistorySaver;
+import ru.cft.crm.mapper.CursorPageMapper;
 import ru.cft.crm.mapper.SellerMapper;
+import ru.cft.crm.mapper.TransactionMapper;
 import ru.cft.crm.repository.SellerRepository;
 import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.analytics.leaderboard.LiveLeaderboard;
 import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.service.events.ChangeEventStream;
 import ru.cft.crm.type.ChangeType;
 
 import java.time.LocalDateTime;
@@ -30,6 +39,14 @@ public class SellerServiceImpl implements SellerService {
 
     private final HistorySaver historySaver;
 
+    private final SellerCache sellerCache;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final LiveLeaderboard liveLeaderboard;
+
+    private final ChangeEventStream changeEventStream;
+
     @Override
     @Transactional
     public SellerResponse createSeller(SellerCreateRequest body) {
@@ -37,14 +54,19 @@ public class SellerServiceImpl implements SellerService {
 
         Seller seller = SellerMapper.mapDtoToSeller(body);
         sellerRepository.save(seller);
+        cacheInvalidationBus.publish(CacheInvalidationEvent.seller(seller.getId()));
 
-        return SellerMapper.mapSellerToDto(seller);
+        SellerResponse response = SellerMapper.mapSellerToDto(seller);
+        changeEventStream.sellerChanged(ChangeType.CREATED, response);
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public SellerResponse getSeller(Long sellerId) {
-        return SellerMapper.mapSellerToDto(findSellerById(sellerId));
+        return SellerMapper.mapSellerToDto(sellerCache.findActiveSeller(sellerId)
+                .orElseThrow(() -> new SellerNotFoundException(
+                        "Продавец с id: " + sellerId + " не найден")));
     }
 
     @Override
@@ -67,6 +89,23 @@ public class SellerServiceImpl implements SellerService {
         return SellerMapper.mapSellersToResponses(sellers);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<SellerResponse> getSellersPage(String after, int limit, boolean activeOnly) {
+        CursorPageMapper.checkLimit(limit);
+        long afterId = CursorPageMapper.decodeSellerCursor(after);
+
+        List<Seller> sellers = activeOnly
+                ? sellerRepository.findByIsActiveTrueAndIdGreaterThanOrderById(afterId, Limit.of(limit + 1))
+                : sellerRepository.findByIdGreaterThanOrderById(afterId, Limit.of(limit + 1));
+
+        return CursorPageMapper.mapToPage(
+                sellers,
+                limit,
+                SellerMapper::mapSellerToDto,
+                CursorPageMapper::encodeSellerCursor);
+    }
+
     @Override
     @Transactional
     public SellerResponse updateSeller(Long sellerId, SellerUpdateRequest body) {
@@ -82,8 +121,11 @@ public class SellerServiceImpl implements SellerService {
 
         updateSellerFields(seller, body);
         sellerRepository.save(seller);
+        cacheInvalidationBus.publish(CacheInvalidationEvent.seller(sellerId));
 
-        return SellerMapper.mapSellerToDto(seller);
+        SellerResponse response = SellerMapper.mapSellerToDto(seller);
+        changeEventStream.sellerChanged(ChangeType.UPDATED, response);
+        return response;
     }
 
     @Override
@@ -95,9 +137,13 @@ public class SellerServiceImpl implements SellerService {
         seller.setUpdatedAt(LocalDateTime.now());
         seller.setIsActive(false);
 
-        deleteAllSellersTransactions(seller);
+        List<TransactionResponse> deactivated = deleteAllSellersTransactions(seller);
 
         sellerRepository.save(seller);
+        liveLeaderboard.sellerDeleted(sellerId);
+        cacheInvalidationBus.publish(CacheInvalidationEvent.seller(sellerId));
+        changeEventStream.transactionsChanged(ChangeType.DELETED, deactivated);
+        changeEventStream.sellerChanged(ChangeType.DELETED, SellerMapper.mapSellerToDto(seller));
     }
 
     private Seller findSellerById(Long sellerId) {
@@ -120,17 +166,12 @@ public class SellerServiceImpl implements SellerService {
         seller.setUpdatedAt(LocalDateTime.now());
     }
 
-    private void deleteAllSellersTransactions(Seller seller) {
-        List<Transaction> transactions = transactionRepository
-                .findBySellerAndIsActiveTrue(seller);
-
-        transactions.forEach(transaction -> {
-            historySaver.saveTransactionHistory(transaction, ChangeType.DELETED);
+    private List<TransactionResponse> deleteAllSellersTransactions(Seller seller) {
+        historySaver.saveSellerTransactionsHistory(seller.getId(), ChangeType.DELETED);
 
-            transaction.setIsActive(false);
-            transaction.setUpdatedAt(LocalDateTime.now());
-            transactionRepository.save(transaction);
-        });
+        return transactionRepository.deactivateAllBySellerId(seller.getId(), seller.getUpdatedAt()).stream()
+                .map(transaction -> TransactionMapper.mapDeactivatedToResponse(seller, transaction))
+                .toList();
     }
 
     private void checkAlreadyCreated(String contactInfo) {
@@ -1,28 +1,53 @@
 package ru.cft.crm.service.crud.impl;
 
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.cft.crm.cache.CacheInvalidationBus;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+import ru.cft.crm.cache.SellerCache;
+import ru.cft.crm.model.error.FieldError;
+import ru.cft.crm.model.page.CursorPageResponse;
+import ru.cft.crm.model.page.TransactionCursor;
+import ru.cft.crm.model.transaction.TransactionBatchItemResult;
+import ru.cft.crm.model.transaction.TransactionBatchResponse;
 import ru.cft.crm.model.transaction.TransactionCreateRequest;
 import ru.cft.crm.model.transaction.TransactionResponse;
 import ru.cft.crm.model.transaction.TransactionUpdateRequest;
 import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.SellerDailyStats;
 import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.EntityUpdateException;
+import ru.cft.crm.exception.InvalidBatchSizeException;
 import ru.cft.crm.exception.InvalidPaymentTypeException;
 import ru.cft.crm.exception.SellerNotFoundException;
 import ru.cft.crm.exception.TransactionNotFoundException;
 import ru.cft.crm.history.HistorySaver;
+import ru.cft.crm.mapper.CursorPageMapper;
 import ru.cft.crm.mapper.TransactionMapper;
-import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
 import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.analytics.leaderboard.LiveLeaderboard;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
 import ru.cft.crm.service.crud.TransactionService;
+import ru.cft.crm.service.events.ChangeEventStream;
 import ru.cft.crm.type.ChangeType;
 import ru.cft.crm.type.PaymentType;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,10 +55,25 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
 
-    private final SellerRepository sellerRepository;
+    private final SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    private final SellerCache sellerCache;
 
     private final HistorySaver historySaver;
 
+    private final Validator validator;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final LiveLeaderboard liveLeaderboard;
+
+    private final AnalyticsSnapshot analyticsSnapshot;
+
+    private final ChangeEventStream changeEventStream;
+
+    @Value("${transactions.batch.max-size:10000}")
+    private int batchMaxSize;
+
     @Override
     @Transactional
     public TransactionResponse createTransaction(TransactionCreateRequest body) {
@@ -47,15 +87,68 @@ public class TransactionServiceImpl implements TransactionService {
                         paymentType
                 );
         transactionRepository.save(transaction);
+        addDailyStats(List.of(transaction));
+        liveLeaderboard.transactionsCreated(List.of(transaction));
+        analyticsSnapshot.transactionsChanged(List.of(transaction));
+        publishTransactionsChanged(List.of(transaction));
 
-        return TransactionMapper.mapTransactionToResponse(transaction);
+        TransactionResponse response = TransactionMapper.mapTransactionToResponse(transaction);
+        changeEventStream.transactionsChanged(ChangeType.CREATED, List.of(response));
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public TransactionBatchResponse createTransactions(List<TransactionCreateRequest> body) {
+        checkBatchSize(body);
+        Map<Long, Seller> sellers = findSellersByIds(body);
+
+        List<Transaction> transactions = new ArrayList<>(body.size());
+        List<List<FieldError>> errors = new ArrayList<>(body.size());
+        for (TransactionCreateRequest request : body) {
+            List<FieldError> requestErrors = validateBatchRequest(request, sellers);
+            errors.add(requestErrors);
+            transactions.add(requestErrors.isEmpty()
+                    ? TransactionMapper.mapRequestToTransaction(
+                            request,
+                            sellers.get(request.sellerId()),
+                            validatePaymentType(request.paymentType()))
+                    : null);
+        }
+        List<Transaction> created = transactions.stream()
+                .filter(Objects::nonNull)
+                .toList();
+        transactionRepository.saveAll(created);
+        addDailyStats(created);
+        liveLeaderboard.transactionsCreated(created);
+        analyticsSnapshot.transactionsChanged(created);
+        publishTransactionsChanged(created);
+        changeEventStream.transactionsChanged(ChangeType.CREATED, created.stream()
+                .map(TransactionMapper::mapTransactionToResponse)
+                .toList());
+
+        List<TransactionBatchItemResult> results = new ArrayList<>(body.size());
+        int createdCount = 0;
+        for (int i = 0; i < body.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            if (transaction != null) {
+                createdCount++;
+            }
+            results.add(new TransactionBatchItemResult(
+                    i,
+                    transaction == null ? null : TransactionMapper.mapTransactionToResponse(transaction),
+                    errors.get(i)));
+        }
+
+        return new TransactionBatchResponse(createdCount, body.size() - createdCount, results);
     }
 
     @Override
     @Transactional(readOnly = true)
     public TransactionResponse getTransaction(Long transactionId) {
-        return TransactionMapper.
-                mapTransactionToResponse(findTransactionById(transactionId));
+        return transactionRepository.findActiveResponseById(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException("Транзакция с id: "
+                        + transactionId + " не найдена"));
     }
 
     @Override
@@ -63,30 +156,74 @@ public class TransactionServiceImpl implements TransactionService {
     public List<TransactionResponse> getAllSellersTransactions(Long sellerId) {
         Seller seller = findSellerById(sellerId);
 
-        List<Transaction> transactions = transactionRepository
-                .findBySellerAndIsActiveTrue(seller);
+        List<TransactionResponse> transactions = transactionRepository
+                .findActiveResponsesBySellerId(seller.getId());
 
         checkIfTransactionsIsEmpty(transactions);
-        return TransactionMapper.mapTransactionsToResponses(transactions);
+        return transactions;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TransactionResponse> getAllActiveTransactions() {
-        List<Transaction> transactions = transactionRepository
-                .findByIsActiveTrue();
+        List<TransactionResponse> transactions = transactionRepository
+                .findActiveResponses();
 
         checkIfTransactionsIsEmpty(transactions);
-        return TransactionMapper.mapTransactionsToResponses(transactions);
+        return transactions;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TransactionResponse> getAllTransactions() {
-        List<Transaction> transactions = transactionRepository.findAll();
+        List<TransactionResponse> transactions = transactionRepository.findAllResponses();
 
         checkIfTransactionsIsEmpty(transactions);
-        return TransactionMapper.mapTransactionsToResponses(transactions);
+        return transactions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TransactionResponse> getSellersTransactionsPage(
+            Long sellerId,
+            String after,
+            int limit
+    ) {
+        CursorPageMapper.checkLimit(limit);
+        TransactionCursor cursor = CursorPageMapper.decodeTransactionCursor(after);
+        Seller seller = findSellerById(sellerId);
+
+        List<TransactionResponse> transactions = transactionRepository.findActivePageBySellerIdBefore(
+                seller.getId(), cursor.transactionDate(), cursor.id(), Limit.of(limit + 1));
+
+        return CursorPageMapper.mapToPage(
+                transactions,
+                limit,
+                Function.identity(),
+                CursorPageMapper::encodeTransactionCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TransactionResponse> getTransactionsPage(
+            String after,
+            int limit,
+            boolean activeOnly
+    ) {
+        CursorPageMapper.checkLimit(limit);
+        TransactionCursor cursor = CursorPageMapper.decodeTransactionCursor(after);
+
+        List<TransactionResponse> transactions = activeOnly
+                ? transactionRepository.findActivePageBefore(
+                        cursor.transactionDate(), cursor.id(), Limit.of(limit + 1))
+                : transactionRepository.findPageBefore(
+                        cursor.transactionDate(), cursor.id(), Limit.of(limit + 1));
+
+        return CursorPageMapper.mapToPage(
+                transactions,
+                limit,
+                Function.identity(),
+                CursorPageMapper::encodeTransactionCursor);
     }
 
     @Override
@@ -99,6 +236,9 @@ public class TransactionServiceImpl implements TransactionService {
         transaction.setUpdatedAt(LocalDateTime.now());
 
         transactionRepository.save(transaction);
+        publishTransactionsChanged(List.of(transaction));
+        changeEventStream.transactionsChanged(ChangeType.DELETED,
+                List.of(TransactionMapper.mapTransactionToResponse(transaction)));
     }
 
     @Override
@@ -114,10 +254,18 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction transaction = findTransactionById(transactionId);
         historySaver.saveTransactionHistory(transaction, ChangeType.UPDATED);
 
+        BigDecimal previousAmount = transaction.getAmount();
+        PaymentType previousPaymentType = transaction.getPaymentType();
         updateTransactionFields(transaction, body);
         transactionRepository.save(transaction);
+        updateDailyStats(transaction, previousAmount, previousPaymentType);
+        liveLeaderboard.transactionUpdated(transaction, previousAmount);
+        analyticsSnapshot.transactionsChanged(List.of(transaction));
+        publishTransactionsChanged(List.of(transaction));
 
-        return TransactionMapper.mapTransactionToResponse(transaction);
+        TransactionResponse response = TransactionMapper.mapTransactionToResponse(transaction);
+        changeEventStream.transactionsChanged(ChangeType.UPDATED, List.of(response));
+        return response;
     }
 
     private void updateTransactionFields(
@@ -136,6 +284,74 @@ public class TransactionServiceImpl implements TransactionService {
         transaction.setUpdatedAt(LocalDateTime.now());
     }
 
+    private void addDailyStats(List<Transaction> transactions) {
+        transactions.stream()
+                .collect(Collectors.groupingBy(
+                        transaction -> new SellerDailyStats.Key(
+                                transaction.getSeller().getId(),
+                                transaction.getTransactionDate().toLocalDate()),
+                        () -> new TreeMap<>(Comparator
+                                .comparing(SellerDailyStats.Key::getSellerId)
+                                .thenComparing(SellerDailyStats.Key::getDay)),
+                        Collectors.toList()))
+                .forEach((key, group) -> sellerDailyStatsRepository.addStats(
+                        key.getSellerId(),
+                        key.getDay(),
+                        group.size(),
+                        group.stream()
+                                .map(Transaction::getAmount)
+                                .reduce(BigDecimal.ZERO, BigDecimal::add),
+                        countByPaymentType(group, PaymentType.CASH),
+                        countByPaymentType(group, PaymentType.CARD),
+                        countByPaymentType(group, PaymentType.TRANSFER)));
+    }
+
+    private void updateDailyStats(
+            Transaction transaction,
+            BigDecimal previousAmount,
+            PaymentType previousPaymentType
+    ) {
+        PaymentType paymentType = transaction.getPaymentType();
+        sellerDailyStatsRepository.addStats(
+                transaction.getSeller().getId(),
+                transaction.getTransactionDate().toLocalDate(),
+                0,
+                transaction.getAmount().subtract(previousAmount),
+                paymentTypeDelta(PaymentType.CASH, previousPaymentType, paymentType),
+                paymentTypeDelta(PaymentType.CARD, previousPaymentType, paymentType),
+                paymentTypeDelta(PaymentType.TRANSFER, previousPaymentType, paymentType));
+    }
+
+    private int countByPaymentType(List<Transaction> transactions, PaymentType paymentType) {
+        return (int) transactions.stream()
+                .filter(transaction -> transaction.getPaymentType() == paymentType)
+                .count();
+    }
+
+    private int paymentTypeDelta(PaymentType paymentType, PaymentType previous, PaymentType current) {
+        return (current == paymentType ? 1 : 0) - (previous == paymentType ? 1 : 0);
+    }
+
+    private void publishTransactionsChanged(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        List<Long> sellerIds = transactions.stream()
+                .map(transaction -> transaction.getSeller().getId())
+                .distinct()
+                .toList();
+        List<LocalDateTime> dates = transactions.stream()
+                .map(Transaction::getTransactionDate)
+                .sorted()
+                .toList();
+
+        cacheInvalidationBus.publish(CacheInvalidationEvent.transactions(
+                sellerIds.size() == 1 ? sellerIds.get(0) : null,
+                dates.get(0),
+                dates.get(dates.size() - 1)));
+    }
+
     private Transaction findTransactionById(Long transactionId) {
         return transactionRepository.findByIdAndIsActive(
                         transactionId, true)
@@ -146,13 +362,69 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     private Seller findSellerById(Long sellerId) {
-        return sellerRepository.findByIdAndIsActiveTrue(sellerId)
+        return sellerCache.findActiveSeller(sellerId)
                 .orElseThrow(() -> new SellerNotFoundException("Продавец с id: "
                                 + sellerId + " не найден"
                         )
                 );
     }
 
+    private Map<Long, Seller> findSellersByIds(List<TransactionCreateRequest> body) {
+        List<Long> sellerIds = body.stream()
+                .filter(Objects::nonNull)
+                .map(TransactionCreateRequest::sellerId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (sellerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return sellerCache.findActiveSellers(sellerIds);
+    }
+
+    private List<FieldError> validateBatchRequest(
+            TransactionCreateRequest request,
+            Map<Long, Seller> sellers
+    ) {
+        if (request == null) {
+            return List.of(new FieldError("transaction", "Транзакция не должна быть пустой"));
+        }
+
+        List<FieldError> errors = validator.validate(request).stream()
+                .map(violation -> new FieldError(
+                        violation.getPropertyPath().toString(),
+                        violation.getMessage()))
+                .sorted(Comparator.comparing(FieldError::field))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (request.sellerId() != null && !sellers.containsKey(request.sellerId())) {
+            errors.add(new FieldError("sellerId", "Продавец с id: "
+                    + request.sellerId() + " не найден"));
+        }
+
+        if (request.paymentType() != null && !request.paymentType().isBlank()) {
+            try {
+                validatePaymentType(request.paymentType());
+            } catch (InvalidPaymentTypeException e) {
+                errors.add(new FieldError("paymentType", e.getMessage()));
+            }
+        }
+
+        return errors;
+    }
+
+    private void checkBatchSize(List<TransactionCreateRequest> body) {
+        if (body == null || body.isEmpty()) {
+            throw new InvalidBatchSizeException("Пакет транзакций не должен быть пустым");
+        }
+
+        if (body.size() > batchMaxSize) {
+            throw new InvalidBatchSizeException("Размер пакета транзакций не должен превышать "
+                    + batchMaxSize);
+        }
+    }
+
     private PaymentType validatePaymentType(String paymentTypeStr) {
         if (paymentTypeStr == null || paymentTypeStr.isEmpty()) {
             throw new InvalidPaymentTypeException("Тип оплаты не должен быть пустым");
@@ -168,7 +440,7 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
 
-    private void checkIfTransactionsIsEmpty(List<Transaction> transactions) {
+    private void checkIfTransactionsIsEmpty(List<TransactionResponse> transactions) {
         if (transactions.isEmpty()) {
             throw new TransactionNotFoundException("Ни одной транзакции не найдено");
         }
@@ -0,0 +1,19 @@
+package ru.cft.crm.service.events;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.cft.crm.model.seller.SellerResponse;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.type.ChangeType;
+import ru.cft.crm.type.PaymentType;
+
+import java.util.List;
+
+public interface ChangeEventStream {
+    void transactionsChanged(ChangeType type, List<TransactionResponse> transactions);
+
+    void sellerChanged(ChangeType type, SellerResponse seller);
+
+    SseEmitter subscribe(Long sellerId, String paymentType, String lastEventId);
+
+    void subscribe(SseEmitter emitter, Long sellerId, PaymentType paymentType, String lastEventId);
+}
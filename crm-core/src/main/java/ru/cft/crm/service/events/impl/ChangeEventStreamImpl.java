@@ -0,0 +1,319 @@
+package ru.cft.crm.service.events.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.cft.crm.exception.InvalidPaymentTypeException;
+import ru.cft.crm.model.event.ChangeEventResponse;
+import ru.cft.crm.model.seller.SellerResponse;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.service.events.ChangeEventStream;
+import ru.cft.crm.type.ChangeType;
+import ru.cft.crm.type.ChangedEntity;
+import ru.cft.crm.type.PaymentType;
+import ru.cft.crm.type.SlowConsumerPolicy;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeEventStreamImpl implements ChangeEventStream {
+    private static final String RESYNC_EVENT = "resync";
+
+    private static final String DROPPED_EVENT = "dropped";
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${events.replay-size:500}")
+    private int replaySize;
+
+    @Value("${events.subscriber-buffer-size:1000}")
+    private int subscriberBufferSize;
+
+    @Value("${events.slow-consumer-policy:DROP_OLDEST}")
+    private SlowConsumerPolicy slowConsumerPolicy;
+
+    @Value("${events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${events.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    private final String streamId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private ChangeEventResponse[] replay;
+
+    private long sequence;
+
+    private ExecutorService dispatcher;
+
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void init() {
+        replay = new ChangeEventResponse[replaySize];
+        AtomicInteger threads = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        droppedCounter = meterRegistry.counter("events.dropped");
+        meterRegistry.gaugeCollectionSize("events.subscribers", Tags.empty(), subscribers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    public void transactionsChanged(ChangeType type, List<TransactionResponse> transactions) {
+        afterCommit(() -> transactions.forEach(transaction ->
+                publish(ChangedEntity.TRANSACTION, type, transaction, null)));
+    }
+
+    @Override
+    public void sellerChanged(ChangeType type, SellerResponse seller) {
+        afterCommit(() -> publish(ChangedEntity.SELLER, type, null, seller));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long sellerId, String paymentType, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscribe(emitter, sellerId, parsePaymentType(paymentType), lastEventId);
+        return emitter;
+    }
+
+    @Override
+    public void subscribe(SseEmitter emitter, Long sellerId, PaymentType paymentType, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, sellerId, paymentType);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        synchronized (this) {
+            replay(subscriber, lastEventId);
+            subscribers.add(subscriber);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        subscribers.forEach(Subscriber::offerHeartbeat);
+    }
+
+    private synchronized void publish(
+            ChangedEntity entity,
+            ChangeType type,
+            TransactionResponse transaction,
+            SellerResponse seller) {
+        long id = ++sequence;
+        ChangeEventResponse event = new ChangeEventResponse(
+                streamId + "-" + id, entity, type, LocalDateTime.now(), transaction, seller);
+        replay[(int) (id % replaySize)] = event;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+
+        long lastSequence = parseSequence(lastEventId);
+        long oldestSequence = Math.max(1, sequence - replaySize + 1);
+        if (lastSequence < 0 || lastSequence > sequence || lastSequence < oldestSequence - 1) {
+            subscriber.offerControl(SseEmitter.event()
+                    .name(RESYNC_EVENT)
+                    .data("События после " + lastEventId + " недоступны, загрузите данные заново"));
+            return;
+        }
+        for (long id = lastSequence + 1; id <= sequence; id++) {
+            ChangeEventResponse event = replay[(int) (id % replaySize)];
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(streamId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private PaymentType parsePaymentType(String paymentType) {
+        if (paymentType == null || paymentType.isBlank()) {
+            return null;
+        }
+        try {
+            return PaymentType.valueOf(paymentType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPaymentTypeException("Неверный тип оплаты: "
+                    + paymentType
+                    + ". Доступные типы оплаты: "
+                    + Arrays.toString(PaymentType.values()));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+
+        private final Long sellerId;
+
+        private final PaymentType paymentType;
+
+        private final ArrayDeque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private long dropped;
+
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Long sellerId, PaymentType paymentType) {
+            this.emitter = emitter;
+            this.sellerId = sellerId;
+            this.paymentType = paymentType;
+        }
+
+        private boolean matches(ChangeEventResponse event) {
+            if (sellerId != null && !sellerId.equals(event.transaction() != null
+                    ? event.transaction().sellerId()
+                    : event.seller().id())) {
+                return false;
+            }
+            return paymentType == null
+                    || event.transaction() != null && event.transaction().paymentType() == paymentType;
+        }
+
+        private void offer(ChangeEventResponse event) {
+            offerControl(SseEmitter.event()
+                    .id(event.id())
+                    .name(event.entity().name().toLowerCase())
+                    .data(event));
+        }
+
+        private void offerHeartbeat() {
+            synchronized (this) {
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+            }
+            offerControl(SseEmitter.event().comment(HEARTBEAT));
+        }
+
+        private void offerControl(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= subscriberBufferSize) {
+                    if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT) {
+                        log.debug("Подписчик на изменения отключен: буфер из {} событий заполнен", buffer.size());
+                        close();
+                        return;
+                    }
+                    buffer.pollFirst();
+                    dropped++;
+                    droppedCounter.increment();
+                }
+                buffer.addLast(event);
+            }
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    SseEmitter.SseEventBuilder next;
+                    long droppedCount;
+                    synchronized (this) {
+                        droppedCount = dropped;
+                        dropped = 0;
+                        next = buffer.pollFirst();
+                        if (next == null && droppedCount == 0) {
+                            draining.set(false);
+                            return;
+                        }
+                    }
+                    if (droppedCount > 0) {
+                        emitter.send(SseEmitter.event().name(DROPPED_EVENT).data(droppedCount));
+                    }
+                    if (next != null) {
+                        emitter.send(next);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                buffer.clear();
+            }
+            subscribers.remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                log.trace("Подключение подписчика уже закрыто", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.cft.crm.service.export;
+
+import ru.cft.crm.type.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TransactionExportService {
+    void exportTransactions(ExportFormat format, boolean activeOnly, OutputStream out) throws IOException;
+}
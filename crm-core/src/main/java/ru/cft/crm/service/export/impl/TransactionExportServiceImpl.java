@@ -0,0 +1,73 @@
+package ru.cft.crm.service.export.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.export.TransactionExportService;
+import ru.cft.crm.type.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionExportServiceImpl implements TransactionExportService {
+    private static final String CSV_HEADER =
+            "id,seller_id,amount,payment_type,transaction_date,updated_at,is_active";
+
+    private final TransactionRepository transactionRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTransactions(ExportFormat format, boolean activeOnly, OutputStream out) throws IOException {
+        try (Stream<TransactionResponse> transactions = transactionRepository.streamForExport(activeOnly)) {
+            switch (format) {
+                case NDJSON -> writeNdjson(transactions.iterator(), out);
+                case CSV -> writeCsv(transactions.iterator(), out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<TransactionResponse> transactions, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TransactionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        while (transactions.hasNext()) {
+            writer.writeValue(generator, transactions.next());
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<TransactionResponse> transactions, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (transactions.hasNext()) {
+            TransactionResponse transaction = transactions.next();
+            writer.write(transaction.id() + ","
+                    + transaction.sellerId() + ","
+                    + transaction.amount().toPlainString() + ","
+                    + transaction.paymentType() + ","
+                    + transaction.transactionDate() + ","
+                    + transaction.updatedAt() + ","
+                    + transaction.isActive());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,16 @@
+package ru.cft.crm.service.imports;
+
+import ru.cft.crm.model.imports.ImportErrorResponse;
+import ru.cft.crm.model.imports.ImportJobResponse;
+import ru.cft.crm.type.ImportType;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface ImportService {
+    ImportJobResponse importCsv(ImportType importType, InputStream csv, Long jobId);
+
+    ImportJobResponse getJob(Long jobId);
+
+    List<ImportErrorResponse> getJobErrors(Long jobId, Long afterLine, int limit);
+}
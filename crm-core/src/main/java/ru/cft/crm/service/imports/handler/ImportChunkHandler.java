@@ -0,0 +1,18 @@
+package ru.cft.crm.service.imports.handler;
+
+import ru.cft.crm.model.imports.ImportChunkResult;
+import ru.cft.crm.type.ImportType;
+
+import java.util.List;
+
+public interface ImportChunkHandler {
+    ImportType getImportType();
+
+    String getStagingTable();
+
+    List<String> getColumns();
+
+    List<String> getRequiredColumns();
+
+    ImportChunkResult importStagedRows(Long jobId);
+}
@@ -0,0 +1,94 @@
+package ru.cft.crm.service.imports.handler.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.model.imports.ImportChunkResult;
+import ru.cft.crm.service.imports.handler.ImportChunkHandler;
+import ru.cft.crm.type.ImportType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class SellersImportChunkHandler implements ImportChunkHandler {
+    private static final String IMPORT_STAGED_ROWS = """
+            WITH checked AS (
+                SELECT s.job_id,
+                       s.line_number,
+                       CASE
+                           WHEN s.seller_name IS NULL OR char_length(btrim(s.seller_name)) NOT BETWEEN 2 AND 50
+                               THEN 'Имя продавца должно содержать от 2 до 50 символов'
+                           WHEN s.contact_info IS NULL OR char_length(btrim(s.contact_info)) NOT BETWEEN 5 AND 50
+                               THEN 'Контактная информация должна содержать от 5 до 50 символов'
+                           WHEN btrim(s.contact_info) !~ '^[^@[:space:]]+@[^@[:space:]]+$'
+                               THEN 'Контактная информация должна быть email адресом'
+                           WHEN s.registration_date IS NOT NULL AND try_cast_timestamp(s.registration_date) IS NULL
+                               THEN 'Некорректная дата регистрации: ' || s.registration_date
+                           WHEN EXISTS (SELECT 1 FROM sellers se WHERE se.contact_info = btrim(s.contact_info))
+                               THEN 'Продавец с таким email уже существует'
+                           WHEN row_number() OVER (PARTITION BY btrim(s.contact_info) ORDER BY s.line_number) > 1
+                               THEN 'Продавец с таким email уже встречается в файле'
+                           END AS error_message,
+                       s.seller_name,
+                       s.contact_info,
+                       s.registration_date
+                FROM sellers_import_staging s
+                WHERE s.job_id = :jobId
+            ),
+                 errors AS (
+                     INSERT INTO import_errors (job_id, line_number, error_message)
+                         SELECT job_id, line_number, error_message
+                         FROM checked
+                         WHERE error_message IS NOT NULL
+                         RETURNING 1
+                 ),
+                 imported AS (
+                     INSERT INTO sellers (seller_name, contact_info, registration_date, updated_at, is_active)
+                         SELECT btrim(seller_name),
+                                btrim(contact_info),
+                                COALESCE(try_cast_timestamp(registration_date), :now),
+                                :now,
+                                TRUE
+                         FROM checked
+                         WHERE error_message IS NULL
+                         RETURNING 1
+                 )
+            SELECT (SELECT count(*) FROM imported) AS imported_rows,
+                   (SELECT count(*) FROM errors)   AS failed_rows
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public ImportType getImportType() {
+        return ImportType.SELLERS;
+    }
+
+    @Override
+    public String getStagingTable() {
+        return "sellers_import_staging";
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return List.of("seller_name", "contact_info", "registration_date");
+    }
+
+    @Override
+    public List<String> getRequiredColumns() {
+        return List.of("seller_name", "contact_info");
+    }
+
+    @Override
+    public ImportChunkResult importStagedRows(Long jobId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("jobId", jobId)
+                .addValue("now", LocalDateTime.now());
+
+        return jdbcTemplate.queryForObject(IMPORT_STAGED_ROWS, parameters, (rs, rowNum) ->
+                new ImportChunkResult(rs.getLong("imported_rows"), rs.getLong("failed_rows")));
+    }
+}
@@ -0,0 +1,127 @@
+package ru.cft.crm.service.imports.handler.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.cft.crm.model.imports.ImportChunkResult;
+import ru.cft.crm.service.imports.handler.ImportChunkHandler;
+import ru.cft.crm.type.ImportType;
+import ru.cft.crm.type.PaymentType;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class TransactionsImportChunkHandler implements ImportChunkHandler {
+    private static final String IMPORT_STAGED_ROWS = """
+            WITH checked AS (
+                SELECT s.job_id,
+                       s.line_number,
+                       CASE
+                           WHEN s.seller_id IS NULL OR btrim(s.seller_id) !~ '^[0-9]{1,18}$'
+                               THEN 'Некорректный ID продавца: ' || COALESCE(s.seller_id, '')
+                           WHEN se.id IS NULL
+                               THEN 'Продавец с id: ' || btrim(s.seller_id) || ' не найден'
+                           WHEN s.amount IS NULL OR btrim(s.amount) !~ '^[0-9]{1,8}([.][0-9]{1,2})?$'
+                               THEN 'Некорректная сумма: ' || COALESCE(s.amount, '')
+                           WHEN btrim(s.amount)::NUMERIC = 0
+                               THEN 'Сумма должна быть положительной'
+                           WHEN s.payment_type IS NULL OR upper(btrim(s.payment_type)) NOT IN (:paymentTypes)
+                               THEN 'Неверный тип оплаты: ' || COALESCE(s.payment_type, '')
+                                   || '. Доступные типы оплаты: ' || :availablePaymentTypes
+                           WHEN s.transaction_date IS NOT NULL AND try_cast_timestamp(s.transaction_date) IS NULL
+                               THEN 'Некорректная дата транзакции: ' || s.transaction_date
+                           END AS error_message,
+                       se.id AS seller_id,
+                       s.amount,
+                       s.payment_type,
+                       s.transaction_date
+                FROM transactions_import_staging s
+                         LEFT JOIN sellers se
+                                   ON se.id = CASE
+                                                  WHEN btrim(s.seller_id) ~ '^[0-9]{1,18}$'
+                                                      THEN btrim(s.seller_id)::BIGINT
+                                       END
+                                       AND se.is_active
+                WHERE s.job_id = :jobId
+            ),
+                 errors AS (
+                     INSERT INTO import_errors (job_id, line_number, error_message)
+                         SELECT job_id, line_number, error_message
+                         FROM checked
+                         WHERE error_message IS NOT NULL
+                         RETURNING 1
+                 ),
+                 imported AS (
+                     INSERT INTO transactions (seller_id, amount, payment_type, transaction_date, updated_at, is_active)
+                         SELECT seller_id,
+                                btrim(amount)::NUMERIC,
+                                upper(btrim(payment_type)),
+                                COALESCE(try_cast_timestamp(transaction_date), :now),
+                                :now,
+                                TRUE
+                         FROM checked
+                         WHERE error_message IS NULL
+                         RETURNING seller_id, amount, payment_type, transaction_date
+                 ),
+                 stats AS (
+                     INSERT INTO seller_daily_stats AS d
+                         (seller_id, day, tx_count, amount_sum, cash_count, card_count, transfer_count)
+                         SELECT seller_id,
+                                transaction_date::DATE,
+                                COUNT(*),
+                                SUM(amount),
+                                COUNT(*) FILTER (WHERE payment_type = 'CASH'),
+                                COUNT(*) FILTER (WHERE payment_type = 'CARD'),
+                                COUNT(*) FILTER (WHERE payment_type = 'TRANSFER')
+                         FROM imported
+                         GROUP BY 1, 2
+                         ORDER BY 1, 2
+                         ON CONFLICT (seller_id, day) DO UPDATE
+                             SET tx_count = d.tx_count + excluded.tx_count,
+                                 amount_sum = d.amount_sum + excluded.amount_sum,
+                                 cash_count = d.cash_count + excluded.cash_count,
+                                 card_count = d.card_count + excluded.card_count,
+                                 transfer_count = d.transfer_count + excluded.transfer_count
+                 )
+            SELECT (SELECT count(*) FROM imported) AS imported_rows,
+                   (SELECT count(*) FROM errors)   AS failed_rows
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public ImportType getImportType() {
+        return ImportType.TRANSACTIONS;
+    }
+
+    @Override
+    public String getStagingTable() {
+        return "transactions_import_staging";
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return List.of("seller_id", "amount", "payment_type", "transaction_date");
+    }
+
+    @Override
+    public List<String> getRequiredColumns() {
+        return List.of("seller_id", "amount", "payment_type");
+    }
+
+    @Override
+    public ImportChunkResult importStagedRows(Long jobId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("jobId", jobId)
+                .addValue("now", LocalDateTime.now())
+                .addValue("paymentTypes", Arrays.stream(PaymentType.values()).map(Enum::name).toList())
+                .addValue("availablePaymentTypes", Arrays.toString(PaymentType.values()));
+
+        return jdbcTemplate.queryForObject(IMPORT_STAGED_ROWS, parameters, (rs, rowNum) ->
+                new ImportChunkResult(rs.getLong("imported_rows"), rs.getLong("failed_rows")));
+    }
+}
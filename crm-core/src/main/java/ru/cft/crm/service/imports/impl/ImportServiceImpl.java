@@ -0,0 +1,310 @@
+package ru.cft.crm.service.imports.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.cft.crm.cache.CacheInvalidationBus;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+import ru.cft.crm.entity.ImportError;
+import ru.cft.crm.entity.ImportJob;
+import ru.cft.crm.exception.ImportJobConflictException;
+import ru.cft.crm.exception.ImportJobNotFoundException;
+import ru.cft.crm.exception.InvalidImportException;
+import ru.cft.crm.mapper.ImportMapper;
+import ru.cft.crm.model.imports.ImportChunkResult;
+import ru.cft.crm.model.imports.ImportErrorResponse;
+import ru.cft.crm.model.imports.ImportJobResponse;
+import ru.cft.crm.repository.ImportErrorRepository;
+import ru.cft.crm.repository.ImportJobRepository;
+import ru.cft.crm.service.analytics.leaderboard.LiveLeaderboard;
+import ru.cft.crm.service.imports.CsvReader;
+import ru.cft.crm.service.imports.ImportService;
+import ru.cft.crm.service.imports.handler.ImportChunkHandler;
+import ru.cft.crm.type.ImportStatus;
+import ru.cft.crm.type.ImportType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+    private static final int MAX_ERRORS_LIMIT = 10_000;
+
+    private final List<ImportChunkHandler> handlers;
+
+    private final ImportJobRepository importJobRepository;
+
+    private final ImportErrorRepository importErrorRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final LiveLeaderboard liveLeaderboard;
+
+    @Value("${imports.chunk-size:50000}")
+    private int chunkSize;
+
+    @Override
+    public ImportJobResponse importCsv(ImportType importType, InputStream csv, Long jobId) {
+        ImportChunkHandler handler = findHandler(importType);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ImportJob job = jobId == null ? createJob(importType) : resumeJob(jobId, importType);
+        boolean owner = jobId == null;
+        long importedRows = 0;
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            CsvLayout layout = readHeader(reader, handler);
+            long processedRows = skipProcessedRows(reader, job.getProcessedRows());
+
+            ImportChunk chunk = readChunk(reader, layout, job.getId());
+            while (chunk.size() > 0) {
+                long expectedProcessedRows = processedRows;
+                ImportChunk currentChunk = chunk;
+                importedRows += transactionTemplate.execute(status ->
+                        importChunk(job.getId(), handler, currentChunk, expectedProcessedRows));
+                owner = true;
+
+                processedRows += chunk.size();
+                log.info("Импорт {} #{}: обработано строк {}", importType, job.getId(), processedRows);
+                chunk = readChunk(reader, layout, job.getId());
+            }
+            updateStatus(job.getId(), ImportStatus.COMPLETED, transactionTemplate);
+        } catch (IOException e) {
+            failIfOwner(job.getId(), owner, transactionTemplate);
+            throw new UncheckedIOException(e);
+        } catch (ImportJobConflictException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            failIfOwner(job.getId(), owner, transactionTemplate);
+            throw e;
+        } finally {
+            if (importType == ImportType.TRANSACTIONS && importedRows > 0) {
+                liveLeaderboard.rebuild();
+            }
+        }
+
+        return getJob(job.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportJobResponse getJob(Long jobId) {
+        return ImportMapper.mapJobToResponse(findJobById(jobId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ImportErrorResponse> getJobErrors(Long jobId, Long afterLine, int limit) {
+        if (limit < 1 || limit > MAX_ERRORS_LIMIT) {
+            throw new InvalidImportException("Количество ошибок должно быть от 1 до " + MAX_ERRORS_LIMIT);
+        }
+        findJobById(jobId);
+
+        return ImportMapper.mapErrorsToResponses(importErrorRepository
+                .findByJobIdAndLineNumberGreaterThanOrderByLineNumber(jobId, afterLine, Limit.of(limit)));
+    }
+
+    private long importChunk(
+            Long jobId,
+            ImportChunkHandler handler,
+            ImportChunk chunk,
+            long expectedProcessedRows
+    ) {
+        ImportChunkResult result = new ImportChunkResult(0, 0);
+        if (chunk.copyData().length > 0) {
+            copyToStaging(handler, chunk.copyData());
+            result = handler.importStagedRows(jobId);
+            jdbcTemplate.update("DELETE FROM " + handler.getStagingTable() + " WHERE job_id = ?", jobId);
+            if (result.importedRows() > 0) {
+                cacheInvalidationBus.publish(handler.getImportType() == ImportType.SELLERS
+                        ? CacheInvalidationEvent.seller(null)
+                        : CacheInvalidationEvent.transactions(null, null, null));
+            }
+        }
+        importErrorRepository.saveAll(chunk.errors());
+
+        int updated = importJobRepository.incrementProgress(
+                jobId,
+                expectedProcessedRows,
+                chunk.size(),
+                result.importedRows(),
+                result.failedRows() + chunk.errors().size(),
+                LocalDateTime.now());
+        if (updated == 0) {
+            throw new ImportJobConflictException("Задание импорта с id: " + jobId
+                    + " уже выполняется другим запросом");
+        }
+        return result.importedRows();
+    }
+
+    private void copyToStaging(ImportChunkHandler handler, byte[] copyData) {
+        String sql = "COPY " + handler.getStagingTable()
+                + " (job_id, line_number, " + String.join(", ", handler.getColumns()) + ")"
+                + " FROM STDIN WITH (FORMAT csv)";
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(sql, new ByteArrayInputStream(copyData));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private CsvLayout readHeader(CsvReader reader, ImportChunkHandler handler) throws IOException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new InvalidImportException("Файл импорта пуст");
+        }
+
+        List<String> names = header.stream()
+                .map(name -> name.replace("\uFEFF", "").trim().toLowerCase())
+                .toList();
+        List<String> missing = handler.getRequiredColumns().stream()
+                .filter(column -> !names.contains(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportException("В заголовке файла отсутствуют колонки: " + missing);
+        }
+
+        int[] columnIndexes = handler.getColumns().stream()
+                .mapToInt(names::indexOf)
+                .toArray();
+        return new CsvLayout(header.size(), columnIndexes);
+    }
+
+    private long skipProcessedRows(CsvReader reader, long processedRows) throws IOException {
+        for (long i = 0; i < processedRows; i++) {
+            if (reader.readRecord() == null) {
+                throw new InvalidImportException("Файл содержит меньше строк, чем уже обработано заданием: "
+                        + processedRows);
+            }
+        }
+        return processedRows;
+    }
+
+    private ImportChunk readChunk(CsvReader reader, CsvLayout layout, Long jobId) throws IOException {
+        ByteArrayOutputStream copyData = new ByteArrayOutputStream();
+        List<ImportError> errors = new ArrayList<>();
+        int size = 0;
+
+        try (Writer writer = new OutputStreamWriter(copyData, StandardCharsets.UTF_8)) {
+            List<String> record;
+            while (size < chunkSize && (record = reader.readRecord()) != null) {
+                size++;
+                long lineNumber = reader.getRecordLine();
+                if (record.size() != layout.size()) {
+                    errors.add(createError(jobId, lineNumber, "Строка содержит " + record.size()
+                            + " полей, ожидалось " + layout.size()));
+                    continue;
+                }
+
+                writer.write(jobId + "," + lineNumber);
+                for (int index : layout.columnIndexes()) {
+                    writer.write(',');
+                    writeCopyValue(writer, index < 0 ? null : record.get(index));
+                }
+                writer.write('\n');
+            }
+        }
+
+        return new ImportChunk(copyData.toByteArray(), errors, size);
+    }
+
+    private void writeCopyValue(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private ImportError createError(Long jobId, long lineNumber, String message) {
+        ImportError error = new ImportError();
+        error.setJobId(jobId);
+        error.setLineNumber(lineNumber);
+        error.setErrorMessage(message);
+        return error;
+    }
+
+    private ImportJob createJob(ImportType importType) {
+        ImportJob job = new ImportJob();
+        job.setImportType(importType);
+        job.setStatus(ImportStatus.IN_PROGRESS);
+        job.setProcessedRows(0L);
+        job.setImportedRows(0L);
+        job.setFailedRows(0L);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        return importJobRepository.save(job);
+    }
+
+    private ImportJob resumeJob(Long jobId, ImportType importType) {
+        ImportJob job = findJobById(jobId);
+        if (job.getImportType() != importType) {
+            throw new InvalidImportException("Задание импорта с id: " + jobId
+                    + " относится к импорту " + job.getImportType());
+        }
+        if (job.getStatus() == ImportStatus.COMPLETED) {
+            throw new InvalidImportException("Задание импорта с id: " + jobId + " уже завершено");
+        }
+
+        return job;
+    }
+
+    private void failIfOwner(Long jobId, boolean owner, TransactionTemplate transactionTemplate) {
+        if (owner) {
+            updateStatus(jobId, ImportStatus.FAILED, transactionTemplate);
+        }
+    }
+
+    private void updateStatus(Long jobId, ImportStatus status, TransactionTemplate transactionTemplate) {
+        transactionTemplate.executeWithoutResult(transactionStatus ->
+                importJobRepository.updateStatus(jobId, status, LocalDateTime.now()));
+    }
+
+    private ImportJob findJobById(Long jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ImportJobNotFoundException("Задание импорта с id: "
+                        + jobId + " не найдено"));
+    }
+
+    private ImportChunkHandler findHandler(ImportType importType) {
+        return handlers.stream()
+                .filter(handler -> handler.getImportType() == importType)
+                .findFirst()
+                .orElseThrow(() -> new InvalidImportException("Импорт " + importType + " не поддерживается"));
+    }
+
+    private record CsvLayout(int size, int[] columnIndexes) {
+    }
+
+    private record ImportChunk(byte[] copyData, List<ImportError> errors, int size) {
+    }
+}
@@ -0,0 +1,11 @@
+package ru.cft.crm.service.sync;
+
+import ru.cft.crm.model.page.ChangesResponse;
+import ru.cft.crm.model.seller.SellerResponse;
+import ru.cft.crm.model.transaction.TransactionResponse;
+
+public interface ChangeSyncService {
+    ChangesResponse<TransactionResponse> getTransactionChanges(String after, int limit);
+
+    ChangesResponse<SellerResponse> getSellerChanges(String after, int limit);
+}
@@ -0,0 +1,84 @@
+package ru.cft.crm.service.sync.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.mapper.CursorPageMapper;
+import ru.cft.crm.mapper.SellerMapper;
+import ru.cft.crm.model.page.ChangeWatermark;
+import ru.cft.crm.model.page.ChangesResponse;
+import ru.cft.crm.model.seller.SellerResponse;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.sync.ChangeSyncService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeSyncServiceImpl implements ChangeSyncService {
+    private static final String SELECT_OLDEST_WRITE_START = """
+            SELECT CAST(LEAST(statement_timestamp(), MIN(xact_start)) AS TIMESTAMP)
+            FROM pg_stat_activity
+            WHERE backend_xid IS NOT NULL
+              AND datname = current_database()
+            """;
+
+    private final TransactionRepository transactionRepository;
+
+    private final SellerRepository sellerRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${sync.commit-lag-seconds:60}")
+    private long commitLagSeconds;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChangesResponse<TransactionResponse> getTransactionChanges(String after, int limit) {
+        CursorPageMapper.checkLimit(limit);
+        ChangeWatermark watermark = CursorPageMapper.decodeChangeWatermark(after);
+
+        List<TransactionResponse> transactions = transactionRepository.findChangedAfter(
+                watermark.updatedAt(), watermark.id(), changedBefore(), Limit.of(limit + 1));
+
+        return CursorPageMapper.mapToChanges(
+                transactions,
+                limit,
+                after,
+                transaction -> transaction,
+                TransactionResponse::isActive,
+                TransactionResponse::id,
+                transaction -> new ChangeWatermark(transaction.updatedAt(), transaction.id()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChangesResponse<SellerResponse> getSellerChanges(String after, int limit) {
+        CursorPageMapper.checkLimit(limit);
+        ChangeWatermark watermark = CursorPageMapper.decodeChangeWatermark(after);
+
+        List<Seller> sellers = sellerRepository.findChangedAfter(
+                watermark.updatedAt(), watermark.id(), changedBefore(), Limit.of(limit + 1));
+
+        return CursorPageMapper.mapToChanges(
+                sellers,
+                limit,
+                after,
+                SellerMapper::mapSellerToDto,
+                Seller::getIsActive,
+                Seller::getId,
+                seller -> new ChangeWatermark(seller.getUpdatedAt(), seller.getId()));
+    }
+
+    private LocalDateTime changedBefore() {
+        return jdbcTemplate.queryForObject(SELECT_OLDEST_WRITE_START, LocalDateTime.class)
+                .minusSeconds(commitLagSeconds);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.cft.crm.type;
 
 public enum ChangeType {
+    CREATED,
     DELETED,
     UPDATED
 }
@@ -0,0 +1,24 @@
+package ru.cft.crm.type;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.cft.crm.exception.InvalidExportFormatException;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+
+    private final String extension;
+
+    public static ExportFormat getExportFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportFormatException("Некорректный формат выгрузки: " + format);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.cft.crm.type;
+
+public enum ImportStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
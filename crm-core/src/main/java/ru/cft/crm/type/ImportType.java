@@ -0,0 +1,6 @@
+package ru.cft.crm.type;
+
+public enum ImportType {
+    SELLERS,
+    TRANSACTIONS
+}
@@ -0,0 +1,17 @@
+package ru.cft.crm.type;
+
+import ru.cft.crm.exception.InvalidLeaderboardRequestException;
+
+public enum LeaderboardMetric {
+    AMOUNT,
+    COUNT;
+
+    public static LeaderboardMetric getMetric(String metric) {
+        try {
+            return LeaderboardMetric.valueOf(metric.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidLeaderboardRequestException("Некорректная метрика рейтинга: " + metric
+                    + ". Доступные метрики: (" + AMOUNT + ", " + COUNT + ")");
+        }
+    }
+}
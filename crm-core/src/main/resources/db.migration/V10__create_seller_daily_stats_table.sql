@@ -0,0 +1,25 @@
+CREATE TABLE seller_daily_stats
+(
+    seller_id      BIGINT         NOT NULL,
+    day            DATE           NOT NULL,
+    tx_count       INT            NOT NULL DEFAULT 0,
+    amount_sum     NUMERIC(18, 2) NOT NULL DEFAULT 0,
+    cash_count     INT            NOT NULL DEFAULT 0,
+    card_count     INT            NOT NULL DEFAULT 0,
+    transfer_count INT            NOT NULL DEFAULT 0,
+    PRIMARY KEY (seller_id, day)
+);
+
+CREATE INDEX idx_seller_daily_stats_day_seller_id
+    ON seller_daily_stats (day, seller_id) INCLUDE (amount_sum);
+
+INSERT INTO seller_daily_stats (seller_id, day, tx_count, amount_sum, cash_count, card_count, transfer_count)
+SELECT seller_id,
+       transaction_date::DATE,
+       COUNT(*),
+       SUM(amount),
+       COUNT(*) FILTER (WHERE payment_type = 'CASH'),
+       COUNT(*) FILTER (WHERE payment_type = 'CARD'),
+       COUNT(*) FILTER (WHERE payment_type = 'TRANSFER')
+FROM transactions
+GROUP BY 1, 2;
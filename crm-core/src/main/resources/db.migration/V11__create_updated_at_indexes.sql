@@ -0,0 +1,2 @@
+CREATE INDEX idx_sellers_updated_at_id
+    ON sellers (updated_at, id);
@@ -0,0 +1,11 @@
+CREATE INDEX idx_transactions_seller_id_transaction_date_id
+    ON transactions (seller_id, transaction_date, id);
+
+CREATE INDEX idx_transactions_transaction_date_id
+    ON transactions (transaction_date, id);
+
+CREATE INDEX idx_transactions_updated_at_id
+    ON transactions (updated_at, id);
+
+CREATE INDEX idx_sellers_contact_info
+    ON sellers (contact_info);
@@ -0,0 +1,67 @@
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER INDEX transactions_pkey RENAME TO transactions_unpartitioned_pkey;
+
+CREATE TABLE transactions
+(
+    id               INT            NOT NULL DEFAULT nextval('transactions_id_seq'),
+    seller_id        INT            NOT NULL,
+    amount           NUMERIC(10, 2) NOT NULL,
+    payment_type     VARCHAR(20)    NOT NULL,
+    transaction_date TIMESTAMP      NOT NULL,
+    updated_at       TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    is_active        BOOLEAN        NOT NULL DEFAULT TRUE,
+    PRIMARY KEY (id, transaction_date),
+    FOREIGN KEY (seller_id) REFERENCES sellers (id)
+) PARTITION BY RANGE (transaction_date);
+
+ALTER SEQUENCE transactions_id_seq OWNED BY transactions.id;
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+CREATE FUNCTION create_transactions_partition(month DATE) RETURNS BOOLEAN AS
+$$
+DECLARE
+    partition_start DATE := date_trunc('month', month);
+    partition_end   DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition_name  TEXT := 'transactions_' || to_char(month, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('create_transactions_partition'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (
+                        DELETE FROM transactions_default
+                        WHERE transaction_date >= $1 AND transaction_date < $2
+                        RETURNING *)
+                    INSERT INTO %I SELECT * FROM moved', partition_name)
+        USING partition_start, partition_end;
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, partition_start, partition_end);
+
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_transactions_partition(month::DATE)
+FROM generate_series(
+             date_trunc('month', LEAST((SELECT MIN(transaction_date) FROM transactions_unpartitioned), CURRENT_DATE)),
+             date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+             INTERVAL '1 month') AS month;
+
+INSERT INTO transactions (id, seller_id, amount, payment_type, transaction_date, updated_at, is_active)
+SELECT id, seller_id, amount, payment_type, transaction_date, updated_at, is_active
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+CREATE INDEX idx_transactions_seller_id_transaction_date_id
+    ON transactions (seller_id, transaction_date, id);
+
+CREATE INDEX idx_transactions_transaction_date_id
+    ON transactions (transaction_date, id);
+
+CREATE INDEX idx_transactions_updated_at_id
+    ON transactions (updated_at, id);
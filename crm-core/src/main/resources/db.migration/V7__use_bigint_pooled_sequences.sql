@@ -0,0 +1,17 @@
+ALTER SEQUENCE sellers_id_seq AS BIGINT INCREMENT BY 50;
+ALTER SEQUENCE transactions_id_seq AS BIGINT INCREMENT BY 50;
+ALTER SEQUENCE sellers_history_id_seq AS BIGINT INCREMENT BY 50;
+ALTER SEQUENCE transactions_history_id_seq AS BIGINT INCREMENT BY 50;
+
+ALTER TABLE sellers
+    ALTER COLUMN id TYPE BIGINT;
+
+ALTER TABLE transactions
+    ALTER COLUMN id TYPE BIGINT,
+    ALTER COLUMN seller_id TYPE BIGINT;
+
+ALTER TABLE sellers_history
+    ALTER COLUMN id TYPE BIGINT;
+
+ALTER TABLE transactions_history
+    ALTER COLUMN id TYPE BIGINT;
@@ -0,0 +1,59 @@
+CREATE SEQUENCE import_jobs_id_seq AS BIGINT INCREMENT BY 50;
+
+CREATE TABLE import_jobs
+(
+    id             BIGINT PRIMARY KEY   DEFAULT nextval('import_jobs_id_seq'),
+    import_type    VARCHAR(20) NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    processed_rows BIGINT      NOT NULL DEFAULT 0,
+    imported_rows  BIGINT      NOT NULL DEFAULT 0,
+    failed_rows    BIGINT      NOT NULL DEFAULT 0,
+    created_at     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER SEQUENCE import_jobs_id_seq OWNED BY import_jobs.id;
+
+CREATE SEQUENCE import_errors_id_seq AS BIGINT INCREMENT BY 50;
+
+CREATE TABLE import_errors
+(
+    id            BIGINT PRIMARY KEY DEFAULT nextval('import_errors_id_seq'),
+    job_id        BIGINT NOT NULL REFERENCES import_jobs (id) ON DELETE CASCADE,
+    line_number   BIGINT NOT NULL,
+    error_message TEXT   NOT NULL
+);
+
+ALTER SEQUENCE import_errors_id_seq OWNED BY import_errors.id;
+
+CREATE INDEX idx_import_errors_job_id_line_number
+    ON import_errors (job_id, line_number);
+
+CREATE UNLOGGED TABLE sellers_import_staging
+(
+    job_id            BIGINT NOT NULL,
+    line_number       BIGINT NOT NULL,
+    seller_name       TEXT,
+    contact_info      TEXT,
+    registration_date TEXT
+);
+
+CREATE UNLOGGED TABLE transactions_import_staging
+(
+    job_id           BIGINT NOT NULL,
+    line_number      BIGINT NOT NULL,
+    seller_id        TEXT,
+    amount           TEXT,
+    payment_type     TEXT,
+    transaction_date TEXT
+);
+
+CREATE FUNCTION try_cast_timestamp(value TEXT) RETURNS TIMESTAMP AS
+$$
+BEGIN
+    RETURN value::TIMESTAMP;
+EXCEPTION
+    WHEN others THEN
+        RETURN NULL;
+END;
+$$ LANGUAGE plpgsql STABLE;
@@ -0,0 +1,36 @@
+package ru.cft.crm;
+
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.type.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public final class TestEntities {
+    private static final LocalDateTime REGISTRATION_DATE = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    private TestEntities() {
+    }
+
+    public static Seller seller(String sellerName, String contactInfo, boolean active) {
+        Seller seller = new Seller();
+        seller.setSellerName(sellerName);
+        seller.setContactInfo(contactInfo);
+        seller.setRegistrationDate(REGISTRATION_DATE);
+        seller.setUpdatedAt(REGISTRATION_DATE);
+        seller.setIsActive(active);
+        return seller;
+    }
+
+    public static Transaction transaction(Seller seller, String amount, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setSeller(seller);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setPaymentType(PaymentType.CARD);
+        transaction.setTransactionDate(date);
+        transaction.setUpdatedAt(date);
+        transaction.setIsActive(true);
+        return transaction;
+    }
+}
@@ -0,0 +1,272 @@
+package ru.cft.crm.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.cft.crm.cache.impl.AnalyticsCacheImpl;
+import ru.cft.crm.exception.SellerNotFoundException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@DisplayName("Тесты AnalyticsCache")
+public class AnalyticsCacheTest {
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    private MeterRegistry meterRegistry;
+
+    private AnalyticsCacheImpl analyticsCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        loads = new AtomicInteger();
+        analyticsCache = createCache(10, 300);
+    }
+
+    @Test
+    @DisplayName("Повторный запрос с теми же аргументами не вычисляется заново")
+    public void testHit() {
+        AnalyticsCacheKey key = AnalyticsCacheKey.forPeriod("most-productive", JANUARY, FEBRUARY, true);
+
+        analyticsCache.get(key, this::load);
+        Integer result = analyticsCache.get(key, this::load);
+
+        assertThat(result).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("analytics.cache.hit", "handler", "most-productive").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("analytics.cache.miss", "handler", "most-productive").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("analytics.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Разные аргументы кэшируются отдельно")
+    public void testDifferentArguments() {
+        analyticsCache.get(AnalyticsCacheKey.forPeriod("most-productive", JANUARY, FEBRUARY, true), this::load);
+        analyticsCache.get(AnalyticsCacheKey.forPeriod("most-productive", JANUARY, FEBRUARY, false), this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Изменение транзакций удаляет только результаты за пересекающийся период")
+    public void testInvalidateByPeriod() {
+        AnalyticsCacheKey january = AnalyticsCacheKey.forPeriod("most-productive", JANUARY, FEBRUARY, true);
+        AnalyticsCacheKey february = AnalyticsCacheKey.forPeriod(
+                "most-productive", FEBRUARY, FEBRUARY.plusMonths(1), true);
+        analyticsCache.get(january, this::load);
+        analyticsCache.get(february, this::load);
+
+        LocalDateTime changed = FEBRUARY.plusDays(10);
+        analyticsCache.invalidate(CacheInvalidationEvent.transactions(1L, changed, changed));
+        analyticsCache.get(january, this::load);
+        analyticsCache.get(february, this::load);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Изменение транзакций продавца не удаляет лучшие периоды других продавцов")
+    public void testInvalidateBySeller() {
+        AnalyticsCacheKey first = AnalyticsCacheKey.forSeller("best-period", 1L);
+        AnalyticsCacheKey second = AnalyticsCacheKey.forSeller("best-period", 2L);
+        analyticsCache.get(first, this::load);
+        analyticsCache.get(second, this::load);
+
+        analyticsCache.invalidate(CacheInvalidationEvent.transactions(1L, JANUARY, JANUARY));
+        analyticsCache.get(first, this::load);
+        analyticsCache.get(second, this::load);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Изменение продавца удаляет его результаты и результаты по всем продавцам")
+    public void testInvalidateBySellerChange() {
+        AnalyticsCacheKey first = AnalyticsCacheKey.forSeller("best-period", 1L);
+        AnalyticsCacheKey second = AnalyticsCacheKey.forSeller("best-period", 2L);
+        AnalyticsCacheKey all = AnalyticsCacheKey.forPeriod("most-productive", JANUARY, FEBRUARY, true);
+        analyticsCache.get(first, this::load);
+        analyticsCache.get(second, this::load);
+        analyticsCache.get(all, this::load);
+
+        analyticsCache.invalidate(CacheInvalidationEvent.seller(1L));
+        analyticsCache.get(first, this::load);
+        analyticsCache.get(second, this::load);
+        analyticsCache.get(all, this::load);
+
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("Результат за закончившийся период хранится без TTL, за текущий - до истечения TTL")
+    public void testClosedPeriodIgnoresTtl() {
+        analyticsCache = createCache(10, 0);
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        AnalyticsCacheKey closed = AnalyticsCacheKey.forPeriod("most-productive", JANUARY, FEBRUARY, true);
+        AnalyticsCacheKey current = AnalyticsCacheKey.forPeriod(
+                "most-productive", today, today.plusDays(1), true);
+
+        analyticsCache.get(closed, this::load);
+        analyticsCache.get(closed, this::load);
+        analyticsCache.get(current, this::load);
+        analyticsCache.get(current, this::load);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Исключения не кэшируются")
+    public void testExceptionNotCached() {
+        AnalyticsCacheKey key = AnalyticsCacheKey.forSeller("best-period", 1L);
+        Supplier<Integer> failing = () -> {
+            loads.incrementAndGet();
+            throw new SellerNotFoundException("Ни одного продавца не найдено");
+        };
+
+        assertThatThrownBy(() -> analyticsCache.get(key, failing)).isInstanceOf(SellerNotFoundException.class);
+        assertThatThrownBy(() -> analyticsCache.get(key, failing)).isInstanceOf(SellerNotFoundException.class);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Инвалидация во время вычисления не дает закэшировать устаревший результат")
+    public void testInvalidateDuringLoad() {
+        AnalyticsCacheKey key = AnalyticsCacheKey.forSeller("best-period", 1L);
+
+        analyticsCache.get(key, () -> {
+            analyticsCache.invalidate(CacheInvalidationEvent.transactions(1L, JANUARY, JANUARY));
+            return load();
+        });
+        analyticsCache.get(key, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("При превышении размера вытесняется давно не использованный результат")
+    public void testSizeEviction() {
+        analyticsCache = createCache(2, 300);
+        AnalyticsCacheKey first = AnalyticsCacheKey.forSeller("best-period", 1L);
+        AnalyticsCacheKey second = AnalyticsCacheKey.forSeller("best-period", 2L);
+        AnalyticsCacheKey third = AnalyticsCacheKey.forSeller("best-period", 3L);
+
+        analyticsCache.get(first, this::load);
+        analyticsCache.get(second, this::load);
+        analyticsCache.get(first, this::load);
+        analyticsCache.get(third, this::load);
+        analyticsCache.get(first, this::load);
+
+        assertThat(loads).hasValue(3);
+        assertThat(meterRegistry.counter("analytics.cache.eviction").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Одновременные одинаковые запросы разделяют одно вычисление")
+    public void testConcurrentRequestsCoalesced() throws Exception {
+        AnalyticsCacheKey key = AnalyticsCacheKey.forPeriod("most-productive", JANUARY, FEBRUARY, true);
+        CountDownLatch release = new CountDownLatch(1);
+        int requests = 8;
+
+        List<Future<Integer>> results = runConcurrently(requests, () -> analyticsCache.get(key, () -> {
+            await(release);
+            return load();
+        }));
+        awaitCoalesced(requests - 1);
+        release.countDown();
+
+        for (Future<Integer> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("analytics.cache.miss", "handler", "most-productive").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Исключение вычисления получают все ожидающие его запросы")
+    public void testConcurrentRequestsShareException() throws Exception {
+        AnalyticsCacheKey key = AnalyticsCacheKey.forSeller("best-period", 1L);
+        CountDownLatch release = new CountDownLatch(1);
+        int requests = 4;
+
+        List<Future<Integer>> results = runConcurrently(requests, () -> analyticsCache.get(key, () -> {
+            await(release);
+            loads.incrementAndGet();
+            throw new SellerNotFoundException("Ни одного продавца не найдено");
+        }));
+        awaitCoalesced(requests - 1);
+        release.countDown();
+
+        for (Future<Integer> result : results) {
+            assertThat(catchThrowable(() -> result.get(5, TimeUnit.SECONDS)))
+                    .hasCauseInstanceOf(SellerNotFoundException.class);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    private Integer load() {
+        return loads.incrementAndGet();
+    }
+
+    private List<Future<Integer>> runConcurrently(int requests, Callable<Integer> request) {
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            results.add(executor.submit(request));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("analytics.cache.coalesced").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AnalyticsCacheImpl createCache(int maxSize, long ttlSeconds) {
+        meterRegistry = new SimpleMeterRegistry();
+        AnalyticsCacheImpl cache = new AnalyticsCacheImpl(meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", ttlSeconds);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+}
@@ -0,0 +1,165 @@
+package ru.cft.crm.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.model.seller.SellerUpdateRequest;
+import ru.cft.crm.service.crud.SellerService;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@Testcontainers
+@DisplayName("Инвалидация кэшей между узлами через pg_notify")
+public class PgNotifyCacheInvalidationTest {
+    private static final long TIMEOUT_MS = 5_000;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @SpyBean
+    private SellerCache sellerCache;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${cache.invalidation.channel}")
+    private String channel;
+
+    private Long sellerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO sellers (seller_name, contact_info, is_active)
+                VALUES ('Seller', 'seller@test.com', true)
+                """);
+        sellerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM sellers", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM sellers_history");
+        jdbcTemplate.update("DELETE FROM sellers");
+    }
+
+    @Test
+    @DisplayName("Уведомление от другого узла сбрасывает продавца в локальном кэше")
+    void testRemoteNotificationEvictsSeller() throws Exception {
+        assertThat(sellerCache.findActiveSeller(sellerId)).get().extracting("sellerName").isEqualTo("Seller");
+
+        jdbcTemplate.update("UPDATE sellers SET seller_name = 'Renamed' WHERE id = ?", sellerId);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null,
+                channel, objectMapper.writeValueAsString(CacheInvalidationEvent.seller(sellerId)));
+
+        assertThat(await(() -> "Renamed".equals(sellerCache.findActiveSeller(sellerId)
+                .orElseThrow().getSellerName()))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Ошибка обработки уведомления сбрасывает кэши и не останавливает подписку")
+    void testFailedNotificationKeepsListening() throws Exception {
+        CacheInvalidationEvent failing = CacheInvalidationEvent.seller(-1L);
+        doThrow(new IllegalStateException("cache is broken")).when(sellerCache).invalidate(eq(failing));
+        assertThat(sellerCache.findActiveSeller(sellerId)).isPresent();
+
+        jdbcTemplate.update("UPDATE sellers SET seller_name = 'Renamed' WHERE id = ?", sellerId);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null,
+                channel, objectMapper.writeValueAsString(failing));
+
+        assertThat(await(() -> "Renamed".equals(sellerCache.findActiveSeller(sellerId)
+                .orElseThrow().getSellerName()))).isTrue();
+
+        jdbcTemplate.update("UPDATE sellers SET seller_name = 'Renamed again' WHERE id = ?", sellerId);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null,
+                channel, objectMapper.writeValueAsString(CacheInvalidationEvent.seller(sellerId)));
+
+        assertThat(await(() -> "Renamed again".equals(sellerCache.findActiveSeller(sellerId)
+                .orElseThrow().getSellerName()))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Изменение продавца рассылает событие после коммита")
+    void testUpdateSellerPublishesNotification() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN \"" + channel + "\"");
+            }
+
+            sellerService.updateSeller(sellerId, new SellerUpdateRequest("Renamed", null));
+
+            List<CacheInvalidationEvent> events = new ArrayList<>();
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (events.isEmpty() && System.currentTimeMillis() < deadline) {
+                PGNotification[] notifications = pgConnection.getNotifications(100);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        events.add(objectMapper.readValue(notification.getParameter(), CacheInvalidationEvent.class));
+                    }
+                }
+            }
+
+            assertThat(events).containsExactly(CacheInvalidationEvent.seller(sellerId));
+        }
+    }
+
+    private boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
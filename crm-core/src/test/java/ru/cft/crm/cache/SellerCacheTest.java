@@ -0,0 +1,160 @@
+package ru.cft.crm.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.cft.crm.cache.impl.SellerCacheImpl;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.repository.SellerRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты SellerCache")
+public class SellerCacheTest {
+
+    @Mock
+    private SellerRepository sellerRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private SellerCacheImpl sellerCache;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sellerCache = createCache(10, 300);
+    }
+
+    @Test
+    @DisplayName("Повторный запрос продавца не обращается к БД")
+    public void testFindActiveSellerHit() {
+        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(createSeller(1L)));
+
+        Optional<Seller> first = sellerCache.findActiveSeller(1L);
+        Optional<Seller> second = sellerCache.findActiveSeller(1L);
+
+        assertThat(second).get().extracting(Seller::getSellerName).isEqualTo("Seller 1");
+        assertThat(second.get()).isNotSameAs(first.get());
+        verify(sellerRepository).findByIdAndIsActiveTrue(1L);
+        assertThat(meterRegistry.counter("sellers.cache.hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("sellers.cache.miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("После инвалидации продавец заново читается из БД")
+    public void testEvict() {
+        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(createSeller(1L)));
+
+        sellerCache.findActiveSeller(1L);
+        sellerCache.invalidate(CacheInvalidationEvent.seller(1L));
+        sellerCache.findActiveSeller(1L);
+
+        verify(sellerRepository, times(2)).findByIdAndIsActiveTrue(1L);
+    }
+
+    @Test
+    @DisplayName("События об изменении транзакций не сбрасывают продавцов, событие без id сбрасывает всех")
+    public void testInvalidateByEvent() {
+        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(createSeller(1L)));
+
+        sellerCache.findActiveSeller(1L);
+        sellerCache.invalidate(CacheInvalidationEvent.transactions(1L, null, null));
+        sellerCache.findActiveSeller(1L);
+        sellerCache.invalidate(CacheInvalidationEvent.seller(null));
+        sellerCache.findActiveSeller(1L);
+
+        verify(sellerRepository, times(2)).findByIdAndIsActiveTrue(1L);
+    }
+
+    @Test
+    @DisplayName("Инвалидация во время чтения из БД не дает закэшировать устаревшего продавца")
+    public void testEvictDuringLoad() {
+        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenAnswer(invocation -> {
+            sellerCache.invalidate(CacheInvalidationEvent.seller(1L));
+            return Optional.of(createSeller(1L));
+        });
+
+        assertThat(sellerCache.findActiveSeller(1L)).isPresent();
+        sellerCache.findActiveSeller(1L);
+
+        verify(sellerRepository, times(2)).findByIdAndIsActiveTrue(1L);
+    }
+
+    @Test
+    @DisplayName("При превышении размера вытесняется давно не использованный продавец")
+    public void testSizeEviction() {
+        sellerCache = createCache(2, 300);
+        for (long id = 1; id <= 3; id++) {
+            when(sellerRepository.findByIdAndIsActiveTrue(id)).thenReturn(Optional.of(createSeller(id)));
+        }
+
+        sellerCache.findActiveSeller(1L);
+        sellerCache.findActiveSeller(2L);
+        sellerCache.findActiveSeller(1L);
+        sellerCache.findActiveSeller(3L);
+        sellerCache.findActiveSeller(1L);
+        sellerCache.findActiveSeller(2L);
+
+        verify(sellerRepository).findByIdAndIsActiveTrue(1L);
+        verify(sellerRepository, times(2)).findByIdAndIsActiveTrue(2L);
+        assertThat(meterRegistry.counter("sellers.cache.eviction").count()).isEqualTo(2);
+        assertThat(meterRegistry.get("sellers.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Продавец с истекшим TTL заново читается из БД")
+    public void testTtlExpiration() {
+        sellerCache = createCache(10, 0);
+        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(createSeller(1L)));
+
+        sellerCache.findActiveSeller(1L);
+        sellerCache.findActiveSeller(1L);
+
+        verify(sellerRepository, times(2)).findByIdAndIsActiveTrue(1L);
+    }
+
+    @Test
+    @DisplayName("Пакетный запрос читает из БД только отсутствующих в кэше продавцов")
+    public void testFindActiveSellers() {
+        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(createSeller(1L)));
+        when(sellerRepository.findAllByIdInAndIsActiveTrue(List.of(2L, 3L))).thenReturn(List.of(createSeller(2L)));
+        sellerCache.findActiveSeller(1L);
+
+        Map<Long, Seller> sellers = sellerCache.findActiveSellers(List.of(1L, 2L, 3L));
+
+        assertThat(sellers).containsOnlyKeys(1L, 2L);
+        verify(sellerRepository).findAllByIdInAndIsActiveTrue(List.of(2L, 3L));
+    }
+
+    private SellerCacheImpl createCache(int maxSize, long ttlSeconds) {
+        meterRegistry = new SimpleMeterRegistry();
+        SellerCacheImpl cache = new SellerCacheImpl(sellerRepository, meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", ttlSeconds);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+
+    private Seller createSeller(Long id) {
+        Seller seller = new Seller();
+        seller.setId(id);
+        seller.setSellerName("Seller " + id);
+        seller.setContactInfo("seller" + id + "@test.com");
+        seller.setIsActive(true);
+        return seller;
+    }
+}
@@ -0,0 +1,240 @@
+package ru.cft.crm.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.history.impl.WriteBehindHistorySaver;
+import ru.cft.crm.repository.TransactionsHistoryRepository;
+import ru.cft.crm.type.ChangeType;
+import ru.cft.crm.type.PaymentType;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты WriteBehindHistorySaver")
+public class WriteBehindHistorySaverTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionsHistoryRepository transactionsHistoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private MeterRegistry meterRegistry;
+
+    private WriteBehindHistorySaver historySaver;
+
+    private Seller seller;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        historySaver = new WriteBehindHistorySaver(
+                jdbcTemplate,
+                transactionsHistoryRepository,
+                new ObjectMapper().findAndRegisterModules(),
+                meterRegistry,
+                transactionManager);
+        ReflectionTestUtils.setField(historySaver, "queueCapacity", 100);
+        ReflectionTestUtils.setField(historySaver, "batchSize", 3);
+        ReflectionTestUtils.setField(historySaver, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(historySaver, "spillFile", tempDir.resolve("history-spill.ndjson"));
+
+        seller = new Seller();
+        seller.setId(1L);
+        seller.setSellerName("Test Seller");
+        seller.setContactInfo("seller@test.com");
+        seller.setRegistrationDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        seller.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        seller.setIsActive(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (historySaver.isRunning()) {
+            historySaver.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Тест на запись пачки при достижении ее размера")
+    public void testFlushWhenBatchIsFull() {
+        historySaver.start();
+
+        historySaver.saveTransactionHistory(createTransaction(1L), ChangeType.UPDATED);
+        historySaver.saveTransactionHistory(createTransaction(2L), ChangeType.UPDATED);
+        historySaver.saveTransactionHistory(createTransaction(3L), ChangeType.DELETED);
+
+        verify(jdbcTemplate, timeout(5_000)).batchUpdate(
+                contains("transactions_history"), argThat(batch -> batch.size() == 3), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Тест на запись неполной пачки по таймеру")
+    public void testFlushByInterval() {
+        ReflectionTestUtils.setField(historySaver, "flushIntervalMs", 50L);
+        historySaver.start();
+
+        historySaver.saveSellerHistory(seller, ChangeType.UPDATED);
+
+        verify(jdbcTemplate, timeout(5_000)).batchUpdate(
+                contains("sellers_history"), argThat(batch -> batch.size() == 1), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Тест на запись оставшихся записей при остановке")
+    public void testFlushRemainingOnStop() {
+        historySaver.start();
+
+        historySaver.saveSellerHistory(seller, ChangeType.UPDATED);
+        historySaver.saveTransactionHistory(createTransaction(1L), ChangeType.DELETED);
+        historySaver.stop();
+
+        verify(jdbcTemplate).batchUpdate(
+                contains("sellers_history"), argThat(batch -> batch.size() == 1), anyInt(), any());
+        verify(jdbcTemplate).batchUpdate(
+                contains("transactions_history"), argThat(batch -> batch.size() == 1), anyInt(), any());
+        assertThat(meterRegistry.timer("history.write_behind.flush").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("history.write_behind.queue.size").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Тест на сохранение в файл при ошибке записи и восстановление при запуске")
+    public void testSpillAndReplay() throws Exception {
+        when(jdbcTemplate.batchUpdate(contains("transactions_history"), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("database is down"));
+        Path spillFile = tempDir.resolve("history-spill.ndjson");
+
+        historySaver.start();
+        historySaver.saveTransactionHistory(createTransaction(1L), ChangeType.DELETED);
+        historySaver.stop();
+
+        assertThat(Files.readAllLines(spillFile)).hasSize(1);
+        assertThat(meterRegistry.counter("history.write_behind.spilled").count()).isEqualTo(1);
+
+        reset(jdbcTemplate);
+        historySaver.start();
+
+        verify(jdbcTemplate).batchUpdate(
+                contains("transactions_history"), argThat(batch -> batch.size() == 1), anyInt(), any());
+        assertThat(spillFile).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Тест на то, что недоступность БД не останавливает поток записи")
+    public void testWriterSurvivesUnavailableDatabase() throws Exception {
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("database is down"))
+                .thenReturn(null);
+        Path spillFile = tempDir.resolve("history-spill.ndjson");
+        ReflectionTestUtils.setField(historySaver, "batchSize", 1);
+        historySaver.start();
+
+        historySaver.saveTransactionHistory(createTransaction(1L), ChangeType.DELETED);
+        verify(transactionManager, timeout(5_000)).getTransaction(any());
+        historySaver.saveTransactionHistory(createTransaction(2L), ChangeType.DELETED);
+
+        verify(jdbcTemplate, timeout(5_000)).batchUpdate(
+                contains("transactions_history"), argThat(batch -> batch.size() == 1), anyInt(), any());
+        assertThat(Files.readAllLines(spillFile)).hasSize(1);
+        assertThat(historySaver.isRunning()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Тест на синхронную запись истории до запуска")
+    public void testWriteBeforeStart() {
+        historySaver.saveSellerHistory(seller, ChangeType.UPDATED);
+
+        verify(jdbcTemplate).batchUpdate(
+                contains("sellers_history"), argThat(batch -> batch.size() == 1), anyInt(), any());
+        assertThat(meterRegistry.counter("history.write_behind.overflow").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Тест на то, что история откаченной транзакции не сохраняется")
+    public void testHistoryIsNotQueuedOnRollback() {
+        historySaver.start();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            historySaver.saveSellerHistory(seller, ChangeType.DELETED);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        historySaver.stop();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Тест на то, что история попадает в очередь после коммита транзакции")
+    public void testHistoryIsQueuedAfterCommit() {
+        historySaver.start();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            historySaver.saveSellerHistory(seller, ChangeType.DELETED);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        historySaver.stop();
+
+        verify(jdbcTemplate).batchUpdate(
+                contains("sellers_history"), argThat(batch -> batch.size() == 1), anyInt(), any());
+    }
+
+    private Transaction createTransaction(Long id) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setSeller(seller);
+        transaction.setAmount(BigDecimal.valueOf(100));
+        transaction.setPaymentType(PaymentType.CARD);
+        transaction.setTransactionDate(LocalDateTime.of(2024, 1, 2, 12, 0));
+        transaction.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 12, 0));
+        transaction.setIsActive(true);
+        return transaction;
+    }
+}
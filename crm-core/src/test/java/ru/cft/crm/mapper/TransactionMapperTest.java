@@ -62,6 +62,7 @@ class TransactionMapperTest {
         assertThat(response).isNotNull();
         assertThat(response.id()).isEqualTo(1L);
         assertThat(response.sellerId()).isEqualTo(1L);
+        assertThat(response.sellerName()).isEqualTo("Test Seller");
         assertThat(response.amount()).isEqualTo(new BigDecimal("100.00"));
         assertThat(response.paymentType()).isEqualTo(PaymentType.CARD);
         assertThat(response.transactionDate()).isNotNull();
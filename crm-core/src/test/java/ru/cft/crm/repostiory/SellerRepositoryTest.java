@@ -11,12 +11,16 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import ru.cft.crm.entity.Seller;
 import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static ru.cft.crm.TestEntities.transaction;
 
 @SpringBootTest
 @Testcontainers
@@ -40,6 +44,9 @@ public class SellerRepositoryTest {
     @Autowired
     private SellerRepository sellerRepository;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
 
     @Test
     @DisplayName("Тест на поиск всех активных продавцов")
@@ -90,4 +97,57 @@ public class SellerRepositoryTest {
 
         assertThat(exists).isTrue();
     }
+
+    @Test
+    @DisplayName("Тест на поиск продавцов с суммой транзакций меньше заданной, включая продавцов без транзакций")
+    void testFindSellersWithTransactionsAmountLessThan() {
+        Seller richSeller = new Seller();
+        richSeller.setSellerName("Rich Seller");
+        richSeller.setIsActive(true);
+        richSeller.setContactInfo("rich@test.com");
+        richSeller.setRegistrationDate(LocalDateTime.now());
+        richSeller.setUpdatedAt(LocalDateTime.now());
+        sellerRepository.save(richSeller);
+
+        Seller poorSeller = new Seller();
+        poorSeller.setSellerName("Poor Seller");
+        poorSeller.setIsActive(true);
+        poorSeller.setContactInfo("poor@test.com");
+        poorSeller.setRegistrationDate(LocalDateTime.now());
+        poorSeller.setUpdatedAt(LocalDateTime.now());
+        sellerRepository.save(poorSeller);
+
+        Seller idleSeller = new Seller();
+        idleSeller.setSellerName("Idle Seller");
+        idleSeller.setIsActive(true);
+        idleSeller.setContactInfo("idle@test.com");
+        idleSeller.setRegistrationDate(LocalDateTime.now());
+        idleSeller.setUpdatedAt(LocalDateTime.now());
+        sellerRepository.save(idleSeller);
+
+        transactionRepository.saveAll(List.of(
+                transaction(richSeller, "700.00", LocalDateTime.of(2024, 1, 10, 12, 0)),
+                transaction(poorSeller, "100.00", LocalDateTime.of(2024, 1, 11, 12, 0)),
+                transaction(idleSeller, "900.00", LocalDateTime.of(2024, 3, 1, 12, 0))
+        ));
+
+        List<SellerAmountProjection> sellers = sellerRepository.findSellersWithTransactionsAmountLessThan(
+                new BigDecimal("500"),
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 2, 1, 0, 0),
+                true);
+
+        assertThat(sellers)
+                .extracting(SellerAmountProjection::getId)
+                .contains(poorSeller.getId(), idleSeller.getId())
+                .doesNotContain(richSeller.getId());
+        assertThat(sellers)
+                .filteredOn(seller -> seller.getId().equals(idleSeller.getId()))
+                .singleElement()
+                .satisfies(seller -> assertThat(seller.getAmount()).isEqualByComparingTo(BigDecimal.ZERO));
+        assertThat(sellers)
+                .filteredOn(seller -> seller.getId().equals(poorSeller.getId()))
+                .singleElement()
+                .satisfies(seller -> assertThat(seller.getAmount()).isEqualByComparingTo("100.00"));
+    }
 }
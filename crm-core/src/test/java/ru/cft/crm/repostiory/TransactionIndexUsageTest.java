@@ -0,0 +1,221 @@
+package ru.cft.crm.repostiory;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.partition.TransactionPartitionManager;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.TransactionRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.cft.crm.repostiory.TransactionIndexUsageTest$RecordingStatementInspector")
+@Testcontainers
+@DisplayName("Планы запросов к таблице транзакций")
+public class TransactionIndexUsageTest {
+    private static final int SELLERS_COUNT = 500;
+    private static final int TRANSACTIONS_COUNT = 200_000;
+    private static final YearMonth FIRST_MONTH = YearMonth.now().minusMonths(21);
+    private static final int HISTORY_DAYS = 790;
+    private static final LocalDateTime START = FIRST_MONTH.plusMonths(2).atDay(1).atStartOfDay();
+    private static final LocalDateTime END = START.plusDays(1);
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(1000);
+    private static final String SELLER_ID_INDEX = "(\\d|default)_seller_id_transaction_date_id_idx";
+    private static final String TRANSACTION_DATE_INDEX = "(\\d|default)_transaction_date_id_idx";
+    private static final String UPDATED_AT_INDEX = "(\\d|default)_updated_at_id_idx";
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private TransactionPartitionManager transactionPartitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Seller seller;
+
+    @BeforeEach
+    void setUp() {
+        for (YearMonth month = FIRST_MONTH; month.isBefore(YearMonth.now()); month = month.plusMonths(1)) {
+            transactionPartitionManager.createPartition(month);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO sellers (seller_name, contact_info, is_active)
+                SELECT 'Seller ' || i, 'seller' || i || '@test.com', i % 10 <> 0
+                FROM generate_series(1, ?) AS i
+                """, SELLERS_COUNT);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (seller_id, amount, payment_type, transaction_date, is_active)
+                SELECT s.id,
+                       (i % 1000) + 0.99,
+                       'CARD',
+                       CAST(? AS TIMESTAMP) + (i % ?) * INTERVAL '1 day' + (i % 86400) * INTERVAL '1 second',
+                       i % 20 <> 0
+                FROM generate_series(1, ?) AS i
+                JOIN sellers s ON s.seller_name = 'Seller ' || (i % ? + 1)
+                """, FIRST_MONTH.atDay(1).atStartOfDay(), HISTORY_DAYS, TRANSACTIONS_COUNT, SELLERS_COUNT);
+        jdbcTemplate.execute("ANALYZE sellers");
+        jdbcTemplate.execute("ANALYZE transactions");
+        seller = sellerRepository.findByIdAndIsActiveTrue(
+                jdbcTemplate.queryForObject("SELECT MIN(id) FROM sellers WHERE is_active", Long.class)).orElseThrow();
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE transactions, sellers");
+    }
+
+    @Test
+    @DisplayName("Поиск транзакций по id продавца использует индекс")
+    void testFindAllBySellerIdUsesIndex() {
+        transactionRepository.findAllBySellerId(seller.getId());
+        assertUsesIndex(SELLER_ID_INDEX, seller.getId());
+    }
+
+    @Test
+    @DisplayName("Поиск активных транзакций продавца использует индекс")
+    void testFindBySellerAndIsActiveTrueUsesIndex() {
+        transactionRepository.findBySellerAndIsActiveTrue(seller);
+        assertUsesIndex(SELLER_ID_INDEX, seller.getId());
+    }
+
+    @Test
+    @DisplayName("Поиск транзакций активных продавцов за период использует индекс")
+    void testFindAllByTransactionDateBetweenAndSellerIsActiveTrueUsesIndex() {
+        transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(START, END);
+        assertUsesIndex(TRANSACTION_DATE_INDEX, START, END);
+    }
+
+    @Test
+    @DisplayName("Поиск транзакций неактивных продавцов за период использует индекс")
+    void testFindAllByTransactionDateBetweenAndSellerIsActiveFalseUsesIndex() {
+        transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveFalse(START, END);
+        assertUsesIndex(TRANSACTION_DATE_INDEX, START, END);
+    }
+
+    @Test
+    @DisplayName("Поиск сумм транзакций активных продавцов за период использует индекс")
+    void testFindSellerTransactionAmountsBetweenUsesIndex() {
+        transactionRepository.findSellerTransactionAmountsBetween(START, END, true);
+        assertUsesIndex(TRANSACTION_DATE_INDEX, START, END, true);
+    }
+
+    @Test
+    @DisplayName("Поиск самых продуктивных продавцов использует индекс")
+    void testFindTopSellersByAmountBetweenUsesIndex() {
+        transactionRepository.findTopSellersByAmountBetween(START, END, true);
+        assertUsesIndex(TRANSACTION_DATE_INDEX, START, END, true, START, END, true);
+    }
+
+    @Test
+    @DisplayName("Поиск самого загруженного периода продавца использует индекс")
+    void testFindBusiestPeriodBySellerIdUsesIndex() {
+        transactionRepository.findBusiestPeriodBySellerId(seller.getId(), "day");
+        assertUsesIndex(SELLER_ID_INDEX, "day", seller.getId());
+    }
+
+    @Test
+    @DisplayName("Поиск продавцов с суммой транзакций меньше заданной использует индекс")
+    void testFindSellersWithTransactionsAmountLessThanUsesIndex() {
+        sellerRepository.findSellersWithTransactionsAmountLessThan(MAX_AMOUNT, START, END, true);
+        assertUsesIndex(TRANSACTION_DATE_INDEX, START, END, true, MAX_AMOUNT);
+    }
+
+    @Test
+    @DisplayName("Страница транзакций продавца по курсору использует индекс")
+    void testFindActivePageBySellerIdBeforeUsesIndex() {
+        transactionRepository.findActivePageBySellerIdBefore(seller.getId(), END, Long.MAX_VALUE, Limit.of(51));
+        assertUsesIndex(SELLER_ID_INDEX, seller.getId(), END, Long.MAX_VALUE, 0, 51);
+    }
+
+    @Test
+    @DisplayName("Глубокая страница всех транзакций по курсору использует индекс")
+    void testFindPageBeforeUsesIndex() {
+        transactionRepository.findPageBefore(START, Long.MAX_VALUE, Limit.of(51));
+        assertUsesIndex(TRANSACTION_DATE_INDEX, START, Long.MAX_VALUE, 0, 51);
+    }
+
+    @Test
+    @DisplayName("Глубокая страница активных транзакций по курсору использует индекс")
+    void testFindActivePageBeforeUsesIndex() {
+        transactionRepository.findActivePageBefore(START, Long.MAX_VALUE, Limit.of(51));
+        assertUsesIndex(TRANSACTION_DATE_INDEX, START, Long.MAX_VALUE, 0, 51);
+    }
+
+    @Test
+    @DisplayName("Изменения транзакций после отметки выбираются по индексу updated_at")
+    void testFindChangedAfterUsesIndex() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        LocalDateTime before = LocalDateTime.now().plusDays(1);
+        transactionRepository.findChangedAfter(since, 0L, before, Limit.of(1001));
+        assertUsesIndex(UPDATED_AT_INDEX, since, 0L, before, 0, 1001);
+    }
+
+    private void assertUsesIndex(String index, Object... parameters) {
+        String sql = RecordingStatementInspector.lastSelect();
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+
+        assertThat(plan)
+                .as("План запроса:%n%s%n%s", sql, plan)
+                .doesNotContain("Seq Scan on transactions")
+                .containsPattern(index);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+        private static String lastSelect() {
+            for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+                if (STATEMENTS.get(i).stripLeading().toLowerCase().startsWith("select")) {
+                    return STATEMENTS.get(i);
+                }
+            }
+            throw new IllegalStateException("Запрос не был выполнен");
+        }
+    }
+}
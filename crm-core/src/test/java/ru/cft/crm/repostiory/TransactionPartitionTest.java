@@ -0,0 +1,140 @@
+package ru.cft.crm.repostiory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.partition.TransactionPartitionManager;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.type.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@DisplayName("Тесты секционирования таблицы транзакций")
+public class TransactionPartitionTest {
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private TransactionPartitionManager transactionPartitionManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Seller testSeller;
+
+    @BeforeEach
+    void setUp() {
+        testSeller = new Seller();
+        testSeller.setSellerName("Test Seller");
+        testSeller.setContactInfo("seller@test.com");
+        testSeller.setRegistrationDate(LocalDateTime.now());
+        testSeller.setUpdatedAt(LocalDateTime.now());
+        testSeller.setIsActive(true);
+        sellerRepository.save(testSeller);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        sellerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Секции на ближайшие месяцы создаются при запуске приложения")
+    void testUpcomingPartitionsExist() {
+        transactionPartitionManager.createUpcomingPartitions();
+
+        assertThat(transactionPartitionManager.createPartition(YearMonth.now())).isFalse();
+        assertThat(transactionPartitionManager.createPartition(YearMonth.now().plusMonths(3))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Новая секция забирает транзакции своего месяца из секции по умолчанию")
+    void testCreatePartitionMovesRowsFromDefaultPartition() {
+        Transaction transaction = transactionRepository.save(
+                createTransaction(LocalDateTime.of(2019, 5, 10, 12, 0)));
+        assertThat(partitionOf(transaction)).isEqualTo("transactions_default");
+
+        assertThat(transactionPartitionManager.createPartition(YearMonth.of(2019, 5))).isTrue();
+
+        assertThat(partitionOf(transaction)).isEqualTo("transactions_2019_05");
+        assertThat(transactionRepository.findById(transaction.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Запрос за месяц читает только секцию этого месяца")
+    void testMonthQueryIsPrunedToSinglePartition() {
+        transactionPartitionManager.createPartition(YearMonth.of(2020, 1));
+        transactionPartitionManager.createPartition(YearMonth.of(2020, 2));
+        transactionPartitionManager.createPartition(YearMonth.of(2020, 3));
+        transactionRepository.saveAll(List.of(
+                createTransaction(LocalDateTime.of(2020, 1, 15, 10, 0)),
+                createTransaction(LocalDateTime.of(2020, 2, 15, 10, 0)),
+                createTransaction(LocalDateTime.of(2020, 3, 15, 10, 0))
+        ));
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM transactions WHERE transaction_date BETWEEN ? AND ?",
+                String.class,
+                LocalDateTime.of(2020, 2, 1, 0, 0),
+                LocalDateTime.of(2020, 2, 29, 23, 59, 59)));
+
+        assertThat(plan).contains("transactions_2020_02");
+        assertThat(plan).doesNotContain("transactions_2020_01", "transactions_2020_03", "transactions_default");
+    }
+
+    private String partitionOf(Transaction transaction) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM transactions WHERE id = ?",
+                String.class,
+                transaction.getId());
+    }
+
+    private Transaction createTransaction(LocalDateTime transactionDate) {
+        Transaction transaction = new Transaction();
+        transaction.setSeller(testSeller);
+        transaction.setTransactionDate(transactionDate);
+        transaction.setAmount(BigDecimal.valueOf(100));
+        transaction.setPaymentType(PaymentType.CARD);
+        transaction.setUpdatedAt(transactionDate);
+        transaction.setIsActive(true);
+        return transaction;
+    }
+}
@@ -1,5 +1,8 @@
 package ru.cft.crm.repostiory;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,10 +18,12 @@ import ru.cft.crm.entity.Seller;
 import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.repository.SellerRepository;
 import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.projection.PeriodCountProjection;
 import ru.cft.crm.type.PaymentType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,7 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Testcontainers
 @DisplayName("Тесты TransactionRepository")
 public class TransactionRepositoryTest {
@@ -51,6 +56,9 @@ public class TransactionRepositoryTest {
     @Autowired
     private SellerRepository sellerRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Seller testSeller;
     private Transaction testTransaction;
 
@@ -114,4 +122,56 @@ public class TransactionRepositoryTest {
         assertFalse(transactions.isEmpty());
         assertEquals(testTransaction.getId(), transactions.get(0).getId());
     }
+
+    @Test
+    @DisplayName("Поиск самого загруженного календарного периода продавца")
+    void testFindBusiestPeriodBySellerId() {
+        transactionRepository.saveAll(List.of(
+                createTransaction(LocalDateTime.of(2024, 1, 1, 10, 0)),
+                createTransaction(LocalDateTime.of(2024, 1, 3, 11, 0)),
+                createTransaction(LocalDateTime.of(2024, 1, 3, 18, 0)),
+                createTransaction(LocalDateTime.of(2024, 2, 20, 9, 0))
+        ));
+
+        Optional<PeriodCountProjection> day = transactionRepository
+                .findBusiestPeriodBySellerId(testSeller.getId(), "day");
+        Optional<PeriodCountProjection> month = transactionRepository
+                .findBusiestPeriodBySellerId(testSeller.getId(), "month");
+
+        assertTrue(day.isPresent());
+        assertEquals(LocalDateTime.of(2024, 1, 3, 0, 0), day.get().getStartDate());
+        assertEquals(2L, day.get().getTransactionCount());
+        assertTrue(month.isPresent());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), month.get().getStartDate());
+        assertEquals(3L, month.get().getTransactionCount());
+        assertEquals(5L, day.get().getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Пакетная вставка транзакций")
+    void testSaveAllUsesJdbcBatching() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            transactions.add(createTransaction(LocalDateTime.now().minusMinutes(i)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transactionRepository.saveAll(transactions);
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 10);
+        assertEquals(120, transactions.stream().map(Transaction::getId).distinct().count());
+    }
+
+    private Transaction createTransaction(LocalDateTime transactionDate) {
+        Transaction transaction = new Transaction();
+        transaction.setSeller(testSeller);
+        transaction.setTransactionDate(transactionDate);
+        transaction.setAmount(BigDecimal.valueOf(100));
+        transaction.setPaymentType(PaymentType.CASH);
+        transaction.setUpdatedAt(transactionDate);
+        transaction.setIsActive(true);
+        return transaction;
+    }
 }
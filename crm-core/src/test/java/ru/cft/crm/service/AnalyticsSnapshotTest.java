@@ -0,0 +1,264 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.cache.InvalidatableCache;
+import ru.cft.crm.model.seller.SellerCreateRequest;
+import ru.cft.crm.model.transaction.TransactionCreateRequest;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.model.transaction.TransactionUpdateRequest;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.service.analytics.handler.BestTransactionPeriodHandler;
+import ru.cft.crm.service.analytics.handler.LeaderboardHandler;
+import ru.cft.crm.service.analytics.handler.MostProductiveSellerHandler;
+import ru.cft.crm.service.analytics.handler.TransactionsLessThenHandler;
+import ru.cft.crm.service.analytics.handler.impl.BestTransactionPeriodHandlerImpl;
+import ru.cft.crm.service.analytics.handler.impl.BestTransactionPeriodSnapshotHandler;
+import ru.cft.crm.service.analytics.handler.impl.LeaderboardHandlerImpl;
+import ru.cft.crm.service.analytics.handler.impl.MostProductiveSellerHandlerImpl;
+import ru.cft.crm.service.analytics.handler.impl.TransactionsLessThenHandlerImpl;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.service.crud.TransactionService;
+import ru.cft.crm.service.imports.ImportService;
+import ru.cft.crm.type.ImportType;
+import ru.cft.crm.type.LeaderboardMetric;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "analytics.snapshot.enabled=true",
+        "analytics.snapshot.refresh-overlap-seconds=0"
+})
+@Testcontainers
+@DisplayName("Аналитика по снимку транзакций в памяти")
+public class AnalyticsSnapshotTest {
+    private static final long TIMEOUT_MS = 5_000;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private AnalyticsSnapshot analyticsSnapshot;
+
+    @Autowired
+    private MostProductiveSellerHandler mostProductiveSellerHandler;
+
+    @Autowired
+    private MostProductiveSellerHandlerImpl mostProductiveSellerDatabaseHandler;
+
+    @Autowired
+    private TransactionsLessThenHandler transactionsLessThenHandler;
+
+    @Autowired
+    private TransactionsLessThenHandlerImpl transactionsLessThenDatabaseHandler;
+
+    @Autowired
+    private BestTransactionPeriodHandler bestTransactionPeriodHandler;
+
+    @Autowired
+    private BestTransactionPeriodHandlerImpl bestTransactionPeriodDatabaseHandler;
+
+    @Autowired
+    private LeaderboardHandler leaderboardHandler;
+
+    @Autowired
+    private LeaderboardHandlerImpl leaderboardDatabaseHandler;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long firstSellerId;
+
+    private Long secondSellerId;
+
+    @BeforeEach
+    void setUp() {
+        analyticsSnapshot.refresh();
+        firstSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 1", "first@test.com")).id();
+        secondSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 2", "second@test.com")).id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM seller_daily_stats");
+        jdbcTemplate.update("DELETE FROM transactions_history");
+        jdbcTemplate.update("DELETE FROM sellers_history");
+        jdbcTemplate.update("DELETE FROM import_jobs");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM sellers");
+        synchronized (analyticsSnapshot) {
+            ReflectionTestUtils.setField(analyticsSnapshot, "snapshot", null);
+            ReflectionTestUtils.setField(analyticsSnapshot, "refreshedAt", null);
+        }
+    }
+
+    @Test
+    @DisplayName("Снимок после обновления совпадает с аналитикой по БД")
+    void testSnapshotMatchesDatabase() {
+        importService.importCsv(ImportType.TRANSACTIONS, csv("""
+                seller_id,amount,payment_type,transaction_date
+                %d,100.00,CASH,2024-01-01 10:00:00
+                %d,300.00,CARD,2024-01-31 23:59:59
+                %d,50.00,CARD,2024-02-01 00:00:00
+                %d,70.00,TRANSFER,2024-02-15 12:30:00
+                """.formatted(firstSellerId, secondSellerId, firstSellerId, firstSellerId)), null);
+        TransactionResponse created = transactionService.createTransaction(
+                new TransactionCreateRequest(firstSellerId, new BigDecimal("10.00"), "CASH"));
+        transactionService.updateTransaction(
+                created.id(), new TransactionUpdateRequest(new BigDecimal("15.50"), null));
+        importService.importCsv(ImportType.TRANSACTIONS, csv("""
+                seller_id,amount,payment_type,transaction_date
+                %d,40.00,CASH,2024-01-15 08:00:00
+                """.formatted(secondSellerId)), null);
+        analyticsSnapshot.refresh();
+
+        assertThat(mostProductiveSellerHandler.getMostProductiveSellers(LocalDate.of(2024, 1, 10), "MONTH", true))
+                .containsExactlyInAnyOrderElementsOf(mostProductiveSellerDatabaseHandler
+                        .getMostProductiveSellers(LocalDate.of(2024, 1, 10), "MONTH", true));
+        assertThat(mostProductiveSellerHandler.getMostProductiveSellers(LocalDate.of(2024, 2, 1), "YEAR", true))
+                .containsExactlyInAnyOrderElementsOf(mostProductiveSellerDatabaseHandler
+                        .getMostProductiveSellers(LocalDate.of(2024, 2, 1), "YEAR", true));
+        assertThat(mostProductiveSellerHandler.getMostProductiveSellers(LocalDate.now(), "DAY", true))
+                .containsExactlyInAnyOrderElementsOf(mostProductiveSellerDatabaseHandler
+                        .getMostProductiveSellers(LocalDate.now(), "DAY", true));
+        assertThat(transactionsLessThenHandler.getSellersWithTransactionsLessThan(
+                new BigDecimal("300"), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29), true))
+                .containsExactlyInAnyOrderElementsOf(transactionsLessThenDatabaseHandler
+                        .getSellersWithTransactionsLessThan(
+                                new BigDecimal("300"), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29), true));
+        assertThat(bestTransactionPeriodHandler.getBestTransactionPeriod(firstSellerId))
+                .isEqualTo(bestTransactionPeriodDatabaseHandler.getBestTransactionPeriod(firstSellerId));
+        DateRange year = leaderboardHandler.getDateRange(LocalDate.of(2024, 6, 1), "YEAR", null, null);
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            assertThat(leaderboardHandler.getLeaderboard(year, metric, 1, true))
+                    .isEqualTo(leaderboardDatabaseHandler.getLeaderboard(year, metric, 1, true));
+        }
+        assertThat(analyticsSnapshot.current()).get().extracting(TransactionSnapshot::size).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Удаленный продавец попадает в выборку неактивных продавцов")
+    void testDeletedSeller() {
+        transactionService.createTransaction(
+                new TransactionCreateRequest(secondSellerId, new BigDecimal("10.00"), "CASH"));
+        sellerService.deleteSeller(secondSellerId);
+        analyticsSnapshot.refresh();
+
+        assertThat(transactionsLessThenHandler.getSellersWithTransactionsLessThan(
+                new BigDecimal("100"), LocalDate.now(), LocalDate.now(), false))
+                .containsExactlyInAnyOrderElementsOf(transactionsLessThenDatabaseHandler
+                        .getSellersWithTransactionsLessThan(
+                                new BigDecimal("100"), LocalDate.now(), LocalDate.now(), false));
+        assertThat(bestTransactionPeriodHandler).isInstanceOf(BestTransactionPeriodSnapshotHandler.class);
+    }
+
+    @Test
+    @DisplayName("Обновление снимка не пропускает транзакцию, зафиксированную позже своего updated_at")
+    void testRefreshWaitsForOpenWriteTransaction() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    INSERT INTO transactions (seller_id, amount, payment_type, transaction_date, updated_at)
+                    VALUES (?, 25.00, 'CASH', '2024-03-01 10:00:00', LOCALTIMESTAMP)
+                    """)) {
+                statement.setLong(1, firstSellerId);
+                statement.executeUpdate();
+            }
+            analyticsSnapshot.refresh();
+            analyticsSnapshot.refresh();
+            connection.commit();
+        }
+        analyticsSnapshot.refresh();
+
+        assertThat(analyticsSnapshot.current()).get().extracting(TransactionSnapshot::size).isEqualTo(1);
+        assertThat(analyticsSnapshot.amountIndex().sumAmountCents(firstSellerId,
+                LocalDateTime.of(2024, 3, 1, 0, 0).toEpochSecond(ZoneOffset.UTC),
+                LocalDateTime.of(2024, 3, 2, 0, 0).toEpochSecond(ZoneOffset.UTC)))
+                .isEqualTo(2500);
+    }
+
+    @Test
+    @DisplayName("Полная перестройка снимка убирает строки, удаленные в обход приложения")
+    void testRebuildDropsRemovedRows() {
+        transactionService.createTransaction(
+                new TransactionCreateRequest(firstSellerId, new BigDecimal("10.00"), "CASH"));
+        transactionService.createTransaction(
+                new TransactionCreateRequest(secondSellerId, new BigDecimal("20.00"), "CARD"));
+        analyticsSnapshot.refresh();
+        jdbcTemplate.update("DELETE FROM transactions WHERE seller_id = ?", secondSellerId);
+
+        analyticsSnapshot.refresh();
+        assertThat(analyticsSnapshot.current()).get().extracting(TransactionSnapshot::size).isEqualTo(2);
+
+        analyticsSnapshot.rebuild();
+        assertThat(analyticsSnapshot.current()).get().extracting(TransactionSnapshot::size).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Инвалидация обновляет снимок в фоновом потоке")
+    void testInvalidationRefreshesInBackground() throws InterruptedException {
+        Long sellerId = sellerService.createSeller(new SellerCreateRequest("Seller 3", "third@test.com")).id();
+
+        ((InvalidatableCache) analyticsSnapshot).invalidateAll();
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!analyticsSnapshot.current().orElseThrow().containsSeller(sellerId)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(analyticsSnapshot.current()).get().matches(snapshot -> snapshot.containsSeller(sellerId));
+    }
+
+    private ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
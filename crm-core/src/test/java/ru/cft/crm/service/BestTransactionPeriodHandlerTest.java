@@ -7,19 +7,32 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.cft.crm.model.analitycs.BestPeriodsResponse;
 import ru.cft.crm.model.utilis.BestPeriod;
+import ru.cft.crm.model.utilis.PeriodDefinition;
 import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.TransactionNotFoundException;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
 import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.projection.PeriodCountProjection;
 import ru.cft.crm.service.analytics.handler.impl.BestTransactionPeriodHandlerImpl;
+import ru.cft.crm.type.TimePeriod;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Тесты для BestTransactionPeriodHandlerImpl")
@@ -29,6 +42,9 @@ public class BestTransactionPeriodHandlerTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private SellerDailyStatsRepository sellerDailyStatsRepository;
+
     @InjectMocks
     private BestTransactionPeriodHandlerImpl bestTransactionPeriodHandler;
 
@@ -96,6 +112,9 @@ public class BestTransactionPeriodHandlerTest {
                         BigDecimal.valueOf(1500),
                         LocalDateTime.of(2024, 3, 30, 18, 0))
         );
+        ReflectionTestUtils.setField(bestTransactionPeriodHandler, "databaseThreshold", 100L);
+        lenient().when(transactionRepository.findBusiestPeriodBySellerId(1L, "day"))
+                .thenReturn(Optional.of(new PeriodCount(LocalDateTime.of(2024, 1, 1, 0, 0), 2L, 15L)));
     }
 
     @Test
@@ -108,6 +127,7 @@ public class BestTransactionPeriodHandlerTest {
         BestPeriodsResponse response = bestTransactionPeriodHandler.getBestTransactionPeriod(sellerId);
 
         BestPeriod bestDayPeriod = response.bestDayPeriod();
+        verify(transactionRepository, never()).findBusiestPeriodBySellerId(sellerId, "week");
 
         assertThat(bestDayPeriod.transactionCount())
                 .isEqualTo(2);
@@ -160,11 +180,130 @@ public class BestTransactionPeriodHandlerTest {
     public void testGetBestTransactionPeriodNoTransactions() {
         Long sellerId = 1L;
 
-        when(transactionRepository.findAllBySellerId(sellerId)).thenReturn(List.of());
+        when(transactionRepository.findBusiestPeriodBySellerId(sellerId, "day")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> bestTransactionPeriodHandler.getBestTransactionPeriod(sellerId))
                 .isInstanceOf(TransactionNotFoundException.class)
                 .hasMessage("У продавца нет транзакций");
+        verify(transactionRepository, never()).findAllBySellerId(sellerId);
+    }
+
+    @Test
+    @DisplayName("Тест на расчет нескольких произвольных периодов за один вызов")
+    public void testBestPeriodsForCustomDefinitions() {
+        Long sellerId = 1L;
+
+        when(transactionRepository.findAllBySellerId(sellerId)).thenReturn(transactions);
+
+        List<BestPeriod> bestPeriods = bestTransactionPeriodHandler.getBestTransactionPeriods(
+                sellerId,
+                List.of(
+                        new PeriodDefinition(Duration.ofHours(3), TimePeriod.DAY),
+                        new PeriodDefinition(Duration.ofDays(30), TimePeriod.MONTH),
+                        new PeriodDefinition(Duration.ofDays(14), TimePeriod.WEEK)
+                ));
+
+        assertThat(bestPeriods).hasSize(3);
+        assertThat(bestPeriods.get(0).transactionCount()).isEqualTo(2);
+        assertThat(bestPeriods.get(0).startDate())
+                .isEqualTo(LocalDateTime.of(2024, 1, 2, 12, 0));
+        assertThat(bestPeriods.get(0).endDate())
+                .isEqualTo(LocalDateTime.of(2024, 1, 2, 14, 59, 59));
+        assertThat(bestPeriods.get(1).periodType()).isEqualTo(TimePeriod.MONTH);
+        assertThat(bestPeriods.get(1).transactionCount()).isEqualTo(5);
+        assertThat(bestPeriods.get(2).transactionCount()).isEqualTo(5);
+        assertThat(bestPeriods.get(2).startDate())
+                .isEqualTo(LocalDateTime.of(2023, 12, 25, 0, 0));
+        assertThat(bestPeriods.get(2).endDate())
+                .isEqualTo(LocalDateTime.of(2024, 1, 7, 23, 59, 59));
+    }
+
+    @Test
+    @DisplayName("Тест на расчет периодов для неотсортированных транзакций")
+    public void testBestPeriodsForUnsortedTransactions() {
+        Long sellerId = 1L;
+
+        when(transactionRepository.findAllBySellerId(sellerId)).thenReturn(List.of(
+                createTransaction(1L, BigDecimal.TEN, LocalDateTime.of(2024, 2, 29, 23, 59, 59)),
+                createTransaction(2L, BigDecimal.TEN, LocalDateTime.of(2024, 2, 1, 0, 0)),
+                createTransaction(3L, BigDecimal.TEN, LocalDateTime.of(2024, 3, 1, 0, 0)),
+                createTransaction(4L, BigDecimal.TEN, LocalDateTime.of(2024, 2, 15, 8, 0))
+        ));
+
+        BestPeriodsResponse response = bestTransactionPeriodHandler.getBestTransactionPeriod(sellerId);
+
+        assertThat(response.bestMonthPeriod().transactionCount()).isEqualTo(3);
+        assertThat(response.bestMonthPeriod().startDate())
+                .isEqualTo(LocalDateTime.of(2024, 2, 1, 0, 0));
+        assertThat(response.bestMonthPeriod().endDate())
+                .isEqualTo(LocalDateTime.of(2024, 2, 29, 23, 59, 59));
+        assertThat(response.bestDayPeriod().transactionCount()).isEqualTo(1);
+        assertThat(response.bestDayPeriod().startDate())
+                .isEqualTo(LocalDateTime.of(2024, 2, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Тест на расчет периодов в БД, когда у продавца больше транзакций, чем порог")
+    public void testBestPeriodsCalculatedInDatabaseAboveThreshold() {
+        ReflectionTestUtils.setField(bestTransactionPeriodHandler, "databaseThreshold", 10L);
+        Long sellerId = 1L;
+
+        PeriodCountProjection day = new PeriodCount(LocalDateTime.of(2024, 1, 1, 0, 0), 2L, 15L);
+        PeriodCountProjection week = new PeriodCount(LocalDateTime.of(2024, 1, 1, 0, 0), 5L, 15L);
+        PeriodCountProjection month = new PeriodCount(LocalDateTime.of(2024, 2, 1, 0, 0), 6L, 15L);
+        when(transactionRepository.findBusiestPeriodBySellerId(sellerId, "day")).thenReturn(Optional.of(day));
+        when(transactionRepository.findBusiestPeriodBySellerId(sellerId, "week")).thenReturn(Optional.of(week));
+        when(transactionRepository.findBusiestPeriodBySellerId(sellerId, "month")).thenReturn(Optional.of(month));
+
+        BestPeriodsResponse response = bestTransactionPeriodHandler.getBestTransactionPeriod(sellerId);
+
+        assertThat(response.bestDayPeriod().transactionCount()).isEqualTo(2);
+        assertThat(response.bestDayPeriod().endDate())
+                .isEqualTo(LocalDateTime.of(2024, 1, 1, 23, 59, 59));
+        assertThat(response.bestWeekPeriod().endDate())
+                .isEqualTo(LocalDateTime.of(2024, 1, 7, 23, 59, 59));
+        assertThat(response.bestMonthPeriod().transactionCount()).isEqualTo(6);
+        assertThat(response.bestMonthPeriod().endDate())
+                .isEqualTo(LocalDateTime.of(2024, 2, 29, 23, 59, 59));
+        verify(transactionRepository, never()).findAllBySellerId(sellerId);
+    }
+
+    @Test
+    @DisplayName("Тест на расчет периодов по дневным итогам, когда у продавца больше транзакций, чем порог")
+    public void testBestPeriodsCalculatedFromDailyStatsAboveThreshold() {
+        ReflectionTestUtils.setField(bestTransactionPeriodHandler, "databaseThreshold", 10L);
+        ReflectionTestUtils.setField(bestTransactionPeriodHandler, "dailyStats", true);
+        Long sellerId = 1L;
+
+        PeriodCountProjection day = new PeriodCount(LocalDateTime.of(2024, 1, 1, 0, 0), 2L, 15L);
+        PeriodCountProjection week = new PeriodCount(LocalDateTime.of(2024, 1, 1, 0, 0), 5L, 15L);
+        PeriodCountProjection month = new PeriodCount(LocalDateTime.of(2024, 2, 1, 0, 0), 6L, 15L);
+        when(sellerDailyStatsRepository.findBusiestPeriodBySellerId(sellerId, "day")).thenReturn(Optional.of(day));
+        when(sellerDailyStatsRepository.findBusiestPeriodBySellerId(sellerId, "week")).thenReturn(Optional.of(week));
+        when(sellerDailyStatsRepository.findBusiestPeriodBySellerId(sellerId, "month"))
+                .thenReturn(Optional.of(month));
+
+        BestPeriodsResponse response = bestTransactionPeriodHandler.getBestTransactionPeriod(sellerId);
+
+        assertThat(response.bestWeekPeriod().transactionCount()).isEqualTo(5);
+        assertThat(response.bestMonthPeriod().startDate()).isEqualTo(LocalDateTime.of(2024, 2, 1, 0, 0));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Тест на расчет произвольных периодов в памяти даже выше порога")
+    public void testCustomPeriodsCalculatedInMemoryAboveThreshold() {
+        ReflectionTestUtils.setField(bestTransactionPeriodHandler, "databaseThreshold", 10L);
+        Long sellerId = 1L;
+
+        when(transactionRepository.findAllBySellerId(sellerId)).thenReturn(transactions);
+
+        List<BestPeriod> bestPeriods = bestTransactionPeriodHandler.getBestTransactionPeriods(
+                sellerId,
+                List.of(new PeriodDefinition(Duration.ofHours(3), TimePeriod.DAY)));
+
+        assertThat(bestPeriods.get(0).transactionCount()).isEqualTo(2);
+        verify(transactionRepository, never()).findBusiestPeriodBySellerId(any(), anyString());
     }
 
     private Transaction createTransaction(Long id, BigDecimal amount, LocalDateTime transactionDate) {
@@ -175,4 +314,22 @@ public class BestTransactionPeriodHandlerTest {
         transaction.setIsActive(true);
         return transaction;
     }
+
+    private record PeriodCount(LocalDateTime startDate, Long transactionCount, Long totalCount)
+            implements PeriodCountProjection {
+        @Override
+        public LocalDateTime getStartDate() {
+            return startDate;
+        }
+
+        @Override
+        public Long getTransactionCount() {
+            return transactionCount;
+        }
+
+        @Override
+        public Long getTotalCount() {
+            return totalCount;
+        }
+    }
 }
@@ -0,0 +1,191 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.model.event.ChangeEventResponse;
+import ru.cft.crm.model.seller.SellerCreateRequest;
+import ru.cft.crm.model.seller.SellerUpdateRequest;
+import ru.cft.crm.model.transaction.TransactionCreateRequest;
+import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.service.crud.TransactionService;
+import ru.cft.crm.service.events.ChangeEventStream;
+import ru.cft.crm.type.ChangeType;
+import ru.cft.crm.type.ChangedEntity;
+import ru.cft.crm.type.PaymentType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@SpringBootTest
+@Testcontainers
+@DisplayName("Поток изменений продавцов и транзакций")
+public class ChangeEventStreamTest {
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private ChangeEventStream changeEventStream;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private Long firstSellerId;
+
+    private Long secondSellerId;
+
+    @BeforeEach
+    void setUp() {
+        firstSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 1", "first@test.com")).id();
+        secondSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 2", "second@test.com")).id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(SseEmitter::complete);
+        jdbcTemplate.update("DELETE FROM seller_daily_stats");
+        jdbcTemplate.update("DELETE FROM transactions_history");
+        jdbcTemplate.update("DELETE FROM sellers_history");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM sellers");
+    }
+
+    @Test
+    @DisplayName("Подписчик получает только изменения, подходящие под его фильтр, в порядке коммита")
+    void testFilters() throws InterruptedException {
+        RecordingEmitter sellerSubscriber = subscribe(firstSellerId, null, null);
+        RecordingEmitter cardSubscriber = subscribe(null, PaymentType.CARD, null);
+
+        createTransaction(firstSellerId, "10.00", "CASH");
+        createTransaction(secondSellerId, "20.00", "CARD");
+        createTransaction(firstSellerId, "30.00", "CARD");
+        sellerService.updateSeller(firstSellerId, new SellerUpdateRequest("Seller 1 renamed", null));
+
+        assertThat(sellerSubscriber.take(3))
+                .extracting(ChangeEventResponse::entity, ChangeEventResponse::type, this::sellerId)
+                .containsExactly(
+                        tuple(ChangedEntity.TRANSACTION, ChangeType.CREATED, firstSellerId),
+                        tuple(ChangedEntity.TRANSACTION, ChangeType.CREATED, firstSellerId),
+                        tuple(ChangedEntity.SELLER, ChangeType.UPDATED, firstSellerId));
+        assertThat(cardSubscriber.take(2))
+                .extracting(event -> event.transaction().amount())
+                .containsExactly(new BigDecimal("20.00"), new BigDecimal("30.00"));
+        assertThat(cardSubscriber.events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Удаление продавца доставляет удаление каждой его транзакции")
+    void testSellerDeleteCascade() throws InterruptedException {
+        createTransaction(firstSellerId, "10.00", "CARD");
+        createTransaction(firstSellerId, "20.00", "CASH");
+        RecordingEmitter cardSubscriber = subscribe(null, PaymentType.CARD, null);
+
+        sellerService.deleteSeller(firstSellerId);
+
+        assertThat(cardSubscriber.take(1))
+                .extracting(ChangeEventResponse::entity, ChangeEventResponse::type, event -> event.transaction().amount())
+                .containsExactly(tuple(ChangedEntity.TRANSACTION, ChangeType.DELETED, new BigDecimal("10.00")));
+        assertThat(cardSubscriber.events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("При переподключении повторяются события после Last-Event-ID")
+    void testReplay() throws InterruptedException {
+        RecordingEmitter subscriber = subscribe(null, null, null);
+        createTransaction(firstSellerId, "10.00", "CASH");
+        createTransaction(secondSellerId, "20.00", "CARD");
+        List<ChangeEventResponse> received = subscriber.take(2);
+
+        RecordingEmitter reconnected = subscribe(null, null, received.get(0).id());
+        RecordingEmitter unknown = subscribe(null, null, "previous-run-42");
+
+        assertThat(reconnected.take(1)).containsExactly(received.get(1));
+        assertThat(unknown.names.poll(5, TimeUnit.SECONDS)).isEqualTo("resync");
+    }
+
+    private RecordingEmitter subscribe(Long sellerId, PaymentType paymentType, String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitters.add(emitter);
+        changeEventStream.subscribe(emitter, sellerId, paymentType, lastEventId);
+        return emitter;
+    }
+
+    private void createTransaction(Long sellerId, String amount, String paymentType) {
+        transactionService.createTransaction(
+                new TransactionCreateRequest(sellerId, new BigDecimal(amount), paymentType));
+    }
+
+    private Long sellerId(ChangeEventResponse event) {
+        return event.transaction() != null ? event.transaction().sellerId() : event.seller().id();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> names = new LinkedBlockingQueue<>();
+
+        private final BlockingQueue<ChangeEventResponse> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (MediaType.TEXT_PLAIN.isCompatibleWith(part.getMediaType())) {
+                    String text = (String) part.getData();
+                    int start = text.indexOf("event:");
+                    if (start >= 0) {
+                        names.add(text.substring(start + "event:".length(), text.indexOf('\n', start)));
+                    }
+                } else if (part.getData() instanceof ChangeEventResponse event) {
+                    events.add(event);
+                }
+            }
+        }
+
+        private List<ChangeEventResponse> take(int count) throws InterruptedException {
+            List<ChangeEventResponse> taken = new ArrayList<>();
+            while (taken.size() < count) {
+                ChangeEventResponse event = events.poll(5, TimeUnit.SECONDS);
+                assertThat(event).as("событие %d из %d", taken.size() + 1, count).isNotNull();
+                taken.add(event);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.exception.InvalidPageRequestException;
+import ru.cft.crm.model.page.ChangesResponse;
+import ru.cft.crm.model.seller.SellerCreateRequest;
+import ru.cft.crm.model.seller.SellerResponse;
+import ru.cft.crm.model.seller.SellerUpdateRequest;
+import ru.cft.crm.model.transaction.TransactionCreateRequest;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.model.transaction.TransactionUpdateRequest;
+import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.service.crud.TransactionService;
+import ru.cft.crm.service.sync.ChangeSyncService;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@SpringBootTest
+@Testcontainers
+@DisplayName("Инкрементальная выгрузка изменений")
+public class ChangeSyncTest {
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("sync.commit-lag-seconds", () -> 0);
+    }
+
+    @Autowired
+    private ChangeSyncService changeSyncService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM seller_daily_stats");
+        jdbcTemplate.update("DELETE FROM transactions_history");
+        jdbcTemplate.update("DELETE FROM sellers_history");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM sellers");
+    }
+
+    @Test
+    @DisplayName("Изменения выдаются страницами, а следующая синхронизация получает только новые изменения")
+    void testTransactionChangesSinceWatermark() {
+        Long sellerId = createSeller("first@test.com");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            ids.add(createTransaction(sellerId, i));
+        }
+
+        ChangesResponse<TransactionResponse> firstPage = changeSyncService.getTransactionChanges(null, 3);
+        ChangesResponse<TransactionResponse> secondPage =
+                changeSyncService.getTransactionChanges(firstPage.watermark(), 3);
+
+        assertThat(firstPage.items()).extracting(TransactionResponse::id).containsExactlyElementsOf(ids.subList(0, 3));
+        assertThat(firstPage.hasMore()).isTrue();
+        assertThat(secondPage.items()).extracting(TransactionResponse::id).containsExactlyElementsOf(ids.subList(3, 5));
+        assertThat(secondPage.hasMore()).isFalse();
+
+        transactionService.updateTransaction(ids.get(1), new TransactionUpdateRequest(new BigDecimal("99.00"), null));
+        transactionService.deleteTransaction(ids.get(2));
+        ChangesResponse<TransactionResponse> nextSync =
+                changeSyncService.getTransactionChanges(secondPage.watermark(), 1000);
+
+        assertThat(nextSync.items()).extracting(TransactionResponse::id, TransactionResponse::amount)
+                .containsExactly(tuple(ids.get(1), new BigDecimal("99.00")));
+        assertThat(nextSync.deletedIds()).containsExactly(ids.get(2));
+
+        ChangesResponse<TransactionResponse> emptySync =
+                changeSyncService.getTransactionChanges(nextSync.watermark(), 1000);
+
+        assertThat(emptySync.items()).isEmpty();
+        assertThat(emptySync.deletedIds()).isEmpty();
+        assertThat(emptySync.watermark()).isEqualTo(nextSync.watermark());
+    }
+
+    @Test
+    @DisplayName("Удаление продавца выдается удалением продавца и всех его транзакций")
+    void testSellerDeleteIsReportedAsTombstones() {
+        Long sellerId = createSeller("first@test.com");
+        Long otherSellerId = createSeller("second@test.com");
+        Long transactionId = createTransaction(sellerId, 1);
+        createTransaction(otherSellerId, 2);
+        String sellersWatermark = changeSyncService.getSellerChanges(null, 1000).watermark();
+        String transactionsWatermark = changeSyncService.getTransactionChanges(null, 1000).watermark();
+
+        sellerService.updateSeller(otherSellerId, new SellerUpdateRequest("Renamed", null));
+        sellerService.deleteSeller(sellerId);
+        ChangesResponse<SellerResponse> sellerChanges = changeSyncService.getSellerChanges(sellersWatermark, 1000);
+        ChangesResponse<TransactionResponse> transactionChanges =
+                changeSyncService.getTransactionChanges(transactionsWatermark, 1000);
+
+        assertThat(sellerChanges.items()).extracting(SellerResponse::sellerName).containsExactly("Renamed");
+        assertThat(sellerChanges.deletedIds()).containsExactly(sellerId);
+        assertThat(transactionChanges.items()).isEmpty();
+        assertThat(transactionChanges.deletedIds()).containsExactly(transactionId);
+    }
+
+    @Test
+    @DisplayName("Изменения с отметкой времени позже текущей откладываются до следующей синхронизации")
+    void testRecentChangesAreDeferred() {
+        Long sellerId = createSeller("first@test.com");
+        Long transactionId = createTransaction(sellerId, 1);
+        jdbcTemplate.update("UPDATE transactions SET updated_at = now() + INTERVAL '1 hour' WHERE id = ?",
+                transactionId);
+
+        ChangesResponse<TransactionResponse> changes = changeSyncService.getTransactionChanges(null, 1000);
+
+        assertThat(changes.items()).isEmpty();
+        assertThat(changes.watermark()).isNull();
+    }
+
+    @Test
+    @DisplayName("Изменения после открытой пишущей транзакции ждут ее фиксации")
+    void testChangesWaitForOpenWriteTransaction() throws SQLException {
+        Long sellerId = createSeller("first@test.com");
+        String watermark = changeSyncService.getTransactionChanges(null, 1000).watermark();
+        Long committedId;
+        Long openId;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    INSERT INTO transactions (seller_id, amount, payment_type, transaction_date, updated_at)
+                    VALUES (?, 1.00, 'CASH', LOCALTIMESTAMP, LOCALTIMESTAMP)
+                    RETURNING id
+                    """)) {
+                statement.setLong(1, sellerId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    openId = resultSet.getLong(1);
+                }
+            }
+            committedId = createTransaction(sellerId, 2);
+
+            ChangesResponse<TransactionResponse> whileOpen =
+                    changeSyncService.getTransactionChanges(watermark, 1000);
+
+            assertThat(whileOpen.items()).isEmpty();
+            assertThat(whileOpen.watermark()).isEqualTo(watermark);
+            connection.commit();
+        }
+
+        ChangesResponse<TransactionResponse> afterCommit = changeSyncService.getTransactionChanges(watermark, 1000);
+
+        assertThat(afterCommit.items()).extracting(TransactionResponse::id).containsExactly(openId, committedId);
+    }
+
+    @Test
+    @DisplayName("Некорректная отметка отклоняется")
+    void testInvalidWatermark() {
+        assertThatThrownBy(() -> changeSyncService.getTransactionChanges("not-a-watermark", 10))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> changeSyncService.getSellerChanges(null, 0))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    private Long createSeller(String contactInfo) {
+        return sellerService.createSeller(new SellerCreateRequest("Seller " + contactInfo, contactInfo)).id();
+    }
+
+    private Long createTransaction(Long sellerId, int amount) {
+        return transactionService.createTransaction(
+                new TransactionCreateRequest(sellerId, BigDecimal.valueOf(amount), "CASH")).id();
+    }
+}
@@ -0,0 +1,246 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.exception.ImportJobConflictException;
+import ru.cft.crm.exception.InvalidImportException;
+import ru.cft.crm.model.imports.ImportErrorResponse;
+import ru.cft.crm.model.imports.ImportJobResponse;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.service.imports.ImportService;
+import ru.cft.crm.type.ImportStatus;
+import ru.cft.crm.type.ImportType;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "imports.chunk-size=3")
+@Testcontainers
+@DisplayName("Импорт продавцов и транзакций из CSV")
+public class CsvImportTest {
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Seller seller;
+
+    @BeforeEach
+    void setUp() {
+        seller = new Seller();
+        seller.setSellerName("Existing Seller");
+        seller.setContactInfo("existing@test.com");
+        seller.setRegistrationDate(LocalDateTime.now());
+        seller.setUpdatedAt(LocalDateTime.now());
+        seller.setIsActive(true);
+        sellerRepository.save(seller);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM import_jobs");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM sellers");
+    }
+
+    @Test
+    @DisplayName("Продавцы загружаются, а строки с ошибками попадают в отчет")
+    void testImportSellers() {
+        String csv = """
+                contact_info,seller_name,registration_date
+                first@test.com,First Seller,2024-01-15 10:00:00
+                existing@test.com,Duplicate Seller,
+                not-an-email,Broken Seller,
+                first@test.com,First Again,
+                second@test.com,"Second, Seller",
+                """;
+
+        ImportJobResponse job = importService.importCsv(ImportType.SELLERS, toStream(csv), null);
+
+        assertThat(job.status()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(job.processedRows()).isEqualTo(5);
+        assertThat(job.importedRows()).isEqualTo(2);
+        assertThat(job.failedRows()).isEqualTo(3);
+        assertThat(sellerRepository.findAll()).extracting(Seller::getSellerName)
+                .containsExactlyInAnyOrder("Existing Seller", "First Seller", "Second, Seller");
+        assertThat(importService.getJobErrors(job.id(), 0L, 100))
+                .containsExactly(
+                        new ImportErrorResponse(3L, "Продавец с таким email уже существует"),
+                        new ImportErrorResponse(4L, "Контактная информация должна быть email адресом"),
+                        new ImportErrorResponse(5L, "Продавец с таким email уже существует"));
+    }
+
+    @Test
+    @DisplayName("Транзакции проверяются по продавцу, сумме, типу оплаты и дате")
+    void testImportTransactions() {
+        String csv = """
+                seller_id,amount,payment_type,transaction_date
+                %1$d,100.50,CARD,2024-03-01 12:00:00
+                999999,10,CASH,
+                %1$d,10,CASHBACK,
+                %1$d,-5,CASH,
+                %1$d,0,CASH,
+                %1$d,10,CASH,2024-13-45
+                %1$d,10
+                %1$d,20,transfer,
+                """.formatted(seller.getId());
+
+        ImportJobResponse job = importService.importCsv(ImportType.TRANSACTIONS, toStream(csv), null);
+
+        assertThat(job.status()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(job.processedRows()).isEqualTo(8);
+        assertThat(job.importedRows()).isEqualTo(2);
+        assertThat(job.failedRows()).isEqualTo(6);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT payment_type FROM transactions WHERE seller_id = ? ORDER BY amount",
+                String.class, seller.getId()))
+                .containsExactly("TRANSFER", "CARD");
+        assertThat(importService.getJobErrors(job.id(), 0L, 100))
+                .containsExactly(
+                        new ImportErrorResponse(3L, "Продавец с id: 999999 не найден"),
+                        new ImportErrorResponse(4L, "Неверный тип оплаты: CASHBACK. "
+                                + "Доступные типы оплаты: [CASH, CARD, TRANSFER]"),
+                        new ImportErrorResponse(5L, "Некорректная сумма: -5"),
+                        new ImportErrorResponse(6L, "Сумма должна быть положительной"),
+                        new ImportErrorResponse(7L, "Некорректная дата транзакции: 2024-13-45"),
+                        new ImportErrorResponse(8L, "Строка содержит 2 полей, ожидалось 4"));
+        assertThat(importService.getJobErrors(job.id(), 6L, 100)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Прерванный импорт продолжается без повторной загрузки строк")
+    void testResumeInterruptedImport() {
+        StringBuilder csv = new StringBuilder("seller_id,amount,payment_type\n");
+        for (int i = 1; i <= 8; i++) {
+            csv.append(seller.getId()).append(',').append(i).append(",CARD\n");
+        }
+        String firstSixRows = csv.substring(0, csv.indexOf(seller.getId() + ",7,"));
+
+        assertThatThrownBy(() -> importService.importCsv(
+                ImportType.TRANSACTIONS, interruptedStream(firstSixRows), null))
+                .isInstanceOf(UncheckedIOException.class);
+
+        Long jobId = jdbcTemplate.queryForObject("SELECT id FROM import_jobs", Long.class);
+        ImportJobResponse failedJob = importService.getJob(jobId);
+        assertThat(failedJob.status()).isEqualTo(ImportStatus.FAILED);
+        assertThat(failedJob.processedRows()).isEqualTo(6);
+
+        ImportJobResponse job = importService.importCsv(ImportType.TRANSACTIONS, toStream(csv.toString()), jobId);
+
+        assertThat(job.status()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(job.processedRows()).isEqualTo(8);
+        assertThat(job.importedRows()).isEqualTo(8);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT amount::INT FROM transactions WHERE seller_id = ? ORDER BY amount",
+                Integer.class, seller.getId()))
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    @DisplayName("Продолжение задания, которое выполняет другой запрос, не меняет его статус")
+    void testConcurrentResumeKeepsJobStatus() {
+        StringBuilder csv = new StringBuilder("seller_id,amount,payment_type\n");
+        for (int i = 1; i <= 8; i++) {
+            csv.append(seller.getId()).append(',').append(i).append(",CARD\n");
+        }
+        String firstSixRows = csv.substring(0, csv.indexOf(seller.getId() + ",7,"));
+        assertThatThrownBy(() -> importService.importCsv(
+                ImportType.TRANSACTIONS, interruptedStream(firstSixRows), null))
+                .isInstanceOf(UncheckedIOException.class);
+        Long jobId = jdbcTemplate.queryForObject("SELECT id FROM import_jobs", Long.class);
+
+        InputStream resumed = onFirstRead(toStream(csv.toString()), () -> jdbcTemplate.update(
+                "UPDATE import_jobs SET processed_rows = 8, status = 'IN_PROGRESS' WHERE id = ?", jobId));
+
+        assertThatThrownBy(() -> importService.importCsv(ImportType.TRANSACTIONS, resumed, jobId))
+                .isInstanceOf(ImportJobConflictException.class);
+        assertThat(importService.getJob(jobId).status()).isEqualTo(ImportStatus.IN_PROGRESS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE seller_id = ?", Integer.class, seller.getId()))
+                .isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Файл без обязательных колонок отклоняется")
+    void testImportWithoutRequiredColumns() {
+        String csv = """
+                seller_id,amount
+                1,100
+                """;
+
+        assertThatThrownBy(() -> importService.importCsv(ImportType.TRANSACTIONS, toStream(csv), null))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessage("В заголовке файла отсутствуют колонки: [payment_type]");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM import_jobs", String.class))
+                .isEqualTo(ImportStatus.FAILED.name());
+    }
+
+    private InputStream toStream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InputStream onFirstRead(InputStream stream, Runnable action) {
+        return new FilterInputStream(stream) {
+            private boolean started;
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (!started) {
+                    started = true;
+                    action.run();
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+    }
+
+    private InputStream interruptedStream(String csv) {
+        return new SequenceInputStream(toStream(csv), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.cft.crm.exception.InvalidImportException;
+import ru.cft.crm.service.imports.CsvReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты CsvReader")
+public class CsvReaderTest {
+
+    @Test
+    @DisplayName("Тест на чтение простых записей")
+    public void testReadSimpleRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("seller_id,amount\n1,100.50\r\n2,200\n"));
+
+        assertThat(reader.readRecord()).containsExactly("seller_id", "amount");
+        assertThat(reader.readRecord()).containsExactly("1", "100.50");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).containsExactly("2", "200");
+        assertThat(reader.getRecordLine()).isEqualTo(3);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Тест на чтение полей в кавычках")
+    public void testReadQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "\"Иван, \"\"Магазин\"\"\",\"строка1\nстрока2\",\n\"a\",b,c"));
+
+        assertThat(reader.readRecord()).containsExactly("Иван, \"Магазин\"", "строка1\nстрока2", "");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("a", "b", "c");
+        assertThat(reader.getRecordLine()).isEqualTo(3);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Тест на пропуск пустых строк")
+    public void testSkipEmptyLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\n\n\nc,d\n\n"));
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThat(reader.readRecord()).containsExactly("c", "d");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Тест на незакрытую кавычку")
+    public void testUnclosedQuote() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\n\"c,d\n"));
+        reader.readRecord();
+
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessage("Незакрытая кавычка в записи, начинающейся в строке 2");
+    }
+}
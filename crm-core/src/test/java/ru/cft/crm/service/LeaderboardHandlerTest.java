@@ -0,0 +1,182 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.exception.InvalidLeaderboardRequestException;
+import ru.cft.crm.model.analitycs.LeaderboardEntryResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.analytics.handler.impl.LeaderboardHandlerImpl;
+import ru.cft.crm.type.LeaderboardMetric;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static ru.cft.crm.TestEntities.seller;
+import static ru.cft.crm.TestEntities.transaction;
+
+@SpringBootTest
+@Testcontainers
+@DisplayName("Рейтинг продавцов")
+public class LeaderboardHandlerTest {
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private LeaderboardHandlerImpl leaderboardHandler;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Seller first;
+
+    private Seller second;
+
+    private Seller third;
+
+    @BeforeEach
+    void setUp() {
+        first = sellerRepository.save(seller("Seller 1", "seller1@test.com", true));
+        second = sellerRepository.save(seller("Seller 2", "seller2@test.com", true));
+        third = sellerRepository.save(seller("Seller 3", "seller3@test.com", true));
+        Seller inactive = sellerRepository.save(seller("Seller 4", "seller4@test.com", false));
+
+        List<Transaction> transactions = new ArrayList<>();
+        transactions.add(transaction(first, "100.00", LocalDateTime.of(2024, 1, 1, 10, 0)));
+        transactions.add(transaction(first, "200.00", LocalDateTime.of(2024, 1, 2, 23, 59)));
+        transactions.add(transaction(second, "300.00", LocalDateTime.of(2024, 1, 3, 12, 0)));
+        transactions.add(transaction(third, "50.00", LocalDateTime.of(2024, 1, 4, 9, 0)));
+        transactions.add(transaction(third, "25.00", LocalDateTime.of(2024, 1, 5, 9, 0)));
+        transactions.add(transaction(third, "25.00", LocalDateTime.of(2024, 1, 7, 23, 0)));
+        transactions.add(transaction(first, "1000.00", LocalDateTime.of(2024, 1, 8, 0, 0)));
+        transactions.add(transaction(inactive, "5000.00", LocalDateTime.of(2024, 1, 3, 11, 0)));
+        transactionRepository.saveAll(transactions);
+        jdbcTemplate.update("""
+                INSERT INTO seller_daily_stats (seller_id, day, tx_count, amount_sum)
+                SELECT seller_id, transaction_date::DATE, COUNT(*), SUM(amount)
+                FROM transactions
+                GROUP BY 1, 2
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(leaderboardHandler, "dailyStats", true);
+        jdbcTemplate.update("DELETE FROM seller_daily_stats");
+        transactionRepository.deleteAll();
+        sellerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Продавцы с равной суммой получают одинаковый ранг, доля считается от итога всех продавцов")
+    void testDenseRankAndShare() {
+        DateRange week = leaderboardHandler.getDateRange(LocalDate.of(2024, 1, 3), "WEEK", null, null);
+
+        LeaderboardResponse leaderboard = leaderboardHandler.getLeaderboard(week, LeaderboardMetric.AMOUNT, 10, true);
+
+        assertThat(week).isEqualTo(new DateRange(
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 8, 0, 0)));
+        assertThat(leaderboard.totalAmount()).isEqualByComparingTo("700.00");
+        assertThat(leaderboard.totalTransactionCount()).isEqualTo(6);
+        assertThat(leaderboard.entries())
+                .extracting(LeaderboardEntryResponse::id, LeaderboardEntryResponse::rank,
+                        LeaderboardEntryResponse::share)
+                .containsExactly(
+                        tuple(first.getId(), 1L, new BigDecimal("0.4286")),
+                        tuple(second.getId(), 1L, new BigDecimal("0.4286")),
+                        tuple(third.getId(), 2L, new BigDecimal("0.1429")));
+    }
+
+    @Test
+    @DisplayName("Рейтинг по количеству ограничивается заданным числом продавцов")
+    void testCountMetricWithLimit() {
+        DateRange range = leaderboardHandler.getDateRange(null, null, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7));
+
+        LeaderboardResponse leaderboard = leaderboardHandler.getLeaderboard(range, LeaderboardMetric.COUNT, 2, true);
+
+        assertThat(leaderboard.totalTransactionCount()).isEqualTo(6);
+        assertThat(leaderboard.entries())
+                .extracting(LeaderboardEntryResponse::id, LeaderboardEntryResponse::transactionCount,
+                        LeaderboardEntryResponse::share)
+                .containsExactly(
+                        tuple(third.getId(), 3L, new BigDecimal("0.5000")),
+                        tuple(first.getId(), 2L, new BigDecimal("0.3333")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2024-01-03, DAY, AMOUNT, true",
+            "2024-01-03, DAY, AMOUNT, false",
+            "2024-01-07, WEEK, COUNT, true",
+            "2024-01-20, MONTH, AMOUNT, true",
+            "2024-02-01, QUARTER, COUNT, true",
+            "2024-06-01, YEAR, AMOUNT, true"
+    })
+    @DisplayName("Рейтинг по дневным итогам совпадает с рейтингом по транзакциям")
+    void testDailyStatsMatchTransactions(LocalDate date, String period, LeaderboardMetric metric, boolean active) {
+        DateRange range = leaderboardHandler.getDateRange(date, period, null, null);
+        LeaderboardResponse dailyStatsResult = leaderboardHandler.getLeaderboard(range, metric, 2, active);
+
+        ReflectionTestUtils.setField(leaderboardHandler, "dailyStats", false);
+        LeaderboardResponse transactionsResult = leaderboardHandler.getLeaderboard(range, metric, 2, active);
+
+        assertThat(dailyStatsResult).isEqualTo(transactionsResult);
+    }
+
+    @Test
+    @DisplayName("Период нельзя указать одновременно с датами, а размер рейтинга ограничен")
+    void testInvalidRequest() {
+        assertThatThrownBy(() -> leaderboardHandler.getDateRange(
+                LocalDate.of(2024, 1, 1), "DAY", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2)))
+                .isInstanceOf(InvalidLeaderboardRequestException.class);
+        assertThatThrownBy(() -> leaderboardHandler.getDateRange(null, null, LocalDate.of(2024, 1, 1), null))
+                .isInstanceOf(InvalidLeaderboardRequestException.class);
+
+        DateRange range = leaderboardHandler.getDateRange(LocalDate.of(2024, 1, 1), "YEAR", null, null);
+        assertThatThrownBy(() -> leaderboardHandler.getLeaderboard(range, LeaderboardMetric.AMOUNT, 0, true))
+                .isInstanceOf(InvalidLeaderboardRequestException.class);
+        assertThatThrownBy(() -> LeaderboardMetric.getMetric("median"))
+                .isInstanceOf(InvalidLeaderboardRequestException.class);
+    }
+}
@@ -0,0 +1,219 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.exception.InvalidTimePeriodException;
+import ru.cft.crm.model.analitycs.LeaderboardEntryResponse;
+import ru.cft.crm.model.analitycs.LeaderboardResponse;
+import ru.cft.crm.model.seller.SellerCreateRequest;
+import ru.cft.crm.model.transaction.TransactionCreateRequest;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.model.transaction.TransactionUpdateRequest;
+import ru.cft.crm.model.utilis.DateRange;
+import ru.cft.crm.service.analytics.handler.LeaderboardHandler;
+import ru.cft.crm.service.analytics.leaderboard.LiveLeaderboard;
+import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.service.crud.TransactionService;
+import ru.cft.crm.service.imports.ImportService;
+import ru.cft.crm.type.ImportType;
+import ru.cft.crm.type.LeaderboardMetric;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@Testcontainers
+@DisplayName("Рейтинг продавцов в реальном времени")
+public class LiveLeaderboardTest {
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private LiveLeaderboard liveLeaderboard;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private LeaderboardHandler leaderboardHandler;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private Long firstSellerId;
+
+    private Long secondSellerId;
+
+    private Long thirdSellerId;
+
+    @BeforeEach
+    void setUp() {
+        firstSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 1", "first@test.com")).id();
+        secondSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 2", "second@test.com")).id();
+        thirdSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 3", "third@test.com")).id();
+        liveLeaderboard.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM seller_daily_stats");
+        jdbcTemplate.update("DELETE FROM transactions_history");
+        jdbcTemplate.update("DELETE FROM import_jobs");
+        jdbcTemplate.update("DELETE FROM sellers_history");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM sellers");
+        liveLeaderboard.rebuild();
+    }
+
+    @Test
+    @DisplayName("Создание и изменение транзакций сразу меняют рейтинг, удаленные транзакции в нем остаются")
+    void testTransactionWritesUpdateLeaderboard() {
+        createTransaction(firstSellerId, "100.00");
+        TransactionResponse updated = createTransaction(secondSellerId, "50.00");
+        TransactionResponse deleted = createTransaction(thirdSellerId, "500.00");
+        transactionService.createTransactions(List.of(
+                new TransactionCreateRequest(secondSellerId, new BigDecimal("20.00"), "CARD"),
+                new TransactionCreateRequest(thirdSellerId, new BigDecimal("30.00"), "TRANSFER")));
+        transactionService.updateTransaction(updated.id(), new TransactionUpdateRequest(new BigDecimal("80.00"), null));
+        transactionService.deleteTransaction(deleted.id());
+
+        LeaderboardResponse live = liveLeaderboard.getLeaders("day", 10);
+
+        assertThat(live.totalAmount()).isEqualByComparingTo("730.00");
+        assertThat(live.totalTransactionCount()).isEqualTo(5);
+        assertThat(live.entries())
+                .extracting(LeaderboardEntryResponse::id, LeaderboardEntryResponse::rank,
+                        LeaderboardEntryResponse::amount, LeaderboardEntryResponse::transactionCount)
+                .containsExactly(
+                        tuple(thirdSellerId, 1L, new BigDecimal("530.00"), 2L),
+                        tuple(firstSellerId, 2L, new BigDecimal("100.00"), 1L),
+                        tuple(secondSellerId, 2L, new BigDecimal("100.00"), 2L));
+        assertThat(liveLeaderboard.getLeaders("month", 10).entries()).isEqualTo(live.entries());
+        assertThat(live).isEqualTo(databaseLeaderboard("day"));
+        assertThat(liveLeaderboard.getLeaders("month", 10)).isEqualTo(databaseLeaderboard("month"));
+
+        liveLeaderboard.rebuild();
+        assertThat(liveLeaderboard.getLeaders("day", 10)).isEqualTo(live);
+    }
+
+    @Test
+    @DisplayName("Транзакции из CSV попадают в рейтинг по завершении импорта")
+    void testImportedTransactions() {
+        createTransaction(firstSellerId, "100.00");
+        importService.importCsv(ImportType.TRANSACTIONS, new ByteArrayInputStream("""
+                seller_id,amount,payment_type
+                %d,70.00,CARD
+                %d,40.00,CASH
+                """.formatted(secondSellerId, firstSellerId).getBytes(StandardCharsets.UTF_8)), null);
+
+        LeaderboardResponse live = liveLeaderboard.getLeaders("day", 10);
+
+        assertThat(live.totalAmount()).isEqualByComparingTo("210.00");
+        assertThat(live).isEqualTo(databaseLeaderboard("day"));
+    }
+
+    @Test
+    @DisplayName("Изменение, закоммиченное во время пересчета, не теряется и не учитывается дважды")
+    void testWriteDuringRebuild() throws Exception {
+        createTransaction(firstSellerId, "100.00");
+        CountDownLatch scanned = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean pauseScan = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            if (pauseScan.getAndSet(false)) {
+                scanned.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return result;
+        }).when(jdbcTemplate).query(contains("GROUP BY t.seller_id"), any(RowCallbackHandler.class), any(), any());
+
+        Thread rebuild = new Thread(liveLeaderboard::rebuild);
+        rebuild.start();
+        assertThat(scanned.await(5, TimeUnit.SECONDS)).isTrue();
+        createTransaction(secondSellerId, "50.00");
+        release.countDown();
+        rebuild.join();
+
+        LeaderboardResponse live = liveLeaderboard.getLeaders("day", 10);
+        assertThat(live.totalAmount()).isEqualByComparingTo("150.00");
+        assertThat(live.totalTransactionCount()).isEqualTo(2);
+        liveLeaderboard.rebuild();
+        assertThat(liveLeaderboard.getLeaders("day", 10)).isEqualTo(live);
+    }
+
+    @Test
+    @DisplayName("Удаленный продавец исчезает из рейтинга и итогов")
+    void testDeletedSeller() {
+        createTransaction(firstSellerId, "100.00");
+        createTransaction(secondSellerId, "300.00");
+
+        sellerService.deleteSeller(secondSellerId);
+
+        LeaderboardResponse live = liveLeaderboard.getLeaders("day", 1);
+        assertThat(live.totalAmount()).isEqualByComparingTo("100.00");
+        assertThat(live.entries())
+                .extracting(LeaderboardEntryResponse::id, LeaderboardEntryResponse::share)
+                .containsExactly(tuple(firstSellerId, new BigDecimal("1.0000")));
+    }
+
+    @Test
+    @DisplayName("Рейтинг ведется только за настроенные периоды")
+    void testUntrackedPeriod() {
+        assertThatThrownBy(() -> liveLeaderboard.getLeaders("year", 10))
+                .isInstanceOf(InvalidTimePeriodException.class);
+    }
+
+    private LeaderboardResponse databaseLeaderboard(String period) {
+        DateRange range = leaderboardHandler.getDateRange(LocalDate.now(), period, null, null);
+        return leaderboardHandler.getLeaderboard(range, LeaderboardMetric.AMOUNT, 10, true);
+    }
+
+    private TransactionResponse createTransaction(Long sellerId, String amount) {
+        return transactionService.createTransaction(
+                new TransactionCreateRequest(sellerId, new BigDecimal(amount), "CASH"));
+    }
+}
@@ -0,0 +1,127 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.analytics.handler.impl.MostProductiveSellerHandlerImpl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.cft.crm.TestEntities.seller;
+import static ru.cft.crm.TestEntities.transaction;
+
+@SpringBootTest
+@Testcontainers
+@DisplayName("Сравнение агрегации самых продуктивных продавцов в Java и в БД")
+public class MostProductiveSellerAggregationTest {
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private MostProductiveSellerHandlerImpl mostProductiveSellerHandler;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Seller first = sellerRepository.save(seller("Seller 1", "seller1@test.com", true));
+        Seller second = sellerRepository.save(seller("Seller 2", "seller2@test.com", true));
+        Seller third = sellerRepository.save(seller("Seller 3", "seller3@test.com", true));
+        Seller inactive = sellerRepository.save(seller("Seller 4", "seller4@test.com", false));
+
+        List<Transaction> transactions = new ArrayList<>();
+        transactions.add(transaction(first, "100.00", LocalDateTime.of(2024, 1, 1, 10, 0)));
+        transactions.add(transaction(first, "150.50", LocalDateTime.of(2024, 1, 1, 23, 59)));
+        transactions.add(transaction(second, "250.50", LocalDateTime.of(2024, 1, 1, 12, 0)));
+        transactions.add(transaction(second, "300.00", LocalDateTime.of(2024, 2, 15, 9, 30)));
+        transactions.add(transaction(third, "1000.00", LocalDateTime.of(2024, 3, 31, 18, 0)));
+        transactions.add(transaction(third, "99.99", LocalDateTime.of(2024, 11, 5, 8, 0)));
+        transactions.add(transaction(first, "2000.00", LocalDateTime.of(2024, 12, 31, 23, 0)));
+        transactions.add(transaction(inactive, "5000.00", LocalDateTime.of(2024, 1, 1, 11, 0)));
+        transactions.add(transaction(second, "777.00", LocalDateTime.of(2025, 1, 1, 0, 0)));
+        transactionRepository.saveAll(transactions);
+        jdbcTemplate.update("""
+                INSERT INTO seller_daily_stats (seller_id, day, tx_count, amount_sum)
+                SELECT seller_id, transaction_date::DATE, COUNT(*), SUM(amount)
+                FROM transactions
+                GROUP BY 1, 2
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "sqlAggregation", true);
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "dailyStats", true);
+        jdbcTemplate.update("DELETE FROM seller_daily_stats");
+        transactionRepository.deleteAll();
+        sellerRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2024-01-01, DAY, true",
+            "2024-01-01, DAY, false",
+            "2024-01-20, MONTH, true",
+            "2024-02-01, QUARTER, true",
+            "2024-06-01, YEAR, true",
+            "2024-06-01, YEAR, false"
+    })
+    @DisplayName("Агрегация в БД, в Java и по дневным итогам дают одинаковый результат")
+    void testSqlAndJavaAggregationAreEqual(LocalDate date, String period, boolean active) {
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "dailyStats", true);
+        List<MostProductiveSellerResponse> dailyStatsResult =
+                mostProductiveSellerHandler.getMostProductiveSellers(date, period, active);
+
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "dailyStats", false);
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "sqlAggregation", false);
+        List<MostProductiveSellerResponse> javaResult =
+                mostProductiveSellerHandler.getMostProductiveSellers(date, period, active);
+
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "sqlAggregation", true);
+        List<MostProductiveSellerResponse> sqlResult =
+                mostProductiveSellerHandler.getMostProductiveSellers(date, period, active);
+
+        assertThat(sqlResult).isNotEmpty();
+        assertThat(sqlResult).containsExactlyInAnyOrderElementsOf(javaResult);
+        assertThat(dailyStatsResult).containsExactlyInAnyOrderElementsOf(sqlResult);
+    }
+}
@@ -7,12 +7,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.cft.crm.model.analitycs.MostProductiveSellerResponse;
 import ru.cft.crm.entity.Seller;
 import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.InvalidTimePeriodException;
 import ru.cft.crm.exception.SellerNotFoundException;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
 import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
+import ru.cft.crm.repository.projection.SellerTransactionAmount;
 import ru.cft.crm.service.analytics.handler.impl.MostProductiveSellerHandlerImpl;
 
 import java.math.BigDecimal;
@@ -24,6 +28,11 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Тесты для MostProductiveSellerHandlerImpl")
@@ -33,6 +42,9 @@ public class MostProductiveSellerHandlerTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private SellerDailyStatsRepository sellerDailyStatsRepository;
+
     @InjectMocks
     private MostProductiveSellerHandlerImpl mostProductiveSellerHandler;
 
@@ -54,8 +66,8 @@ public class MostProductiveSellerHandlerTest {
     public void testGetMostProductiveSellerForDay() {
         LocalDate date = LocalDate.of(2024, 1, 1);
 
-        when(transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(any(), any()))
-                .thenReturn(transactionsForDay);
+        when(transactionRepository.findSellerTransactionAmountsBetween(any(), any(), eq(true)))
+                .thenReturn(toSellerAmounts(transactionsForDay));
 
         List<MostProductiveSellerResponse> result =
                 mostProductiveSellerHandler.getMostProductiveSellers(date, "DAY", true);
@@ -70,8 +82,8 @@ public class MostProductiveSellerHandlerTest {
     public void testGetMostProductiveSellerForMonth() {
         LocalDate date = LocalDate.of(2024, 1, 1);
 
-        when(transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(any(), any()))
-                .thenReturn(transactionsForMonth);
+        when(transactionRepository.findSellerTransactionAmountsBetween(any(), any(), eq(true)))
+                .thenReturn(toSellerAmounts(transactionsForMonth));
 
         List<MostProductiveSellerResponse> result =
                 mostProductiveSellerHandler.getMostProductiveSellers(date, "MONTH", true);
@@ -86,8 +98,8 @@ public class MostProductiveSellerHandlerTest {
     public void testGetMostProductiveSellerForQuarter() {
         LocalDate date = LocalDate.of(2024, 1, 1);
 
-        when(transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(any(), any()))
-                .thenReturn(transactionsForQuarter);
+        when(transactionRepository.findSellerTransactionAmountsBetween(any(), any(), eq(true)))
+                .thenReturn(toSellerAmounts(transactionsForQuarter));
 
         List<MostProductiveSellerResponse> result =
                 mostProductiveSellerHandler.getMostProductiveSellers(date, "QUARTER", true);
@@ -102,8 +114,8 @@ public class MostProductiveSellerHandlerTest {
     public void testGetMostProductiveSellerForYear() {
         LocalDate date = LocalDate.of(2024, 1, 1);
 
-        when(transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(any(), any()))
-                .thenReturn(transactionsForYear);
+        when(transactionRepository.findSellerTransactionAmountsBetween(any(), any(), eq(true)))
+                .thenReturn(toSellerAmounts(transactionsForYear));
 
         List<MostProductiveSellerResponse> result =
                 mostProductiveSellerHandler.getMostProductiveSellers(date, "YEAR", true);
@@ -118,7 +130,7 @@ public class MostProductiveSellerHandlerTest {
     public void testGetMostProductiveSellerNoTransactions() {
         LocalDate date = LocalDate.of(2023, 1, 1);
 
-        when(transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(any(), any()))
+        when(transactionRepository.findSellerTransactionAmountsBetween(any(), any(), eq(true)))
                 .thenReturn(Collections.emptyList());
 
         assertThatThrownBy(() -> mostProductiveSellerHandler
@@ -137,6 +149,88 @@ public class MostProductiveSellerHandlerTest {
                 .isInstanceOf(InvalidTimePeriodException.class);
     }
 
+    @Test
+    @DisplayName("Тест на получение самых продуктивных продавцов через агрегацию в БД")
+    public void testGetMostProductiveSellersWithSqlAggregation() {
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "sqlAggregation", true);
+        LocalDate date = LocalDate.of(2024, 1, 1);
+
+        List<SellerAmountProjection> topSellers = List.of(
+                createSellerAmount(1L, "Seller 1", BigDecimal.valueOf(200)),
+                createSellerAmount(2L, "Seller 2", BigDecimal.valueOf(200))
+        );
+        when(transactionRepository.findTopSellersByAmountBetween(
+                eq(LocalDateTime.of(2024, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2024, 4, 1, 0, 0)),
+                eq(true)))
+                .thenReturn(topSellers);
+
+        List<MostProductiveSellerResponse> result =
+                mostProductiveSellerHandler.getMostProductiveSellers(date, "QUARTER", true);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.stream().map(MostProductiveSellerResponse::sellerName))
+                .containsExactlyInAnyOrder("Seller 1", "Seller 2");
+        verify(transactionRepository, never())
+                .findSellerTransactionAmountsBetween(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Тест на ошибку при отсутствии продавцов в агрегации БД")
+    public void testGetMostProductiveSellersWithSqlAggregationNoSellers() {
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "sqlAggregation", true);
+        LocalDate date = LocalDate.of(2024, 1, 1);
+
+        when(transactionRepository.findTopSellersByAmountBetween(any(), any(), anyBoolean()))
+                .thenReturn(Collections.emptyList());
+
+        assertThatThrownBy(() -> mostProductiveSellerHandler
+                .getMostProductiveSellers(date, "YEAR", false))
+                .isInstanceOf(SellerNotFoundException.class)
+                .hasMessage("Ни одного продавца не найдено");
+    }
+
+    @Test
+    @DisplayName("Тест на получение самых продуктивных продавцов из дневных итогов")
+    public void testGetMostProductiveSellersFromDailyStats() {
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "dailyStats", true);
+        LocalDate date = LocalDate.of(2024, 2, 10);
+
+        List<SellerAmountProjection> topSellers =
+                List.of(createSellerAmount(1L, "Seller 1", BigDecimal.valueOf(500)));
+        when(sellerDailyStatsRepository.findTopSellersByAmountBetween(
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1), true))
+                .thenReturn(topSellers);
+
+        List<MostProductiveSellerResponse> result =
+                mostProductiveSellerHandler.getMostProductiveSellers(date, "MONTH", true);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).amount()).isEqualTo(BigDecimal.valueOf(500));
+        verify(transactionRepository, never()).findTopSellersByAmountBetween(any(), any(), anyBoolean());
+        verify(transactionRepository, never())
+                .findSellerTransactionAmountsBetween(any(), any(), anyBoolean());
+    }
+
+    private SellerAmountProjection createSellerAmount(Long id, String sellerName, BigDecimal amount) {
+        SellerAmountProjection sellerAmount = mock(SellerAmountProjection.class);
+        when(sellerAmount.getId()).thenReturn(id);
+        when(sellerAmount.getSellerName()).thenReturn(sellerName);
+        when(sellerAmount.getAmount()).thenReturn(amount);
+        return sellerAmount;
+    }
+
+    private List<SellerTransactionAmount> toSellerAmounts(List<Transaction> transactions) {
+        return transactions.stream()
+                .map(transaction -> new SellerTransactionAmount(
+                        transaction.getSeller().getId(),
+                        transaction.getSeller().getSellerName(),
+                        transaction.getSeller().getContactInfo(),
+                        transaction.getSeller().getRegistrationDate(),
+                        transaction.getAmount()))
+                .toList();
+    }
+
     private List<Transaction> createTransactionDataForYear() {
         Seller seller1 = createSeller(1L, "Seller 1", "seller1@mail.ru");
         Seller seller2 = createSeller(2L, "Seller 2", "seller2@mail.ru");
@@ -0,0 +1,129 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.cft.crm.service.analytics.snapshot.SellerAmountIndex;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+import ru.cft.crm.type.PaymentType;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты индекса сумм продавцов")
+public class SellerAmountIndexTest {
+    private static final long DAY = 86_400L;
+
+    @Test
+    @DisplayName("Сумма и количество считаются за полуоткрытый период")
+    public void testSumForPeriod() {
+        SellerAmountIndex index = new SellerAmountIndex();
+        index.apply(changes(
+                new long[]{1, 1, 0, 10_000},
+                new long[]{2, 2, DAY - 1, 5_000},
+                new long[]{3, 1, DAY, 2_500},
+                new long[]{4, 1, 2 * DAY, 700}));
+
+        assertThat(index.sumAmountCents(1L, 0, 2 * DAY)).isEqualTo(12_500);
+        assertThat(index.count(1L, 0, 2 * DAY)).isEqualTo(2);
+        assertThat(index.sumAmountCents(1L, DAY, 3 * DAY)).isEqualTo(3_200);
+        assertThat(index.sumAmountCents(2L, DAY, 3 * DAY)).isZero();
+        assertThat(index.sumAmountCents(3L, 0, 3 * DAY)).isZero();
+        assertThat(index.epochSeconds(1L)).containsExactly(0, DAY, 2 * DAY);
+        assertThat(index.epochSeconds(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Повторное применение изменений заменяет сумму, а не добавляет ее")
+    public void testApplyIsIdempotent() {
+        SellerAmountIndex index = new SellerAmountIndex();
+        index.apply(changes(new long[]{1, 1, DAY, 10_000}, new long[]{2, 1, 2 * DAY, 500}));
+
+        index.apply(changes(new long[]{1, 1, DAY, 3_000}, new long[]{2, 1, 2 * DAY, 500}));
+
+        assertThat(index.sumAmountCents(1L, 0, 3 * DAY)).isEqualTo(3_500);
+        assertThat(index.count(1L, 0, 3 * DAY)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Читатель не видит частично примененное изменение суммы")
+    public void testReadersSeeWholeUpdates() throws Exception {
+        SellerAmountIndex index = new SellerAmountIndex();
+        long[][] rows = new long[1024][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new long[]{i + 1, 1, i, 100};
+        }
+        index.apply(changes(rows));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            for (long amount = 100; running.get(); amount = amount == 100 ? 1_000_100 : 100) {
+                index.apply(changes(new long[]{1, 1, 0, amount}));
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                assertThat(index.sumAmountCents(1L, 0, rows.length))
+                        .isIn(1023 * 100L + 100, 1023 * 100L + 1_000_100);
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Суммы совпадают с полным перебором после дописывания, вставок задним числом и изменений")
+    public void testMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(42);
+        SellerAmountIndex index = new SellerAmountIndex();
+        Map<Long, long[]> transactions = new TreeMap<>();
+        long nextId = 1;
+
+        for (int batch = 0; batch < 20; batch++) {
+            Map<Long, long[]> changed = new TreeMap<>();
+            for (int i = 0; i < 200; i++) {
+                long[] transaction = random.nextInt(4) == 0 && !transactions.isEmpty()
+                        ? updateRandom(transactions, random)
+                        : new long[]{nextId++, random.nextLong(1, 6), random.nextLong(30 * DAY), random.nextLong(100_000)};
+                transactions.put(transaction[0], transaction);
+                changed.put(transaction[0], transaction);
+            }
+            index.apply(changes(changed.values().stream()
+                    .sorted(Comparator.<long[]>comparingLong(row -> row[2]).thenComparingLong(row -> row[0]))
+                    .toArray(long[][]::new)));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            long sellerId = random.nextLong(1, 6);
+            long from = random.nextLong(30 * DAY);
+            long to = from + random.nextLong(10 * DAY);
+            List<long[]> expected = transactions.values().stream()
+                    .filter(row -> row[1] == sellerId && row[2] >= from && row[2] < to)
+                    .toList();
+
+            assertThat(index.sumAmountCents(sellerId, from, to))
+                    .isEqualTo(expected.stream().mapToLong(row -> row[3]).sum());
+            assertThat(index.count(sellerId, from, to)).isEqualTo(expected.size());
+        }
+    }
+
+    private long[] updateRandom(Map<Long, long[]> transactions, SplittableRandom random) {
+        long[] existing = transactions.get(random.nextLong(1, transactions.size() + 1));
+        return new long[]{existing[0], existing[1], existing[2], random.nextLong(100_000)};
+    }
+
+    private TransactionSnapshot.Changes changes(long[]... rows) {
+        TransactionSnapshot.Changes changes = new TransactionSnapshot.Changes();
+        for (long[] row : rows) {
+            changes.add(row[0], row[1], row[2], row[3], PaymentType.CASH);
+        }
+        return changes;
+    }
+}
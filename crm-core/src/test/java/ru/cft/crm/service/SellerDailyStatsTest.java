@@ -0,0 +1,218 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
+import ru.cft.crm.model.seller.SellerCreateRequest;
+import ru.cft.crm.model.transaction.TransactionCreateRequest;
+import ru.cft.crm.model.transaction.TransactionResponse;
+import ru.cft.crm.model.transaction.TransactionUpdateRequest;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.projection.PeriodCountProjection;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
+import ru.cft.crm.service.analytics.handler.impl.TransactionsLessThenHandlerImpl;
+import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.service.crud.TransactionService;
+import ru.cft.crm.service.imports.ImportService;
+import ru.cft.crm.type.ImportType;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@SpringBootTest
+@Testcontainers
+@DisplayName("Дневные итоги продавцов")
+public class SellerDailyStatsTest {
+    private static final String STATS = """
+            SELECT seller_id, day, tx_count, amount_sum, cash_count, card_count, transfer_count
+            FROM seller_daily_stats
+            ORDER BY seller_id, day
+            """;
+
+    private static final String EXPECTED_STATS = """
+            SELECT seller_id,
+                   transaction_date::DATE AS day,
+                   COUNT(*)::INT AS tx_count,
+                   SUM(amount)::NUMERIC(18, 2) AS amount_sum,
+                   (COUNT(*) FILTER (WHERE payment_type = 'CASH'))::INT AS cash_count,
+                   (COUNT(*) FILTER (WHERE payment_type = 'CARD'))::INT AS card_count,
+                   (COUNT(*) FILTER (WHERE payment_type = 'TRANSFER'))::INT AS transfer_count
+            FROM transactions
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            """;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private TransactionsLessThenHandlerImpl transactionsLessThenHandler;
+
+    @Autowired
+    private SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long firstSellerId;
+
+    private Long secondSellerId;
+
+    @BeforeEach
+    void setUp() {
+        firstSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 1", "first@test.com")).id();
+        secondSellerId = sellerService.createSeller(new SellerCreateRequest("Seller 2", "second@test.com")).id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(transactionsLessThenHandler, "dailyStats", true);
+        jdbcTemplate.update("DELETE FROM seller_daily_stats");
+        jdbcTemplate.update("DELETE FROM transactions_history");
+        jdbcTemplate.update("DELETE FROM sellers_history");
+        jdbcTemplate.update("DELETE FROM import_jobs");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM sellers");
+    }
+
+    @Test
+    @DisplayName("Итоги совпадают с агрегацией транзакций после создания, изменения, удаления и импорта")
+    void testStatsMatchTransactions() {
+        TransactionResponse created = transactionService.createTransaction(
+                new TransactionCreateRequest(firstSellerId, new BigDecimal("100.00"), "CARD"));
+        transactionService.createTransactions(List.of(
+                new TransactionCreateRequest(firstSellerId, new BigDecimal("50.00"), "CASH"),
+                new TransactionCreateRequest(secondSellerId, new BigDecimal("70.00"), "TRANSFER"),
+                new TransactionCreateRequest(secondSellerId, new BigDecimal("30.00"), "CARD")));
+        transactionService.updateTransaction(
+                created.id(), new TransactionUpdateRequest(new BigDecimal("150.00"), "TRANSFER"));
+        transactionService.deleteTransaction(created.id());
+        importService.importCsv(ImportType.TRANSACTIONS, csv("""
+                seller_id,amount,payment_type,transaction_date
+                %d,10.00,CASH,2024-01-01 10:00:00
+                %d,20.00,CARD,2024-01-01 12:00:00
+                %d,5.00,CASH,2024-01-02 09:00:00
+                """.formatted(firstSellerId, firstSellerId, secondSellerId)), null);
+        sellerService.deleteSeller(secondSellerId);
+
+        List<Map<String, Object>> stats = jdbcTemplate.queryForList(STATS);
+
+        assertThat(stats).hasSize(4);
+        assertThat(stats).isEqualTo(jdbcTemplate.queryForList(EXPECTED_STATS));
+    }
+
+    @Test
+    @DisplayName("Продавцы с суммой меньше указанной по дневным итогам и по транзакциям совпадают")
+    void testLessThanFromStatsMatchesTransactions() {
+        importService.importCsv(ImportType.TRANSACTIONS, csv("""
+                seller_id,amount,payment_type,transaction_date
+                %d,100.00,CASH,2024-01-01 10:00:00
+                %d,300.00,CARD,2024-01-31 23:59:59
+                %d,50.00,CARD,2024-02-01 00:00:01
+                """.formatted(firstSellerId, secondSellerId, firstSellerId)), null);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+
+        List<SellerWithTransactionsResponse> fromStats = transactionsLessThenHandler
+                .getSellersWithTransactionsLessThan(new BigDecimal("200"), start, end, true);
+        ReflectionTestUtils.setField(transactionsLessThenHandler, "dailyStats", false);
+        List<SellerWithTransactionsResponse> fromTransactions = transactionsLessThenHandler
+                .getSellersWithTransactionsLessThan(new BigDecimal("200"), start, end, true);
+
+        assertThat(fromStats).extracting(SellerWithTransactionsResponse::id).containsExactly(firstSellerId);
+        assertThat(fromStats).containsExactlyInAnyOrderElementsOf(fromTransactions);
+    }
+
+    @Test
+    @DisplayName("Самый загруженный период и лучшие продавцы по дневным итогам совпадают с запросами по транзакциям")
+    void testRollupQueriesMatchTransactions() {
+        importService.importCsv(ImportType.TRANSACTIONS, csv("""
+                seller_id,amount,payment_type,transaction_date
+                %1$d,10.00,CASH,2024-01-01 10:00:00
+                %1$d,20.00,CARD,2024-01-01 12:00:00
+                %1$d,5.00,CASH,2024-01-15 09:00:00
+                %1$d,100.00,CARD,2024-02-10 09:00:00
+                %1$d,100.00,CARD,2024-02-11 09:00:00
+                %1$d,100.00,CARD,2024-02-12 09:00:00
+                %2$d,35.00,TRANSFER,2024-01-20 18:00:00
+                %2$d,1.00,CASH,2024-03-04 08:00:00
+                """.formatted(firstSellerId, secondSellerId)), null);
+
+        for (Long sellerId : List.of(firstSellerId, secondSellerId)) {
+            for (String unit : List.of("day", "week", "month")) {
+                PeriodCountProjection fromStats =
+                        sellerDailyStatsRepository.findBusiestPeriodBySellerId(sellerId, unit).orElseThrow();
+                PeriodCountProjection fromTransactions =
+                        transactionRepository.findBusiestPeriodBySellerId(sellerId, unit).orElseThrow();
+
+                assertThat(fromStats)
+                        .extracting(PeriodCountProjection::getStartDate, PeriodCountProjection::getTransactionCount,
+                                PeriodCountProjection::getTotalCount)
+                        .containsExactly(fromTransactions.getStartDate(), fromTransactions.getTransactionCount(),
+                                fromTransactions.getTotalCount());
+            }
+        }
+
+        List<SellerAmountProjection> topFromStats = sellerDailyStatsRepository.findTopSellersByAmountBetween(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), true);
+        List<SellerAmountProjection> topFromTransactions = transactionRepository.findTopSellersByAmountBetween(
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 31, 23, 59, 59), true);
+
+        assertThat(topFromStats)
+                .extracting(SellerAmountProjection::getId, projection -> projection.getAmount().stripTrailingZeros())
+                .containsExactlyInAnyOrder(
+                        tuple(firstSellerId, new BigDecimal("35")),
+                        tuple(secondSellerId, new BigDecimal("35")))
+                .containsExactlyInAnyOrderElementsOf(topFromTransactions.stream()
+                        .map(projection -> tuple(projection.getId(), projection.getAmount().stripTrailingZeros()))
+                        .toList());
+    }
+
+    private ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package ru.cft.crm.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.entity.Transaction;
+import ru.cft.crm.entity.TransactionsHistory;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.SellersHistoryRepository;
+import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.repository.TransactionsHistoryRepository;
+import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.type.ChangeType;
+import ru.cft.crm.type.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers
+@DisplayName("Каскадное удаление транзакций продавца")
+public class SellerDeleteCascadeTest {
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SellersHistoryRepository sellersHistoryRepository;
+
+    @Autowired
+    private TransactionsHistoryRepository transactionsHistoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        transactionsHistoryRepository.deleteAll();
+        sellersHistoryRepository.deleteAll();
+        transactionRepository.deleteAll();
+        sellerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Количество запросов не зависит от количества транзакций продавца")
+    void testStatementCountDoesNotDependOnTransactionsCount() {
+        Seller smallSeller = createSellerWithTransactions("small@test.com", 1);
+        Seller largeSeller = createSellerWithTransactions("large@test.com", 500);
+
+        long smallSellerStatements = countStatements(() -> sellerService.deleteSeller(smallSeller.getId()));
+        long largeSellerStatements = countStatements(() -> sellerService.deleteSeller(largeSeller.getId()));
+
+        assertThat(largeSellerStatements).isEqualTo(smallSellerStatements);
+    }
+
+    @Test
+    @DisplayName("Все активные транзакции продавца деактивируются и попадают в историю")
+    void testDeleteSellerDeactivatesTransactionsAndSavesHistory() {
+        Seller seller = createSellerWithTransactions("seller@test.com", 20);
+        Transaction inactive = transactionRepository.findAllBySellerId(seller.getId()).get(0);
+        inactive.setIsActive(false);
+        transactionRepository.save(inactive);
+
+        sellerService.deleteSeller(seller.getId());
+
+        assertThat(transactionRepository.findAllBySellerId(seller.getId()))
+                .hasSize(20)
+                .noneMatch(Transaction::getIsActive);
+        List<TransactionsHistory> history = transactionsHistoryRepository.findAll();
+        assertThat(history).hasSize(19);
+        assertThat(history).allMatch(entry -> entry.getChangeType() == ChangeType.DELETED
+                && seller.getId().equals(entry.getSellerId()));
+        assertThat(history).extracting(TransactionsHistory::getTransactionId)
+                .doesNotContain(inactive.getId());
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Seller createSellerWithTransactions(String contactInfo, int transactionsCount) {
+        Seller seller = new Seller();
+        seller.setSellerName("Seller");
+        seller.setContactInfo(contactInfo);
+        seller.setRegistrationDate(LocalDateTime.now());
+        seller.setUpdatedAt(LocalDateTime.now());
+        seller.setIsActive(true);
+        sellerRepository.save(seller);
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < transactionsCount; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setSeller(seller);
+            transaction.setAmount(BigDecimal.valueOf(100));
+            transaction.setPaymentType(PaymentType.CARD);
+            transaction.setTransactionDate(LocalDateTime.now().minusMinutes(i));
+            transaction.setUpdatedAt(LocalDateTime.now());
+            transaction.setIsActive(true);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+        return seller;
+    }
+}
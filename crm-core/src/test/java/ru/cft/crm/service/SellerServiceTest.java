@@ -4,22 +4,32 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ru.cft.crm.cache.CacheInvalidationBus;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+import ru.cft.crm.cache.SellerCache;
+import ru.cft.crm.model.page.CursorPageResponse;
 import ru.cft.crm.model.seller.SellerCreateRequest;
 import ru.cft.crm.model.seller.SellerResponse;
 import ru.cft.crm.model.seller.SellerUpdateRequest;
 import ru.cft.crm.entity.Seller;
 import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.EntityUpdateException;
+import ru.cft.crm.exception.InvalidPageRequestException;
 import ru.cft.crm.exception.SellerAlreadyExistsException;
 import ru.cft.crm.exception.SellerNotFoundException;
 import ru.cft.crm.history.HistorySaver;
+import ru.cft.crm.mapper.CursorPageMapper;
 import ru.cft.crm.mapper.SellerMapper;
 import ru.cft.crm.repository.SellerRepository;
 import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.analytics.leaderboard.LiveLeaderboard;
 import ru.cft.crm.service.crud.impl.SellerServiceImpl;
+import ru.cft.crm.service.events.ChangeEventStream;
 import ru.cft.crm.type.ChangeType;
 
 import java.time.LocalDateTime;
@@ -31,6 +41,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,13 +59,24 @@ public class SellerServiceTest {
     @Mock
     private HistorySaver historySaver;
 
+    @Mock
+    private SellerCache sellerCache;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private LiveLeaderboard liveLeaderboard;
+
+    @Mock
+    private ChangeEventStream changeEventStream;
+
     @InjectMocks
     private SellerServiceImpl sellerService;
 
     private Seller seller;
     private SellerCreateRequest createRequest;
     private SellerUpdateRequest updateRequest;
-    private Transaction transaction;
 
     @BeforeEach
     public void setUp() {
@@ -66,10 +88,6 @@ public class SellerServiceTest {
 
         createRequest = new SellerCreateRequest("Test Seller", "seller@test.com");
         updateRequest = new SellerUpdateRequest("Updated Seller", "updated@test.com");
-
-        transaction = new Transaction();
-        transaction.setSeller(seller);
-        transaction.setIsActive(true);
     }
 
     @Test
@@ -103,24 +121,25 @@ public class SellerServiceTest {
     @Test
     @DisplayName("Тест на получение продавца")
     public void testGetSeller() {
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.of(seller));
 
         SellerResponse response = sellerService.getSeller(1L);
 
         assertThat(response.sellerName()).isEqualTo("Test Seller");
-        verify(sellerRepository).findByIdAndIsActiveTrue(1L);
+        verify(sellerCache).findActiveSeller(1L);
+        verify(sellerRepository, never()).findByIdAndIsActiveTrue(any());
     }
 
     @Test
     @DisplayName("Тест на выброс ошибки, когда продавец не найден")
     public void testGetSellerNotFound() {
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.empty());
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> sellerService.getSeller(1L))
                 .isInstanceOf(SellerNotFoundException.class)
                 .hasMessageContaining("Продавец с id: 1 не найден");
 
-        verify(sellerRepository).findByIdAndIsActiveTrue(1L);
+        verify(sellerCache).findActiveSeller(1L);
     }
 
     @Test
@@ -169,6 +188,44 @@ public class SellerServiceTest {
         verify(sellerRepository).findByIsActiveTrue();
     }
 
+    @Test
+    @DisplayName("Тест на получение страницы продавцов с курсором на следующую")
+    public void testGetSellersPage() {
+        Seller nextSeller = new Seller();
+        nextSeller.setId(2L);
+        nextSeller.setIsActive(true);
+        when(sellerRepository.findByIsActiveTrueAndIdGreaterThanOrderById(0L, Limit.of(2)))
+                .thenReturn(List.of(seller, nextSeller));
+
+        CursorPageResponse<SellerResponse> page = sellerService.getSellersPage(null, 1, true);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).id()).isEqualTo(1L);
+        assertThat(CursorPageMapper.decodeSellerCursor(page.nextCursor())).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Тест на получение последней страницы продавцов")
+    public void testGetSellersLastPage() {
+        String after = CursorPageMapper.encodeSellerCursor(seller);
+        when(sellerRepository.findByIdGreaterThanOrderById(1L, Limit.of(51))).thenReturn(List.of());
+
+        CursorPageResponse<SellerResponse> page = sellerService.getSellersPage(after, 50, false);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Тест на выброс ошибки при некорректном курсоре или размере страницы")
+    public void testGetSellersPageInvalidRequest() {
+        assertThatThrownBy(() -> sellerService.getSellersPage("не-курсор", 50, true))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> sellerService.getSellersPage(null, 0, true))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Размер страницы должен быть от 1 до 1000");
+    }
+
     @Test
     @DisplayName("Тест на обновление продавца")
     public void testUpdateSeller() {
@@ -181,22 +238,23 @@ public class SellerServiceTest {
         assertThat(response.sellerName()).isEqualTo("Updated Seller");
         verify(sellerRepository).save(any(Seller.class));
         verify(historySaver).saveSellerHistory(any(Seller.class), eq(ChangeType.UPDATED));
+        verify(cacheInvalidationBus).publish(CacheInvalidationEvent.seller(1L));
     }
 
     @Test
     @DisplayName("Тест на удаление продавца")
     public void testDeleteSeller() {
         when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
-        when(transactionRepository.findBySellerAndIsActiveTrue(seller)).thenReturn(List.of(transaction));
         when(sellerRepository.save(any(Seller.class))).thenReturn(seller);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         sellerService.deleteSeller(1L);
 
         verify(sellerRepository).save(any(Seller.class));
         verify(historySaver).saveSellerHistory(any(Seller.class), eq(ChangeType.DELETED));
-        verify(transactionRepository).save(any(Transaction.class));
-        verify(historySaver).saveTransactionHistory(any(Transaction.class), eq(ChangeType.DELETED));
+        verify(historySaver).saveSellerTransactionsHistory(1L, ChangeType.DELETED);
+        verify(transactionRepository).deactivateAllBySellerId(eq(1L), any(LocalDateTime.class));
+        verify(cacheInvalidationBus).publish(CacheInvalidationEvent.seller(1L));
+        verify(changeEventStream).transactionsChanged(ChangeType.DELETED, List.of());
     }
 
     @Test
@@ -215,14 +273,14 @@ public class SellerServiceTest {
     @DisplayName("Тест на удаление транзакций продавца, при его удалении")
     public void testDeleteSellerWithTransactionsDeactivation() {
         when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
-        when(transactionRepository.findBySellerAndIsActiveTrue(seller)).thenReturn(List.of(transaction));
         when(sellerRepository.save(any(Seller.class))).thenReturn(seller);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         sellerService.deleteSeller(1L);
 
-        verify(transactionRepository).save(any(Transaction.class));
-        verify(historySaver).saveTransactionHistory(any(Transaction.class), eq(ChangeType.DELETED));
+        InOrder inOrder = inOrder(historySaver, transactionRepository);
+        inOrder.verify(historySaver).saveSellerTransactionsHistory(1L, ChangeType.DELETED);
+        inOrder.verify(transactionRepository).deactivateAllBySellerId(1L, seller.getUpdatedAt());
+        verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
     @Test
@@ -0,0 +1,138 @@
+package ru.cft.crm.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.service.analytics.handler.impl.MostProductiveSellerHandlerImpl;
+import ru.cft.crm.service.crud.SellerService;
+import ru.cft.crm.service.crud.TransactionService;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers
+@DisplayName("Количество SQL-запросов в методах сервисов")
+public class StatementCountTest {
+    private static final int SELLERS_COUNT = 20;
+    private static final int TRANSACTIONS_PER_SELLER = 5;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private MostProductiveSellerHandlerImpl mostProductiveSellerHandler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long sellerId;
+
+    private Long transactionId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO sellers (seller_name, contact_info, is_active)
+                SELECT 'Seller ' || i, 'seller' || i || '@test.com', true
+                FROM generate_series(1, ?) AS i
+                """, SELLERS_COUNT);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (seller_id, amount, payment_type, transaction_date, updated_at, is_active)
+                SELECT s.id, i, 'CARD', CURRENT_DATE + INTERVAL '12 hours' - i * INTERVAL '1 minute', now(), true
+                FROM sellers s
+                CROSS JOIN generate_series(1, ?) AS i
+                """, TRANSACTIONS_PER_SELLER);
+        sellerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM sellers", Long.class);
+        transactionId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM transactions", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "sqlAggregation", true);
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "dailyStats", true);
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM sellers");
+    }
+
+    @Test
+    @DisplayName("Получение транзакций выполняется одним запросом")
+    void testTransactionListsUseSingleStatement() {
+        assertMaxStatements(1, () -> transactionService.getAllTransactions());
+        assertMaxStatements(1, () -> transactionService.getAllActiveTransactions());
+        assertMaxStatements(1, () -> transactionService.getTransaction(transactionId));
+        assertMaxStatements(1, () -> transactionService.getTransactionsPage(null, 50, true));
+        assertMaxStatements(1, () -> transactionService.getTransactionsPage(null, 50, false));
+    }
+
+    @Test
+    @DisplayName("Получение транзакций продавца выполняется двумя запросами")
+    void testSellersTransactionListsUseTwoStatements() {
+        assertMaxStatements(2, () -> transactionService.getAllSellersTransactions(sellerId));
+        assertMaxStatements(2, () -> transactionService.getSellersTransactionsPage(sellerId, null, 50));
+    }
+
+    @Test
+    @DisplayName("Получение продавцов выполняется одним запросом")
+    void testSellerListsUseSingleStatement() {
+        assertMaxStatements(1, () -> sellerService.getAllSellers());
+        assertMaxStatements(1, () -> sellerService.getAllActiveSellers());
+        assertMaxStatements(1, () -> sellerService.getSellersPage(null, 50, true));
+    }
+
+    @Test
+    @DisplayName("Агрегация самых продуктивных продавцов в Java выполняется одним запросом")
+    void testJavaAggregationUsesSingleStatement() {
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "dailyStats", false);
+        ReflectionTestUtils.setField(mostProductiveSellerHandler, "sqlAggregation", false);
+
+        assertMaxStatements(1, () -> mostProductiveSellerHandler
+                .getMostProductiveSellers(LocalDate.now(), "DAY", true));
+    }
+
+    private void assertMaxStatements(int maxStatements, Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        action.run();
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("Количество SQL-запросов")
+                .isLessThanOrEqualTo(maxStatements);
+    }
+}
@@ -0,0 +1,132 @@
+package ru.cft.crm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.service.export.TransactionExportService;
+import ru.cft.crm.type.ExportFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers
+@DisplayName("Потоковая выгрузка транзакций")
+public class TransactionExportTest {
+    private static final int TRANSACTIONS_COUNT = 2_500;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("test_db")
+                    .withUsername("test_user")
+                    .withPassword("test_pass");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        Seller seller = new Seller();
+        seller.setSellerName("Test Seller");
+        seller.setContactInfo("seller@test.com");
+        seller.setRegistrationDate(LocalDateTime.now());
+        seller.setUpdatedAt(LocalDateTime.now());
+        seller.setIsActive(true);
+        sellerRepository.save(seller);
+
+        jdbcTemplate.update("""
+                INSERT INTO transactions (seller_id, amount, payment_type, transaction_date, updated_at, is_active)
+                SELECT ?, i, 'CARD', now() - i * INTERVAL '1 minute', now(), i % 10 <> 0
+                FROM generate_series(1, ?) AS i
+                """, seller.getId(), TRANSACTIONS_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM sellers");
+    }
+
+    @Test
+    @DisplayName("Активные транзакции выгружаются в NDJSON построчно")
+    void testExportActiveTransactionsAsNdjson() throws IOException {
+        List<String> lines = export(ExportFormat.NDJSON, true);
+
+        assertThat(lines).hasSize(TRANSACTIONS_COUNT - TRANSACTIONS_COUNT / 10);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("isActive").asBoolean()).isTrue();
+        assertThat(first.get("paymentType").asText()).isEqualTo("CARD");
+        assertThat(first.has("sellerId")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Все транзакции выгружаются в CSV с заголовком")
+    void testExportAllTransactionsAsCsv() throws IOException {
+        List<String> lines = export(ExportFormat.CSV, false);
+
+        assertThat(lines).hasSize(TRANSACTIONS_COUNT + 1);
+        assertThat(lines.get(0)).isEqualTo("id,seller_id,amount,payment_type,transaction_date,updated_at,is_active");
+        assertThat(lines.subList(1, lines.size())).allMatch(line -> line.split(",").length == 7);
+        assertThat(lines).filteredOn(line -> line.endsWith(",false")).hasSize(TRANSACTIONS_COUNT / 10);
+    }
+
+    @Test
+    @DisplayName("Выгрузка не загружает сущности в контекст персистентности")
+    void testExportDoesNotLoadEntities() throws IOException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        export(ExportFormat.NDJSON, false);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private List<String> export(ExportFormat format, boolean activeOnly) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.exportTransactions(format, activeOnly, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
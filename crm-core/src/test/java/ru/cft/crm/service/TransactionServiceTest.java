@@ -1,38 +1,62 @@
 package ru.cft.crm.service;
 
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.cft.crm.model.page.CursorPageResponse;
+import ru.cft.crm.model.page.TransactionCursor;
+import ru.cft.crm.cache.CacheInvalidationBus;
+import ru.cft.crm.cache.CacheInvalidationEvent;
+import ru.cft.crm.cache.SellerCache;
+import ru.cft.crm.model.transaction.TransactionBatchItemResult;
+import ru.cft.crm.model.transaction.TransactionBatchResponse;
 import ru.cft.crm.model.transaction.TransactionCreateRequest;
 import ru.cft.crm.model.transaction.TransactionResponse;
 import ru.cft.crm.model.transaction.TransactionUpdateRequest;
 import ru.cft.crm.entity.Seller;
 import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.EntityUpdateException;
+import ru.cft.crm.exception.InvalidBatchSizeException;
 import ru.cft.crm.exception.InvalidPaymentTypeException;
 import ru.cft.crm.exception.SellerNotFoundException;
 import ru.cft.crm.exception.TransactionNotFoundException;
 import ru.cft.crm.history.HistorySaver;
-import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.mapper.CursorPageMapper;
+import ru.cft.crm.mapper.TransactionMapper;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
 import ru.cft.crm.repository.TransactionRepository;
+import ru.cft.crm.service.analytics.leaderboard.LiveLeaderboard;
+import ru.cft.crm.service.analytics.snapshot.AnalyticsSnapshot;
 import ru.cft.crm.service.crud.impl.TransactionServiceImpl;
+import ru.cft.crm.service.events.ChangeEventStream;
 import ru.cft.crm.type.ChangeType;
 import ru.cft.crm.type.PaymentType;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,16 +67,35 @@ public class TransactionServiceTest {
     private TransactionRepository transactionRepository;
 
     @Mock
-    private SellerRepository sellerRepository;
+    private SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @Mock
+    private SellerCache sellerCache;
 
     @Mock
     private HistorySaver historySaver;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private LiveLeaderboard liveLeaderboard;
+
+    @Mock
+    private AnalyticsSnapshot analyticsSnapshot;
+
+    @Mock
+    private ChangeEventStream changeEventStream;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
     private Seller seller;
     private Transaction transaction;
+    private TransactionResponse transactionResponse;
 
     @BeforeEach
     public void setUp() {
@@ -66,7 +109,11 @@ public class TransactionServiceTest {
         transaction.setSeller(seller);
         transaction.setAmount(new BigDecimal("100"));
         transaction.setPaymentType(PaymentType.CARD);
+        transaction.setTransactionDate(LocalDateTime.of(2024, 1, 10, 12, 0));
         transaction.setIsActive(true);
+        transactionResponse = TransactionMapper.mapTransactionToResponse(transaction);
+
+        ReflectionTestUtils.setField(transactionService, "batchMaxSize", 100);
     }
 
     @Test
@@ -76,7 +123,7 @@ public class TransactionServiceTest {
                 1L, new BigDecimal("100"), "CARD"
         );
 
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.of(seller));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction savedTransaction = invocation.getArgument(0);
             savedTransaction.setId(1L);
@@ -88,6 +135,10 @@ public class TransactionServiceTest {
         assertThat(response.amount()).isEqualTo(new BigDecimal("100"));
         assertThat(response.paymentType()).isEqualTo(PaymentType.CARD);
         verify(transactionRepository).save(any(Transaction.class));
+        verify(sellerDailyStatsRepository).addStats(
+                eq(1L), any(LocalDate.class), eq(1), eq(new BigDecimal("100")), eq(0), eq(1), eq(0));
+        verify(analyticsSnapshot).transactionsChanged(argThat(transactions -> transactions.size() == 1
+                && transactions.get(0).getId().equals(1L)));
     }
 
     @Test
@@ -97,7 +148,7 @@ public class TransactionServiceTest {
                 1L, new BigDecimal("100"), ""
         );
 
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.of(seller));
 
         assertThatThrownBy(() -> transactionService.createTransaction(request))
                 .isInstanceOf(InvalidPaymentTypeException.class)
@@ -113,7 +164,7 @@ public class TransactionServiceTest {
                 1L, new BigDecimal("100"), null
         );
 
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.of(seller));
 
         assertThatThrownBy(() -> transactionService.createTransaction(request))
                 .isInstanceOf(InvalidPaymentTypeException.class)
@@ -129,7 +180,7 @@ public class TransactionServiceTest {
                 1L, new BigDecimal("100"), "CASHBACK"
         );
 
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.of(seller));
 
         assertThatThrownBy(() -> transactionService.createTransaction(request))
                 .isInstanceOf(InvalidPaymentTypeException.class)
@@ -145,7 +196,7 @@ public class TransactionServiceTest {
                 1L, new BigDecimal("100"), "CARD"
         );
 
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.empty());
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> transactionService.createTransaction(request))
                 .isInstanceOf(SellerNotFoundException.class)
@@ -154,56 +205,119 @@ public class TransactionServiceTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @Test
+    @DisplayName("Тест на пакетное создание транзакций с частичными ошибками")
+    public void testCreateTransactionsWithPartialFailures() {
+        List<TransactionCreateRequest> requests = List.of(
+                new TransactionCreateRequest(1L, new BigDecimal("100"), "CARD"),
+                new TransactionCreateRequest(2L, new BigDecimal("200"), "CASH"),
+                new TransactionCreateRequest(1L, new BigDecimal("300"), "CASHBACK"),
+                new TransactionCreateRequest(1L, new BigDecimal("-1"), "TRANSFER"),
+                new TransactionCreateRequest(1L, new BigDecimal("400"), "transfer")
+        );
+
+        when(sellerCache.findActiveSellers(List.of(1L, 2L))).thenReturn(Map.of(1L, seller));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionBatchResponse response = transactionService.createTransactions(requests);
+
+        assertThat(response.createdCount()).isEqualTo(2);
+        assertThat(response.failedCount()).isEqualTo(3);
+        assertThat(response.results()).extracting(TransactionBatchItemResult::index)
+                .containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.results().get(0).transaction().amount()).isEqualTo(new BigDecimal("100"));
+        assertThat(response.results().get(0).errors()).isEmpty();
+        assertThat(response.results().get(1).transaction()).isNull();
+        assertThat(response.results().get(1).errors().get(0).errorMessage())
+                .isEqualTo("Продавец с id: 2 не найден");
+        assertThat(response.results().get(2).errors().get(0).field()).isEqualTo("paymentType");
+        assertThat(response.results().get(3).errors().get(0).field()).isEqualTo("amount");
+        assertThat(response.results().get(4).transaction().paymentType()).isEqualTo(PaymentType.TRANSFER);
+
+        verify(sellerCache).findActiveSellers(List.of(1L, 2L));
+        verify(sellerCache, never()).findActiveSeller(any());
+        verify(transactionRepository).saveAll(argThat(transactions -> ((List<?>) transactions).size() == 2));
+        verify(sellerDailyStatsRepository).addStats(
+                eq(1L), any(LocalDate.class), eq(2), eq(new BigDecimal("500")), eq(0), eq(1), eq(1));
+    }
+
+    @Test
+    @DisplayName("Тест на пакетное создание транзакций с пустым пакетом")
+    public void testCreateTransactionsEmptyBatch() {
+        assertThatThrownBy(() -> transactionService.createTransactions(List.of()))
+                .isInstanceOf(InvalidBatchSizeException.class)
+                .hasMessage("Пакет транзакций не должен быть пустым");
+
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Тест на пакетное создание транзакций с превышением размера пакета")
+    public void testCreateTransactionsBatchTooLarge() {
+        ReflectionTestUtils.setField(transactionService, "batchMaxSize", 1);
+        List<TransactionCreateRequest> requests = List.of(
+                new TransactionCreateRequest(1L, new BigDecimal("100"), "CARD"),
+                new TransactionCreateRequest(1L, new BigDecimal("200"), "CARD")
+        );
+
+        assertThatThrownBy(() -> transactionService.createTransactions(requests))
+                .isInstanceOf(InvalidBatchSizeException.class)
+                .hasMessage("Размер пакета транзакций не должен превышать 1");
+
+        verify(sellerCache, never()).findActiveSellers(anyList());
+    }
+
     @Test
     @DisplayName("Тест на получение транзакции")
     public void testGetTransaction() {
-        when(transactionRepository.findByIdAndIsActive(1L, true))
-                .thenReturn(Optional.of(transaction));
+        when(transactionRepository.findActiveResponseById(1L))
+                .thenReturn(Optional.of(transactionResponse));
 
         TransactionResponse response = transactionService.getTransaction(1L);
 
         assertThat(response.amount()).isEqualTo(new BigDecimal("100"));
-        verify(transactionRepository).findByIdAndIsActive(1L, true);
+        assertThat(response.sellerName()).isEqualTo("Test Seller");
+        verify(transactionRepository).findActiveResponseById(1L);
     }
 
     @Test
     @DisplayName("Тест на получение транзакции, если она не найдена")
     public void testGetTransactionNotFound() {
-        when(transactionRepository.findByIdAndIsActive(1L, true))
+        when(transactionRepository.findActiveResponseById(1L))
                 .thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> transactionService.getTransaction(1L))
                 .isInstanceOf(TransactionNotFoundException.class)
                 .hasMessage("Транзакция с id: 1 не найдена");
 
-        verify(transactionRepository).findByIdAndIsActive(1L, true);
+        verify(transactionRepository).findActiveResponseById(1L);
     }
 
     @Test
     @DisplayName("Тест на получение всех активных транзакций продавца")
     public void testGetAllSellersTransactions() {
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
-        when(transactionRepository.findBySellerAndIsActiveTrue(seller))
-                .thenReturn(List.of(transaction));
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.of(seller));
+        when(transactionRepository.findActiveResponsesBySellerId(1L))
+                .thenReturn(List.of(transactionResponse));
 
         List<TransactionResponse> responses = transactionService.getAllSellersTransactions(1L);
 
         assertThat(responses).hasSize(1);
-        verify(transactionRepository).findBySellerAndIsActiveTrue(seller);
+        verify(transactionRepository).findActiveResponsesBySellerId(1L);
     }
 
     @Test
     @DisplayName("Тест на получение всех активных транзакций продавца, если транзакции не найдены")
     public void testGetAllSellersTransactionsEmpty() {
-        when(sellerRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(seller));
-        when(transactionRepository.findBySellerAndIsActiveTrue(seller))
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.of(seller));
+        when(transactionRepository.findActiveResponsesBySellerId(1L))
                 .thenReturn(List.of());
 
         assertThatThrownBy(() -> transactionService.getAllSellersTransactions(1L))
                 .isInstanceOf(TransactionNotFoundException.class)
                 .hasMessage("Ни одной транзакции не найдено");
 
-        verify(transactionRepository).findBySellerAndIsActiveTrue(seller);
+        verify(transactionRepository).findActiveResponsesBySellerId(1L);
     }
 
     @Test
@@ -222,6 +336,11 @@ public class TransactionServiceTest {
         assertThat(response.paymentType()).isEqualTo(PaymentType.CASH);
         verify(transactionRepository).save(any(Transaction.class));
         verify(historySaver).saveTransactionHistory(any(Transaction.class), eq(ChangeType.UPDATED));
+        verify(sellerDailyStatsRepository).addStats(
+                1L, LocalDate.of(2024, 1, 10), 0, new BigDecimal("100"), 1, -1, 0);
+        verify(cacheInvalidationBus).publish(CacheInvalidationEvent.transactions(
+                1L, transaction.getTransactionDate(), transaction.getTransactionDate()));
+        verify(analyticsSnapshot).transactionsChanged(List.of(transaction));
     }
 
     @Test
@@ -246,52 +365,53 @@ public class TransactionServiceTest {
 
         verify(transactionRepository).save(any(Transaction.class));
         verify(historySaver).saveTransactionHistory(any(Transaction.class), eq(ChangeType.DELETED));
+        verifyNoInteractions(sellerDailyStatsRepository, analyticsSnapshot);
     }
 
     @Test
     @DisplayName("Тест на проверку получения всех активных транзакций")
     public void testGetAllActiveTransactions() {
-        when(transactionRepository.findByIsActiveTrue()).thenReturn(List.of(transaction));
+        when(transactionRepository.findActiveResponses()).thenReturn(List.of(transactionResponse));
 
         List<TransactionResponse> responses = transactionService.getAllActiveTransactions();
 
         assertThat(responses).hasSize(1);
-        verify(transactionRepository).findByIsActiveTrue();
+        verify(transactionRepository).findActiveResponses();
     }
 
     @Test
     @DisplayName("Тест на проверку получения всех активных транзакций, когда они отсутствуют")
     public void testGetAllActiveTransactionsIsEmpty() {
-        when(transactionRepository.findByIsActiveTrue()).thenReturn(List.of());
+        when(transactionRepository.findActiveResponses()).thenReturn(List.of());
 
         assertThatThrownBy(() -> transactionService.getAllActiveTransactions())
                 .isInstanceOf(TransactionNotFoundException.class)
                 .hasMessage("Ни одной транзакции не найдено");
 
-        verify(transactionRepository).findByIsActiveTrue();
+        verify(transactionRepository).findActiveResponses();
     }
 
     @Test
     @DisplayName("Тест на получение всех транзакций (активных и неактивных)")
     public void testGetAllTransactions() {
-        when(transactionRepository.findAll()).thenReturn(List.of(transaction));
+        when(transactionRepository.findAllResponses()).thenReturn(List.of(transactionResponse));
 
         List<TransactionResponse> responses = transactionService.getAllTransactions();
 
         assertThat(responses).hasSize(1);
-        verify(transactionRepository).findAll();
+        verify(transactionRepository).findAllResponses();
     }
 
     @Test
     @DisplayName("Тест на проверку получения всех транзакций, когда они отсутствуют")
     public void testGetAllTransactionsIsEmpty() {
-        when(transactionRepository.findAll()).thenReturn(List.of());
+        when(transactionRepository.findAllResponses()).thenReturn(List.of());
 
         assertThatThrownBy(() -> transactionService.getAllTransactions())
                 .isInstanceOf(TransactionNotFoundException.class)
                 .hasMessage("Ни одной транзакции не найдено");
 
-        verify(transactionRepository).findAll();
+        verify(transactionRepository).findAllResponses();
     }
 
     @Test
@@ -309,6 +429,8 @@ public class TransactionServiceTest {
         assertThat(response.amount()).isEqualTo(new BigDecimal("500"));
         verify(transactionRepository).save(any(Transaction.class));
         verify(historySaver).saveTransactionHistory(any(Transaction.class), eq(ChangeType.UPDATED));
+        verify(sellerDailyStatsRepository).addStats(
+                1L, LocalDate.of(2024, 1, 10), 0, new BigDecimal("400"), 0, 0, 0);
     }
 
     @Test
@@ -326,6 +448,8 @@ public class TransactionServiceTest {
         assertThat(response.paymentType()).isEqualTo(PaymentType.TRANSFER);
         verify(transactionRepository).save(any(Transaction.class));
         verify(historySaver).saveTransactionHistory(any(Transaction.class), eq(ChangeType.UPDATED));
+        verify(sellerDailyStatsRepository).addStats(
+                1L, LocalDate.of(2024, 1, 10), 0, BigDecimal.ZERO, 0, -1, 1);
     }
 
     @Test
@@ -343,4 +467,49 @@ public class TransactionServiceTest {
 
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
+
+    @Test
+    @DisplayName("Тест на получение страницы транзакций продавца с курсором на следующую")
+    public void testGetSellersTransactionsPage() {
+        Transaction olderTransaction = new Transaction();
+        olderTransaction.setId(2L);
+        olderTransaction.setSeller(seller);
+        olderTransaction.setTransactionDate(LocalDateTime.of(2024, 1, 9, 12, 0));
+        olderTransaction.setIsActive(true);
+        TransactionCursor first = CursorPageMapper.decodeTransactionCursor(null);
+
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.of(seller));
+        when(transactionRepository.findActivePageBySellerIdBefore(
+                1L, first.transactionDate(), first.id(), Limit.of(2)))
+                .thenReturn(List.of(transactionResponse, TransactionMapper.mapTransactionToResponse(olderTransaction)));
+
+        CursorPageResponse<TransactionResponse> page = transactionService.getSellersTransactionsPage(1L, null, 1);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(CursorPageMapper.decodeTransactionCursor(page.nextCursor()))
+                .isEqualTo(new TransactionCursor(transaction.getTransactionDate(), 1L));
+    }
+
+    @Test
+    @DisplayName("Тест на выброс ошибки при запросе страницы транзакций несуществующего продавца")
+    public void testGetSellersTransactionsPageSellerNotFound() {
+        when(sellerCache.findActiveSeller(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> transactionService.getSellersTransactionsPage(1L, null, 50))
+                .isInstanceOf(SellerNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Тест на получение следующей страницы всех транзакций по курсору")
+    public void testGetTransactionsPageAfterCursor() {
+        String after = CursorPageMapper.encodeTransactionCursor(transactionResponse);
+        when(transactionRepository.findPageBefore(transaction.getTransactionDate(), 1L, Limit.of(11)))
+                .thenReturn(List.of());
+
+        CursorPageResponse<TransactionResponse> page = transactionService.getTransactionsPage(after, 10, false);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        verify(transactionRepository, never()).findActivePageBefore(any(), any(), any());
+    }
 }
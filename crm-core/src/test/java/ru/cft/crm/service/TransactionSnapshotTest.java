@@ -0,0 +1,118 @@
+package ru.cft.crm.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.cft.crm.entity.Seller;
+import ru.cft.crm.service.analytics.snapshot.TransactionSnapshot;
+import ru.cft.crm.type.PaymentType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты колоночного снимка транзакций")
+public class TransactionSnapshotTest {
+    private static final long DAY = 86_400L;
+
+    @Test
+    @DisplayName("Суммы продавцов считаются за полуоткрытый период")
+    public void testSumBySeller() {
+        TransactionSnapshot snapshot = TransactionSnapshot.empty().withChanges(
+                List.of(createSeller(1L, true), createSeller(2L, true)),
+                changes(
+                        new long[]{1, 1, 0, 10_000},
+                        new long[]{2, 2, DAY - 1, 5_000},
+                        new long[]{3, 1, DAY, 2_500},
+                        new long[]{4, 1, 2 * DAY, 700}));
+
+        long[] sums = new long[2];
+        int[] counts = new int[2];
+        snapshot.sumBySeller(0, 2 * DAY, sums, counts);
+
+        assertThat(sums).containsExactly(12_500, 5_000);
+        assertThat(counts).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("Изменение известной транзакции не меняет предыдущий снимок")
+    public void testUpdateIsCopyOnWrite() {
+        TransactionSnapshot first = TransactionSnapshot.empty().withChanges(
+                List.of(createSeller(1L, true)),
+                changes(new long[]{1, 1, DAY, 10_000}));
+
+        TransactionSnapshot second = first.withChanges(List.of(), changes(new long[]{1, 1, DAY, 3_000}));
+
+        assertThat(second.size()).isEqualTo(1);
+        assertThat(sum(first)).isEqualTo(10_000);
+        assertThat(sum(second)).isEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("Новые транзакции дописываются в конец или вливаются по времени")
+    public void testInsertKeepsTimeOrder() {
+        TransactionSnapshot first = TransactionSnapshot.empty().withChanges(
+                List.of(createSeller(1L, true)),
+                changes(new long[]{1, 1, DAY, 100}, new long[]{2, 1, 3 * DAY, 100}));
+
+        TransactionSnapshot appended = first.withChanges(List.of(), changes(new long[]{3, 1, 4 * DAY, 100}));
+        TransactionSnapshot merged = appended.withChanges(
+                List.of(createSeller(2L, true)),
+                changes(new long[]{4, 2, 0, 100}, new long[]{5, 2, 2 * DAY, 100}));
+
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(appended.lowerBound(4 * DAY)).isEqualTo(2);
+        assertThat(merged.size()).isEqualTo(5);
+        assertThat(merged.lowerBound(DAY)).isEqualTo(1);
+        assertThat(merged.lowerBound(2 * DAY)).isEqualTo(2);
+        assertThat(merged.memoryBytes())
+                .isGreaterThanOrEqualTo(5L * TransactionSnapshot.BYTES_PER_TRANSACTION);
+    }
+
+    @Test
+    @DisplayName("Изменения продавца заменяют его данные в снимке")
+    public void testSellerUpdate() {
+        TransactionSnapshot first = TransactionSnapshot.empty().withChanges(
+                List.of(createSeller(1L, true)),
+                changes(new long[]{1, 1, DAY, 100}));
+
+        TransactionSnapshot second = first.withChanges(List.of(createSeller(1L, false)), changes());
+
+        assertThat(second.sellersCount()).isEqualTo(1);
+        assertThat(first.seller(0).getIsActive()).isTrue();
+        assertThat(second.seller(0).getIsActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Транзакция неизвестного продавца и неупорядоченные изменения отклоняются")
+    public void testInvalidChanges() {
+        assertThatThrownBy(() -> TransactionSnapshot.empty().withChanges(
+                List.of(), changes(new long[]{1, 1, DAY, 100})))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changes(new long[]{2, 1, DAY, 100}, new long[]{1, 1, DAY, 100}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long sum(TransactionSnapshot snapshot) {
+        long[] sums = new long[snapshot.sellersCount()];
+        snapshot.sumBySeller(Long.MIN_VALUE, Long.MAX_VALUE, sums, new int[snapshot.sellersCount()]);
+        return sums[0];
+    }
+
+    private TransactionSnapshot.Changes changes(long[]... rows) {
+        TransactionSnapshot.Changes changes = new TransactionSnapshot.Changes();
+        for (long[] row : rows) {
+            changes.add(row[0], row[1], row[2], row[3], PaymentType.CARD);
+        }
+        return changes;
+    }
+
+    private Seller createSeller(Long id, boolean active) {
+        Seller seller = new Seller();
+        seller.setId(id);
+        seller.setSellerName("Seller " + id);
+        seller.setContactInfo("seller" + id + "@test.com");
+        seller.setIsActive(active);
+        return seller;
+    }
+}
@@ -1,22 +1,18 @@
 package ru.cft.crm.service;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.cft.crm.model.analitycs.SellerWithTransactionsResponse;
-import ru.cft.crm.entity.Seller;
-import ru.cft.crm.entity.Transaction;
 import ru.cft.crm.exception.InvalidStartDateException;
 import ru.cft.crm.exception.SellerNotFoundException;
-import ru.cft.crm.repository.TransactionRepository;
-import ru.cft.crm.service.analytics.handler.TransactionsLessThenHandler;
+import ru.cft.crm.repository.SellerDailyStatsRepository;
+import ru.cft.crm.repository.SellerRepository;
+import ru.cft.crm.repository.projection.SellerAmountProjection;
 import ru.cft.crm.service.analytics.handler.impl.TransactionsLessThenHandlerImpl;
 
 import java.math.BigDecimal;
@@ -28,24 +24,24 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Тесты для TransactionsLessThenHandlerImpl")
 @ExtendWith(MockitoExtension.class)
 public class TransactionsLessThenHandlerTest {
     @Mock
-    private TransactionRepository transactionRepository;
+    private SellerRepository sellerRepository;
+
+    @Mock
+    private SellerDailyStatsRepository sellerDailyStatsRepository;
 
     @InjectMocks
     private TransactionsLessThenHandlerImpl transactionsLessThenHandler;
 
-    private List<Transaction> transactions;
-
-    @BeforeEach
-    public void setUp() {
-        transactions = createTransactionData();
-    }
-
     @Test
     @DisplayName("Тест на успешное получение продавцов с транзакциями меньше указанной суммы")
     public void testGetSellersWithTransactionsLessThanSuccess() {
@@ -53,8 +49,14 @@ public class TransactionsLessThenHandlerTest {
         LocalDate end = LocalDate.of(2024, 1, 31);
         BigDecimal maxAmount = BigDecimal.valueOf(270);
 
-        when(transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(any(), any()))
-                .thenReturn(transactions);
+        List<SellerAmountProjection> sellersSums =
+                List.of(createSellerAmount(1L, "Seller 1", BigDecimal.valueOf(200)));
+        when(sellerRepository.findSellersWithTransactionsAmountLessThan(
+                eq(maxAmount),
+                eq(LocalDateTime.of(2024, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2024, 2, 1, 0, 0)),
+                eq(true)))
+                .thenReturn(sellersSums);
 
         List<SellerWithTransactionsResponse> result =
                 transactionsLessThenHandler
@@ -65,6 +67,50 @@ public class TransactionsLessThenHandlerTest {
         assertThat(result.get(0).transactionAmount()).isEqualTo(BigDecimal.valueOf(200));
     }
 
+    @Test
+    @DisplayName("Тест на получение продавцов с транзакциями меньше указанной суммы из дневных итогов")
+    public void testGetSellersWithTransactionsLessThanFromDailyStats() {
+        ReflectionTestUtils.setField(transactionsLessThenHandler, "dailyStats", true);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        BigDecimal maxAmount = BigDecimal.valueOf(270);
+
+        List<SellerAmountProjection> sellersSums =
+                List.of(createSellerAmount(1L, "Seller 1", BigDecimal.valueOf(200)));
+        when(sellerDailyStatsRepository.findSellersWithAmountLessThan(
+                maxAmount, start, LocalDate.of(2024, 2, 1), true))
+                .thenReturn(sellersSums);
+
+        List<SellerWithTransactionsResponse> result =
+                transactionsLessThenHandler
+                        .getSellersWithTransactionsLessThan(maxAmount, start, end, true);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).transactionAmount()).isEqualTo(BigDecimal.valueOf(200));
+        verifyNoInteractions(sellerRepository);
+    }
+
+    @Test
+    @DisplayName("Тест на получение продавцов без транзакций за период")
+    public void testGetSellersWithTransactionsLessThanIncludesSellersWithoutTransactions() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+
+        List<SellerAmountProjection> sellersSums = List.of(
+                createSellerAmount(1L, "Seller 1", BigDecimal.valueOf(200)),
+                createSellerAmount(3L, "Seller 3", BigDecimal.ZERO));
+        when(sellerRepository.findSellersWithTransactionsAmountLessThan(any(), any(), any(), anyBoolean()))
+                .thenReturn(sellersSums);
+
+        List<SellerWithTransactionsResponse> result =
+                transactionsLessThenHandler
+                        .getSellersWithTransactionsLessThan(BigDecimal.valueOf(270), start, end, true);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(1).sellerName()).isEqualTo("Seller 3");
+        assertThat(result.get(1).transactionAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
     @Test
     @DisplayName("Тест на отсутствие продавцов с транзакциями меньше указанной суммы")
     public void testGetSellersWithTransactionsLessThanNotFound() {
@@ -72,8 +118,8 @@ public class TransactionsLessThenHandlerTest {
         LocalDate end = LocalDate.of(2024, 1, 31);
         BigDecimal maxAmount = BigDecimal.valueOf(10);
 
-        when(transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(any(), any()))
-                .thenReturn(transactions);
+        when(sellerRepository.findSellersWithTransactionsAmountLessThan(any(), any(), any(), anyBoolean()))
+                .thenReturn(Collections.emptyList());
 
         assertThatThrownBy(() ->
                 transactionsLessThenHandler
@@ -93,66 +139,15 @@ public class TransactionsLessThenHandlerTest {
                         .getSellersWithTransactionsLessThan(BigDecimal.valueOf(100), start, end, true))
                 .isInstanceOf(InvalidStartDateException.class)
                 .hasMessage("Введенная начальная дата не должна быть позже конечной даты");
-    }
-
-    @Test
-    @DisplayName("Тест на отсутствие транзакций в указанном диапазоне дат")
-    public void testGetSellersWithTransactionsLessThanNoTransactionsFound() {
-        LocalDate start = LocalDate.of(2024, 1, 1);
-        LocalDate end = LocalDate.of(2024, 1, 31);
-
-        when(transactionRepository.findAllByTransactionDateBetweenAndSellerIsActiveTrue(any(), any()))
-                .thenReturn(Collections.emptyList());
-
-        assertThatThrownBy(() ->
-                transactionsLessThenHandler
-                        .getSellersWithTransactionsLessThan(
-                                BigDecimal.valueOf(100), start, end, true))
-                .isInstanceOf(SellerNotFoundException.class)
-                .hasMessage("Ни одного продавца не найдено");
-    }
-
-    private List<Transaction> createTransactionData() {
-        Seller seller1 = createSeller(1L, "Seller 1", "seller1@mail.ru");
-        Seller seller2 = createSeller(2L, "Seller 2", "seller2@mail.ru");
-
-        return List.of(
-                createTransaction(1L,
-                        BigDecimal.valueOf(50),
-                        LocalDateTime.of(2024, 1, 1, 10, 0),
-                        seller1),
-                createTransaction(2L,
-                        BigDecimal.valueOf(150),
-                        LocalDateTime.of(2024, 1, 2, 11, 0),
-                        seller1),
-                createTransaction(3L,
-                        BigDecimal.valueOf(80),
-                        LocalDateTime.of(2024, 1, 3, 12, 0),
-                        seller2),
-                createTransaction(4L,
-                        BigDecimal.valueOf(200),
-                        LocalDateTime.of(2024, 1, 4, 13, 0),
-                        seller2)
-        );
-    }
 
-    private Transaction createTransaction(Long id, BigDecimal amount, LocalDateTime date, Seller seller) {
-        Transaction transaction = new Transaction();
-        transaction.setId(id);
-        transaction.setAmount(amount);
-        transaction.setTransactionDate(date);
-        transaction.setSeller(seller);
-        transaction.setIsActive(true);
-        return transaction;
+        verifyNoInteractions(sellerRepository);
     }
 
-    private Seller createSeller(Long id, String sellerName, String contactInfo) {
-        Seller seller = new Seller();
-        seller.setId(id);
-        seller.setSellerName(sellerName);
-        seller.setContactInfo(contactInfo);
-        seller.setRegistrationDate(LocalDateTime.now());
-        seller.setIsActive(true);
-        return seller;
+    private SellerAmountProjection createSellerAmount(Long id, String sellerName, BigDecimal amount) {
+        SellerAmountProjection sellerAmount = mock(SellerAmountProjection.class);
+        when(sellerAmount.getId()).thenReturn(id);
+        when(sellerAmount.getSellerName()).thenReturn(sellerName);
+        when(sellerAmount.getAmount()).thenReturn(amount);
+        return sellerAmount;
     }
 }